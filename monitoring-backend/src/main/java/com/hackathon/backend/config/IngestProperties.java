@@ -0,0 +1,58 @@
+package com.hackathon.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "ingest")
+public class IngestProperties {
+
+    /**
+     * Maximum number of items accepted by a single batch ingest call
+     */
+    private int maxBatchSize = 1000;
+
+    /**
+     * Largest request body accepted after gzip decompression
+     */
+    private DataSize maxDecompressedSize = DataSize.ofMegabytes(32);
+
+    private final Queue queue = new Queue();
+
+    @Data
+    public static class Queue {
+
+        /**
+         * Validate and queue incoming requests, answer 202 right away and store them from background writers
+         */
+        private boolean enabled = false;
+
+        /**
+         * Requests held in memory before new ones are refused with 429
+         */
+        private int capacity = 50_000;
+
+        /**
+         * Writer threads draining the queue into the database
+         */
+        private int writers = 2;
+
+        /**
+         * Most requests a writer stores in one batched insert
+         */
+        private int batchSize = 500;
+
+        /**
+         * Retry-After sent with 429 when the queue is full
+         */
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        /**
+         * How long shutdown waits for the writers to store what is still queued
+         */
+        private Duration shutdownTimeout = Duration.ofSeconds(30);
+    }
+}
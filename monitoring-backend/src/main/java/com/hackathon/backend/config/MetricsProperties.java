@@ -0,0 +1,39 @@
+package com.hackathon.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "metrics")
+public class MetricsProperties {
+
+    /**
+     * How often endpoint metrics collected in memory are written to the database
+     */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    private final Rollup rollup = new Rollup();
+
+    @Data
+    public static class Rollup {
+
+        /**
+         * How long minute, hour and day buckets are kept
+         */
+        private Duration minuteRetention = Duration.ofDays(1);
+        private Duration hourRetention = Duration.ofDays(30);
+        private Duration dayRetention = Duration.ofDays(365);
+
+        /**
+         * How often expired buckets are deleted
+         */
+        private Duration purgeInterval = Duration.ofHours(1);
+
+        /**
+         * Upper bound on the points of a single time series response
+         */
+        private int maxPoints = 1500;
+    }
+}
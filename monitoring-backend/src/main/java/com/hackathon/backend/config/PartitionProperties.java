@@ -0,0 +1,46 @@
+package com.hackathon.backend.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "requests.partitions")
+public class PartitionProperties {
+
+    /**
+     * Maintain the daily api_requests partitions; needs the Postgres schema from the Flyway migrations
+     */
+    private boolean enabled = false;
+
+    /**
+     * Days ahead, counting today, for which partitions exist before data arrives
+     */
+    private int precreateDays = 7;
+
+    /**
+     * How long stored requests are kept
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Retention per project id, overriding the default one
+     */
+    private Map<String, Duration> projectRetention = new HashMap<>();
+
+    /**
+     * How often partitions are created and expired data removed
+     */
+    private Duration maintenanceInterval = Duration.ofHours(1);
+
+    /**
+     * The longest retention of any project; whole partitions older than this are dropped
+     */
+    public Duration getMaxRetention() {
+        return projectRetention.values().stream()
+                .reduce(retention, (a, b) -> a.compareTo(b) >= 0 ? a : b);
+    }
+}
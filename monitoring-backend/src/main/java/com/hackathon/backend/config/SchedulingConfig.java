@@ -0,0 +1,31 @@
+package com.hackathon.backend.config;
+
+import com.hackathon.backend.service.ApiRequestPartitionMaintenance;
+import com.hackathon.backend.service.EndpointMetricsFlusher;
+import com.hackathon.backend.service.RollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+@Configuration
+@EnableScheduling
+@RequiredArgsConstructor
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    private final EndpointMetricsFlusher metricsFlusher;
+    private final RollupService rollupService;
+    private final MetricsProperties metricsProperties;
+    private final ApiRequestPartitionMaintenance partitionMaintenance;
+    private final PartitionProperties partitionProperties;
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.addFixedDelayTask(metricsFlusher::flush, metricsProperties.getFlushInterval());
+        registrar.addFixedDelayTask(rollupService::purgeExpired, metricsProperties.getRollup().getPurgeInterval());
+        if (partitionProperties.isEnabled()) {
+            registrar.addFixedDelayTask(partitionMaintenance::maintain, partitionProperties.getMaintenanceInterval());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.hackathon.backend.config;
+
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.hackathon.backend.filter.GzipRequestFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Compact encodings the SDK may use for batches: Smile (binary JSON) bodies and gzip request compression.
+ */
+@Configuration
+public class WireFormatConfig {
+
+    public static final String SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public WebMvcConfigurer smileMessageConverterConfigurer(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        // Same Jackson settings as the JSON converter (dates, time zone, modules)
+        MappingJackson2SmileHttpMessageConverter smileConverter =
+                new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+        return new WebMvcConfigurer() {
+            @Override
+            public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                // Appended last so JSON stays the response format unless a client asks for Smile
+                converters.add(smileConverter);
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<GzipRequestFilter> gzipRequestFilterRegistration(GzipRequestFilter gzipRequestFilter) {
+        FilterRegistrationBean<GzipRequestFilter> registration = new FilterRegistrationBean<>();
+        registration.setFilter(gzipRequestFilter);
+        registration.addUrlPatterns("/api/*");
+        // After the API key check, so unauthenticated bodies are never inflated
+        registration.setOrder(2);
+        registration.setName("gzipRequestFilter");
+        return registration;
+    }
+}
@@ -1,10 +1,18 @@
 package com.hackathon.backend.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.hackathon.backend.config.IngestProperties;
+import com.hackathon.backend.config.WireFormatConfig;
 import com.hackathon.backend.dto.request.ApiRequestFilterDto;
 import com.hackathon.backend.dto.request.CreateApiRequestDto;
 import com.hackathon.backend.dto.response.ApiRequestListItemDto;
 import com.hackathon.backend.dto.response.ApiRequestResponseDto;
+import com.hackathon.backend.dto.response.BatchIngestResponseDto;
 import com.hackathon.backend.dto.response.PagedResponseDto;
+import com.hackathon.backend.dto.response.SliceResponseDto;
+import com.hackathon.backend.exception.InvalidRequestException;
 import com.hackathon.backend.service.ApiRequestService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -12,10 +20,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -27,16 +42,42 @@ import java.util.UUID;
 public class ApiRequestController {
 
     private final ApiRequestService service;
+    private final ObjectMapper objectMapper;
+    private final IngestProperties ingestProperties;
 
     @PostMapping
-    @Operation(summary = "Create API request", description = "Capture a new API request from SDK")
+    @Operation(summary = "Create API request", description = "Capture a new API request from SDK; "
+            + "with the ingest queue enabled it is stored in the background and 202 is returned without a body")
     public ResponseEntity<ApiRequestResponseDto> createRequest(
             @Valid @RequestBody CreateApiRequestDto dto) {
         log.info("Received request: {} {} from project: {}", dto.getMethod(), dto.getPath(), dto.getProjectId());
+        if (ingestProperties.getQueue().isEnabled()) {
+            service.enqueueRequest(dto);
+            return ResponseEntity.accepted().build();
+        }
         ApiRequestResponseDto response = service.createRequest(dto);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, WireFormatConfig.SMILE_VALUE})
+    @Operation(summary = "Create API requests in bulk",
+            description = "Capture an array of API requests from SDK as JSON or Smile, optionally gzip encoded; "
+                    + "invalid items are reported individually")
+    public ResponseEntity<BatchIngestResponseDto> createRequests(
+            @RequestBody List<CreateApiRequestDto> dtos) {
+        log.info("Received batch of {} requests", dtos.size());
+        return ingestBatch(dtos);
+    }
+
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create API requests in bulk (NDJSON)",
+            description = "Capture newline-delimited JSON API requests; malformed lines are reported individually")
+    public ResponseEntity<BatchIngestResponseDto> createRequestsNdjson(InputStream body) throws IOException {
+        List<CreateApiRequestDto> dtos = readNdjson(body);
+        log.info("Received NDJSON batch of {} requests", dtos.size());
+        return ingestBatch(dtos);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get request by ID", description = "Retrieve a specific API request by its ID")
     public ResponseEntity<ApiRequestResponseDto> getRequestById(@PathVariable UUID id) {
@@ -53,7 +94,8 @@ public class ApiRequestController {
     }
 
     @GetMapping("/table")
-    @Operation(summary = "Get table view", description = "Get all requests with pagination and filters")
+    @Operation(summary = "Get table view", description = "Get all requests with pagination and filters; "
+            + "includeBodies=false returns the rows without headers and bodies")
     public ResponseEntity<PagedResponseDto<ApiRequestResponseDto>> getTableView(
             @RequestParam String projectId,
             @RequestParam(required = false) String method,
@@ -64,7 +106,8 @@ public class ApiRequestController {
             @RequestParam(defaultValue = "createdAt") String sortBy,
             @RequestParam(defaultValue = "DESC") String sortDirection,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeBodies) {
 
         ApiRequestFilterDto filter = ApiRequestFilterDto.builder()
                 .projectId(projectId)
@@ -77,12 +120,44 @@ public class ApiRequestController {
                 .sortDirection(sortDirection)
                 .page(page)
                 .size(size)
+                .includeBodies(includeBodies)
                 .build();
 
         PagedResponseDto<ApiRequestResponseDto> response = service.getTableView(filter);
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/table/cursor")
+    @Operation(summary = "Get table view by cursor",
+            description = "Get requests with filters, newest first, one slice at a time; pass the returned "
+                    + "nextCursor as cursor for the next slice. No total count, for large projects")
+    public ResponseEntity<SliceResponseDto<ApiRequestResponseDto>> getTableSlice(
+            @RequestParam String projectId,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) Integer responseStatus,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            @RequestParam(required = false) String search,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "true") boolean includeBodies) {
+
+        ApiRequestFilterDto filter = ApiRequestFilterDto.builder()
+                .projectId(projectId)
+                .method(method)
+                .responseStatus(responseStatus)
+                .startDate(startDate)
+                .endDate(endDate)
+                .search(search)
+                .cursor(cursor)
+                .size(size)
+                .includeBodies(includeBodies)
+                .build();
+
+        SliceResponseDto<ApiRequestResponseDto> response = service.getTableSlice(filter);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search requests", description = "Search requests by path")
     public ResponseEntity<PagedResponseDto<ApiRequestResponseDto>> searchRequests(
@@ -101,4 +176,42 @@ public class ApiRequestController {
         long count = service.getTotalCount(projectId);
         return ResponseEntity.ok(count);
     }
-}
\ No newline at end of file
+
+    /**
+     * Store the batch right away (200), or queue its valid items for the ingest writers (202).
+     */
+    private ResponseEntity<BatchIngestResponseDto> ingestBatch(List<CreateApiRequestDto> dtos) {
+        if (ingestProperties.getQueue().isEnabled()) {
+            return ResponseEntity.accepted().body(service.enqueueRequests(dtos));
+        }
+        return ResponseEntity.ok(service.createRequests(dtos));
+    }
+
+    /**
+     * Parse one item per non-blank line. Lines that are not valid JSON become
+     * null entries so the service can report them by position. Reading stops at the first
+     * line past {@code ingest.max-batch-size}, so an oversized stream is never buffered whole.
+     */
+    private List<CreateApiRequestDto> readNdjson(InputStream body) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(CreateApiRequestDto.class);
+        int maxBatchSize = ingestProperties.getMaxBatchSize();
+        List<CreateApiRequestDto> dtos = new ArrayList<>();
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (dtos.size() == maxBatchSize) {
+                    throw new InvalidRequestException("Batch size exceeds the maximum of " + maxBatchSize);
+                }
+                try {
+                    dtos.add(reader.readValue(line));
+                } catch (JsonProcessingException e) {
+                    dtos.add(null);
+                }
+            }
+        }
+        return dtos;
+    }
+}
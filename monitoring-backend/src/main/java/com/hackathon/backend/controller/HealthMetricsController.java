@@ -1,10 +1,15 @@
 package com.hackathon.backend.controller;
 
 import com.hackathon.backend.dto.request.HealthMetricsFilterDto;
+import com.hackathon.backend.dto.request.TimeseriesFilterDto;
 import com.hackathon.backend.dto.response.HealthMetricsListItemDto;
 import com.hackathon.backend.dto.response.HealthMetricsResponseDto;
 import com.hackathon.backend.dto.response.PagedResponseDto;
+import com.hackathon.backend.dto.response.TimeseriesResponseDto;
+import com.hackathon.backend.entity.RollupGranularity;
+import com.hackathon.backend.service.EndpointMetricsFlusher;
 import com.hackathon.backend.service.HealthMetricsService;
+import com.hackathon.backend.service.RollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -24,6 +29,8 @@ import java.util.UUID;
 public class HealthMetricsController {
 
     private final HealthMetricsService service;
+    private final RollupService rollupService;
+    private final EndpointMetricsFlusher metricsFlusher;
 
     @GetMapping("/{id}")
     @Operation(summary = "Get metrics by ID", description = "Retrieve health metrics by ID")
@@ -84,6 +91,30 @@ public class HealthMetricsController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/timeseries")
+    @Operation(summary = "Get time series",
+            description = "Request counts, error rate and latency per time bucket, served from rollups only")
+    public ResponseEntity<TimeseriesResponseDto> getTimeseries(
+            @RequestParam String projectId,
+            @RequestParam(required = false) String endpoint,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) RollupGranularity granularity,
+            @RequestParam(required = false) LocalDateTime from,
+            @RequestParam(required = false) LocalDateTime to) {
+
+        TimeseriesFilterDto filter = TimeseriesFilterDto.builder()
+                .projectId(projectId)
+                .endpoint(endpoint)
+                .method(method)
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .build();
+
+        TimeseriesResponseDto response = rollupService.getTimeseries(filter);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search metrics", description = "Search metrics by endpoint path")
     public ResponseEntity<PagedResponseDto<HealthMetricsResponseDto>> searchMetrics(
@@ -107,7 +138,7 @@ public class HealthMetricsController {
     @Operation(summary = "Recalculate metrics", description = "Recalculate all health metrics for a project")
     public ResponseEntity<String> recalculateMetrics(@RequestParam String projectId) {
         log.info("Recalculating metrics for project: {}", projectId);
-        service.recalculateAllMetrics(projectId);
+        metricsFlusher.recalculate(projectId);
         return ResponseEntity.ok("Metrics recalculation started for project: " + projectId);
     }
 }
\ No newline at end of file
@@ -23,4 +23,8 @@ public class ApiRequestFilterDto {
     private String sortDirection = "DESC"; // ASC or DESC
     private Integer page = 0;
     private Integer size = 20;
+    private String cursor; // nextCursor of the previous slice, keyset pagination only
+
+    @Builder.Default
+    private boolean includeBodies = true; // false leaves out headers and bodies
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package com.hackathon.backend.dto.request;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,6 +29,8 @@ public class CreateApiRequestDto {
     @NotBlank(message = "Path is required")
     private String path;
 
+    private String routeTemplate;
+
     private String queryString;
 
     private Integer responseStatus;
@@ -35,10 +40,35 @@ public class CreateApiRequestDto {
     @NotNull(message = "Response time is required")
     private Long responseTime;
 
+    /**
+     * Microsecond breakdown measured by the SDK, all optional
+     */
+    @PositiveOrZero(message = "Duration must not be negative")
+    private Long durationMicros;
+
+    @PositiveOrZero(message = "Time to first byte must not be negative")
+    private Long timeToFirstByteMicros;
+
+    @PositiveOrZero(message = "Handler time must not be negative")
+    private Long handlerMicros;
+
+    @PositiveOrZero(message = "Capture overhead must not be negative")
+    private Long captureOverheadMicros;
+
+    @PositiveOrZero(message = "Response write time must not be negative")
+    private Long responseWriteMicros;
+
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
 
     private Map<String, String> requestHeaders;
 
     private String requestBody;
+
+    /**
+     * Fraction of its route's requests the SDK kept when this one was sampled, null when nothing was sampled away
+     */
+    @DecimalMin(value = "0.0", inclusive = false, message = "Sample rate must be greater than 0")
+    @DecimalMax(value = "1.0", message = "Sample rate must be at most 1")
+    private Double sampleRate;
 }
\ No newline at end of file
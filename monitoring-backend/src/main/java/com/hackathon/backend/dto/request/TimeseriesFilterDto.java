@@ -0,0 +1,23 @@
+package com.hackathon.backend.dto.request;
+
+import com.hackathon.backend.entity.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeseriesFilterDto {
+
+    private String projectId;
+    private String endpoint; // optional, all endpoints when empty
+    private String method; // optional, all methods when empty
+    private RollupGranularity granularity; // optional, picked from the range when empty
+    private LocalDateTime from;
+    private LocalDateTime to;
+}
@@ -18,6 +18,7 @@ public class ApiRequestListItemDto {
     private UUID id;
     private String method;
     private String path;
+    private String routeTemplate;
     private Integer responseStatus;
     private Long responseTime;
 
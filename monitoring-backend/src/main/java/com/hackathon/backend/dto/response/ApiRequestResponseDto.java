@@ -20,10 +20,16 @@ public class ApiRequestResponseDto {
     private String projectId;
     private String method;
     private String path;
+    private String routeTemplate;
     private String queryString;
     private Integer responseStatus;
     private String responseBody;
     private Long responseTime;
+    private Long durationMicros;
+    private Long timeToFirstByteMicros;
+    private Long handlerMicros;
+    private Long captureOverheadMicros;
+    private Long responseWriteMicros;
 
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
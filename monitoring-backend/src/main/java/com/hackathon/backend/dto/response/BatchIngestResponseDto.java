@@ -0,0 +1,20 @@
+package com.hackathon.backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchIngestResponseDto {
+
+    private int received;
+    private int accepted;
+    private int rejected;
+    private List<BatchItemErrorDto> errors;
+}
@@ -21,6 +21,10 @@ public class HealthMetricsResponseDto {
     private Double avgResponseTime;
     private Long minResponseTime;
     private Long maxResponseTime;
+    private Double p50ResponseTime;
+    private Double p90ResponseTime;
+    private Double p95ResponseTime;
+    private Double p99ResponseTime;
     private Long totalRequests;
     private Long successCount;
     private Long errorCount;
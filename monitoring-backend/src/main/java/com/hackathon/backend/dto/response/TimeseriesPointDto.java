@@ -0,0 +1,30 @@
+package com.hackathon.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeseriesPointDto {
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime bucketStart;
+
+    private Long requestCount;
+    private Long successCount;
+    private Long errorCount;
+    private Double errorRate;
+    private Double avgResponseTime;
+    private Long minResponseTime;
+    private Long maxResponseTime;
+    private Double p50ResponseTime;
+    private Double p95ResponseTime;
+    private Double p99ResponseTime;
+}
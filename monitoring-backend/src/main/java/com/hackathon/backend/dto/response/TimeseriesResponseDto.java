@@ -0,0 +1,34 @@
+package com.hackathon.backend.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.hackathon.backend.entity.RollupGranularity;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeseriesResponseDto {
+
+    private String projectId;
+    private String endpoint;
+    private String method;
+    private RollupGranularity granularity;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime from;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime to;
+
+    /**
+     * One point per bucket that had traffic, oldest first
+     */
+    private List<TimeseriesPointDto> points;
+}
@@ -1,24 +1,22 @@
 package com.hackathon.backend.entity;
 
-import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 import java.util.UUID;
 
+/**
+ * On Postgres the table is range partitioned by day on {@code created_at}, created by the Flyway
+ * migrations; the indexes below mirror them for databases where Hibernate creates the schema.
+ */
 @Entity
 @Table(name = "api_requests", indexes = {
-        @Index(name = "idx_project_id", columnList = "project_id"),
-        @Index(name = "idx_path", columnList = "path"),
-        @Index(name = "idx_method", columnList = "method"),
-        @Index(name = "idx_created_at", columnList = "created_at"),
-        @Index(name = "idx_response_time", columnList = "response_time")
+        @Index(name = "idx_api_requests_project_created_id", columnList = "project_id, created_at, id"),
+        @Index(name = "idx_api_requests_project_route", columnList = "project_id, route_template")
 })
 @Data
 @Builder
@@ -39,27 +37,53 @@ public class ApiRequest {
     @Column(name = "path", nullable = false, length = 500)
     private String path;
 
+    /**
+     * Matched route such as {@code /api/users/{id}}, metrics are aggregated on it instead of the raw path
+     */
+    @Column(name = "route_template", length = 500)
+    private String routeTemplate;
+
     @Column(name = "query_string", length = 1000)
     private String queryString;
 
     @Column(name = "response_status")
     private Integer responseStatus;
 
-    @Column(name = "response_body", columnDefinition = "TEXT")
-    private String responseBody;
-
     @Column(name = "response_time", nullable = false)
     private Long responseTime;
 
+    /**
+     * Phase breakdown reported by the SDK in microseconds, null for clients that do not measure it
+     */
+    @Column(name = "duration_us")
+    private Long durationMicros;
+
+    @Column(name = "time_to_first_byte_us")
+    private Long timeToFirstByteMicros;
+
+    @Column(name = "handler_us")
+    private Long handlerMicros;
+
+    @Column(name = "capture_overhead_us")
+    private Long captureOverheadMicros;
+
+    @Column(name = "response_write_us")
+    private Long responseWriteMicros;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    @Type(JsonBinaryType.class)
-    @Column(name = "request_headers", columnDefinition = "jsonb")
-    private Map<String, String> requestHeaders;
+    /**
+     * Number of requests this one stands for when the SDK sampled its route, null for just itself
+     */
+    @Column(name = "sample_weight")
+    private Long sampleWeight;
 
-    @Column(name = "request_body", columnDefinition = "TEXT")
-    private String requestBody;
+    /**
+     * Headers and bodies, stored in their own table and only loaded where they are shown
+     */
+    @Transient
+    private ApiRequestPayload payload;
 
     @PrePersist
     protected void onCreate() {
@@ -0,0 +1,57 @@
+package com.hackathon.backend.entity;
+
+import io.hypersistence.utils.hibernate.type.json.JsonBinaryType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Headers and bodies of an {@link ApiRequest}, kept apart so scans of the request table never
+ * read them. Shares the id and {@code created_at} of its request (and so its daily partition),
+ * and only exists when the request carried any of them.
+ */
+@Entity
+@Table(name = "api_request_payloads")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApiRequestPayload implements Persistable<UUID> {
+
+    @Id
+    private UUID id;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Type(JsonBinaryType.class)
+    @Column(name = "request_headers", columnDefinition = "jsonb")
+    private Map<String, String> requestHeaders;
+
+    @Column(name = "request_body", columnDefinition = "TEXT")
+    private String requestBody;
+
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    private String responseBody;
+
+    /**
+     * The id is copied from the request, so Spring Data cannot tell a new payload from a stored one;
+     * payloads are never updated, so every save is an insert without a select first.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+
+    public boolean isEmpty() {
+        return (requestHeaders == null || requestHeaders.isEmpty()) && requestBody == null && responseBody == null;
+    }
+}
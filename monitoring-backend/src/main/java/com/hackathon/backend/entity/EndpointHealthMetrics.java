@@ -19,7 +19,7 @@ import java.util.UUID;
         }
 )
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class EndpointHealthMetrics {
@@ -46,6 +46,27 @@ public class EndpointHealthMetrics {
     @Column(name = "total_requests")
     private Long totalRequests;
 
+    @Column(name = "total_response_time")
+    private Long totalResponseTime;
+
+    @Column(name = "p50_response_time")
+    private Double p50ResponseTime;
+
+    @Column(name = "p90_response_time")
+    private Double p90ResponseTime;
+
+    @Column(name = "p95_response_time")
+    private Double p95ResponseTime;
+
+    @Column(name = "p99_response_time")
+    private Double p99ResponseTime;
+
+    /**
+     * Serialized {@code LatencySketch} of all response times, the percentiles above are read from it
+     */
+    @Column(name = "latency_sketch", length = 16384)
+    private byte[] latencySketch;
+
     @Column(name = "success_count")
     private Long successCount;
 
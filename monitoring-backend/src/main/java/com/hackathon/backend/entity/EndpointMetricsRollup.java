@@ -0,0 +1,80 @@
+package com.hackathon.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Request counters of one endpoint, method and status class within a time bucket.
+ * Minute buckets are folded into hour and day buckets as they are written.
+ */
+@Entity
+@Table(name = "endpoint_metrics_rollups",
+        uniqueConstraints = @UniqueConstraint(columnNames = {
+                "project_id", "granularity", "bucket_start", "endpoint", "method", "status_class"}),
+        indexes = {
+                @Index(name = "idx_rollup_project_bucket", columnList = "project_id, granularity, bucket_start"),
+                @Index(name = "idx_rollup_granularity_bucket", columnList = "granularity, bucket_start")
+        }
+)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EndpointMetricsRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false, length = 100)
+    private String projectId;
+
+    @Column(name = "endpoint", nullable = false, length = 500)
+    private String endpoint;
+
+    @Column(name = "method", nullable = false, length = 10)
+    private String method;
+
+    /**
+     * First digit of the response status, 0 when the request had none
+     */
+    @Column(name = "status_class", nullable = false)
+    private Integer statusClass;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "granularity", nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "request_count", nullable = false)
+    private Long requestCount;
+
+    @Column(name = "total_response_time", nullable = false)
+    private Long totalResponseTime;
+
+    @Column(name = "min_response_time")
+    private Long minResponseTime;
+
+    @Column(name = "max_response_time")
+    private Long maxResponseTime;
+
+    @Column(name = "latency_sketch", length = 16384)
+    private byte[] latencySketch;
+
+    @Column(name = "last_updated", nullable = false)
+    private LocalDateTime lastUpdated;
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        lastUpdated = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,19 @@
+package com.hackathon.backend.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * The ingest queue has no room for the request; the client should retry after {@link #getRetryAfter()}.
+ */
+@Getter
+public class IngestQueueFullException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public IngestQueueFullException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
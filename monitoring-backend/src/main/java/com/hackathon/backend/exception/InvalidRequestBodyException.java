@@ -0,0 +1,18 @@
+package com.hackathon.backend.exception;
+
+import java.io.IOException;
+
+/**
+ * The request body could not be decoded, e.g. a corrupt gzip stream or one inflating past the
+ * configured limit. An {@link IOException} as it is thrown while the body is read.
+ */
+public class InvalidRequestBodyException extends IOException {
+
+    public InvalidRequestBodyException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestBodyException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
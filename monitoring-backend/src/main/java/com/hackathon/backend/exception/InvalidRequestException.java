@@ -0,0 +1,8 @@
+package com.hackathon.backend.exception;
+
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,210 @@
+package com.hackathon.backend.filter;
+
+import com.hackathon.backend.config.IngestProperties;
+import com.hackathon.backend.exception.InvalidRequestBodyException;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+/**
+ * Inflates request bodies sent with {@code Content-Encoding: gzip}, so controllers and message
+ * converters see the plain body. Other encodings are rejected with 415.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GzipRequestFilter extends OncePerRequestFilter {
+
+    private final IngestProperties ingestProperties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String encoding = request.getHeader(HttpHeaders.CONTENT_ENCODING);
+
+        if (encoding == null || encoding.isBlank() || encoding.equalsIgnoreCase("identity")) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!encoding.equalsIgnoreCase("gzip")) {
+            log.warn("Unsupported request content encoding: {}", encoding);
+            response.sendError(HttpServletResponse.SC_UNSUPPORTED_MEDIA_TYPE, "Unsupported Content-Encoding: " + encoding);
+            return;
+        }
+
+        filterChain.doFilter(new GzipRequestWrapper(request, ingestProperties.getMaxDecompressedSize().toBytes()), response);
+    }
+
+    private static class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+        private final long maxBytes;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        GzipRequestWrapper(HttpServletRequest request, long maxBytes) {
+            super(request);
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (inputStream == null) {
+                try {
+                    inputStream = new InflatingServletInputStream(
+                            new GZIPInputStream(super.getInputStream()), maxBytes);
+                } catch (ZipException | EOFException e) {
+                    throw new InvalidRequestBodyException("Request body is not valid gzip: " + e.getMessage(), e);
+                }
+            }
+            return inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if (reader == null) {
+                String encoding = getCharacterEncoding();
+                Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+                reader = new BufferedReader(new InputStreamReader(getInputStream(), charset));
+            }
+            return reader;
+        }
+
+        // The inflated body has neither the original encoding nor the original length
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isRemoved(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isRemoved(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isRemoved(name))
+                    .toList());
+        }
+
+        private static boolean isRemoved(String name) {
+            return HttpHeaders.CONTENT_ENCODING.equalsIgnoreCase(name)
+                    || HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name);
+        }
+    }
+
+    private static class InflatingServletInputStream extends ServletInputStream {
+
+        private final InputStream delegate;
+        private final long maxBytes;
+        private long read;
+        private boolean finished;
+
+        InflatingServletInputStream(InputStream delegate, long maxBytes) {
+            this.delegate = delegate;
+            this.maxBytes = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int b = delegate.read();
+                count(b == -1 ? -1 : 1);
+                return b;
+            } catch (ZipException | EOFException e) {
+                throw new InvalidRequestBodyException("Corrupt gzip request body: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int n = delegate.read(b, off, len);
+                count(n);
+                return n;
+            } catch (ZipException | EOFException e) {
+                throw new InvalidRequestBodyException("Corrupt gzip request body: " + e.getMessage(), e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isFinished() {
+            return finished;
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        /**
+         * Reads block on the container's stream, so the whole body counts as available at once:
+         * the listener is told so once, and of the end of the body once it has read it.
+         */
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            if (readListener == null) {
+                throw new NullPointerException("readListener");
+            }
+            try {
+                readListener.onDataAvailable();
+                if (finished) {
+                    readListener.onAllDataRead();
+                }
+            } catch (IOException | RuntimeException e) {
+                readListener.onError(e);
+            }
+        }
+
+        private void count(int n) throws IOException {
+            if (n == -1) {
+                finished = true;
+                return;
+            }
+            read += n;
+            if (read > maxBytes) {
+                throw new InvalidRequestBodyException("Decompressed request body exceeds " + maxBytes + " bytes");
+            }
+        }
+    }
+}
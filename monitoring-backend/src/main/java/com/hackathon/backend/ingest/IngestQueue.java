@@ -0,0 +1,113 @@
+package com.hackathon.backend.ingest;
+
+import com.hackathon.backend.config.IngestProperties;
+import com.hackathon.backend.dto.request.CreateApiRequestDto;
+import com.hackathon.backend.exception.IngestQueueFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded in-memory queue between the ingest endpoints and {@link IngestWriter}.
+ * A batch is admitted whole or not at all, so a client never has to work out which
+ * of its items made it in; when there is no room, or the writers have stopped after
+ * {@link #close()}, it gets {@link IngestQueueFullException}.
+ */
+@Component
+public class IngestQueue {
+
+    private final LinkedBlockingQueue<QueuedRequest> queue = new LinkedBlockingQueue<>();
+    /** Items queued or reserved by an offer in progress, never above the capacity */
+    private final AtomicInteger size = new AtomicInteger();
+    private final IngestProperties.Queue config;
+    private final Counter rejected;
+    private volatile boolean closed;
+
+    public IngestQueue(IngestProperties properties, MeterRegistry registry) {
+        this.config = properties.getQueue();
+        this.rejected = Counter.builder("ingest.queue.rejected")
+                .description("Requests refused with 429 because the ingest queue was full")
+                .register(registry);
+        Gauge.builder("ingest.queue.depth", size, AtomicInteger::get)
+                .description("Requests waiting to be stored")
+                .register(registry);
+        Gauge.builder("ingest.queue.oldest.age", this, IngestQueue::oldestAgeSeconds)
+                .description("Seconds the oldest waiting request has been queued")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public void offer(CreateApiRequestDto dto) {
+        offer(List.of(dto));
+    }
+
+    public void offer(List<CreateApiRequestDto> dtos) {
+        if (dtos.isEmpty()) {
+            return;
+        }
+        if (!reserve(dtos.size())) {
+            rejected.increment(dtos.size());
+            throw new IngestQueueFullException("Ingest queue is full, retry later", config.getRetryAfter());
+        }
+        // Checked after reserving, so a writer that sees the queue closed also sees this reservation
+        if (closed) {
+            size.addAndGet(-dtos.size());
+            rejected.increment(dtos.size());
+            throw new IngestQueueFullException("Ingest queue is shutting down, retry later", config.getRetryAfter());
+        }
+        long now = System.nanoTime();
+        for (CreateApiRequestDto dto : dtos) {
+            queue.add(new QueuedRequest(dto, now));
+        }
+    }
+
+    /**
+     * Take up to {@code max} requests, waiting at most {@code timeoutMillis} for the first one.
+     */
+    public List<QueuedRequest> poll(int max, long timeoutMillis) throws InterruptedException {
+        QueuedRequest first = queue.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return List.of();
+        }
+        List<QueuedRequest> batch = new ArrayList<>(Math.min(max, size.get()));
+        batch.add(first);
+        queue.drainTo(batch, max - 1);
+        size.addAndGet(-batch.size());
+        return batch;
+    }
+
+    /**
+     * Refuse further offers; requests already admitted stay queued for the writers to drain.
+     */
+    public void close() {
+        closed = true;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private boolean reserve(int count) {
+        while (true) {
+            int current = size.get();
+            if (current + count > config.getCapacity()) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + count)) {
+                return true;
+            }
+        }
+    }
+
+    private double oldestAgeSeconds() {
+        QueuedRequest oldest = queue.peek();
+        return oldest != null ? (System.nanoTime() - oldest.enqueuedNanos()) / 1e9 : 0.0;
+    }
+}
@@ -0,0 +1,141 @@
+package com.hackathon.backend.ingest;
+
+import com.hackathon.backend.config.IngestProperties;
+import com.hackathon.backend.dto.request.CreateApiRequestDto;
+import com.hackathon.backend.service.ApiRequestService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writer threads that drain the {@link IngestQueue} into the database in batches.
+ * Only started when {@code ingest.queue.enabled} is set. On shutdown the writers stop after
+ * the web server has finished its in-flight requests, close the queue to anything still arriving
+ * and empty it before the database goes away, bounded by {@code ingest.queue.shutdown-timeout}.
+ */
+@Slf4j
+@Component
+public class IngestWriter implements SmartLifecycle {
+
+    private static final long POLL_TIMEOUT_MILLIS = 200;
+
+    private final IngestQueue queue;
+    private final ApiRequestService service;
+    private final IngestProperties.Queue config;
+    private final Timer lag;
+    private final Counter stored;
+    private final Counter failed;
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+
+    public IngestWriter(IngestQueue queue, ApiRequestService service,
+                        IngestProperties properties, MeterRegistry registry) {
+        this.queue = queue;
+        this.service = service;
+        this.config = properties.getQueue();
+        this.lag = Timer.builder("ingest.queue.lag")
+                .description("Time from a request being queued until it was stored")
+                .register(registry);
+        this.stored = Counter.builder("ingest.stored")
+                .description("Queued requests written to the database")
+                .register(registry);
+        this.failed = Counter.builder("ingest.failed")
+                .description("Queued requests the database refused, they are dropped")
+                .register(registry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !config.isEnabled()) {
+            return;
+        }
+        running = true;
+        for (int i = 0; i < Math.max(1, config.getWriters()); i++) {
+            Thread thread = new Thread(this::drainLoop, "ingest-writer-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            threads.add(thread);
+        }
+        log.info("Started {} ingest writer(s), queue capacity {}", threads.size(), config.getCapacity());
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        queue.close();
+        running = false;
+        long deadline = System.nanoTime() + config.getShutdownTimeout().toNanos();
+        for (Thread thread : threads) {
+            try {
+                thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        threads.clear();
+        if (queue.size() > 0) {
+            log.warn("Ingest writers stopped with {} request(s) still queued, they are lost", queue.size());
+        }
+    }
+
+    /**
+     * Stop after the graceful shutdown of the web server, whose requests may still be queueing.
+     */
+    @Override
+    public int getPhase() {
+        return WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Keep writing until stopped, then finish whatever is still queued.
+     */
+    private void drainLoop() {
+        try {
+            while (running || queue.size() > 0) {
+                List<QueuedRequest> batch = queue.poll(config.getBatchSize(), POLL_TIMEOUT_MILLIS);
+                if (!batch.isEmpty()) {
+                    write(batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(List<QueuedRequest> batch) {
+        List<CreateApiRequestDto> dtos = new ArrayList<>(batch.size());
+        for (QueuedRequest request : batch) {
+            dtos.add(request.dto());
+        }
+        int storedCount;
+        try {
+            storedCount = service.storeRequests(dtos);
+        } catch (RuntimeException e) {
+            log.error("Failed to store {} queued request(s): {}", dtos.size(), e.getMessage());
+            storedCount = 0;
+        }
+        stored.increment(storedCount);
+        failed.increment(dtos.size() - storedCount);
+
+        long now = System.nanoTime();
+        for (QueuedRequest request : batch) {
+            lag.record(now - request.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.hackathon.backend.ingest;
+
+import com.hackathon.backend.dto.request.CreateApiRequestDto;
+
+/**
+ * A validated request waiting to be stored, with the {@link System#nanoTime()} it was queued at.
+ */
+public record QueuedRequest(CreateApiRequestDto dto, long enqueuedNanos) {
+}
@@ -4,27 +4,73 @@ import com.hackathon.backend.dto.request.CreateApiRequestDto;
 import com.hackathon.backend.dto.response.ApiRequestListItemDto;
 import com.hackathon.backend.dto.response.ApiRequestResponseDto;
 import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.entity.ApiRequestPayload;
+import com.hackathon.backend.repository.ApiRequestListItemView;
+import com.hackathon.backend.repository.ApiRequestSummary;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ApiRequestMapper {
 
+    @Mapping(target = "routeTemplate", source = "routeTemplate", qualifiedByName = "routeTemplate")
+    @Mapping(target = "sampleWeight", source = "sampleRate", qualifiedByName = "sampleWeight")
+    @Mapping(target = "payload", source = "dto", qualifiedByName = "payload")
     ApiRequest toEntity(CreateApiRequestDto dto);
 
+    @Mapping(target = "requestHeaders", source = "payload.requestHeaders")
+    @Mapping(target = "requestBody", source = "payload.requestBody")
+    @Mapping(target = "responseBody", source = "payload.responseBody")
     ApiRequestResponseDto toResponseDto(ApiRequest entity);
 
-    @Mapping(target = "id", source = "id")
-    @Mapping(target = "method", source = "method")
-    @Mapping(target = "path", source = "path")
-    @Mapping(target = "responseStatus", source = "responseStatus")
-    @Mapping(target = "responseTime", source = "responseTime")
-    @Mapping(target = "createdAt", source = "createdAt")
-    ApiRequestListItemDto toListItemDto(ApiRequest entity);
+    /**
+     * A table row, with headers and bodies when a payload is given.
+     */
+    @Mapping(target = "id", source = "row.id")
+    @Mapping(target = "createdAt", source = "row.createdAt")
+    @Mapping(target = "requestHeaders", source = "payload.requestHeaders")
+    @Mapping(target = "requestBody", source = "payload.requestBody")
+    @Mapping(target = "responseBody", source = "payload.responseBody")
+    ApiRequestResponseDto toResponseDto(ApiRequestSummary row, ApiRequestPayload payload);
 
-    List<ApiRequestResponseDto> toResponseDtoList(List<ApiRequest> entities);
+    ApiRequestListItemDto toListItemDto(ApiRequestListItemView view);
 
-    List<ApiRequestListItemDto> toListItemDtoList(List<ApiRequest> entities);
+    List<ApiRequestListItemDto> toListItemDtoList(List<ApiRequestListItemView> views);
+
+    /**
+     * Headers and bodies go to their own row, which is left out when there are none.
+     * Id and creation time are copied from the request once it is stored.
+     */
+    @Named("payload")
+    default ApiRequestPayload toPayload(CreateApiRequestDto dto) {
+        ApiRequestPayload payload = ApiRequestPayload.builder()
+                .requestHeaders(dto.getRequestHeaders())
+                .requestBody(dto.getRequestBody())
+                .responseBody(dto.getResponseBody())
+                .build();
+        return payload.isEmpty() ? null : payload;
+    }
+
+    /**
+     * A blank template is stored as none, so the endpoint queries fall back to the path like the accumulators do.
+     */
+    @Named("routeTemplate")
+    default String toRouteTemplate(String routeTemplate) {
+        return routeTemplate == null || routeTemplate.isBlank() ? null : routeTemplate;
+    }
+
+    /**
+     * A request kept at rate {@code r} stands for {@code 1/r} requests. The SDK derives its rates
+     * from whole request counts, so rounding only matters for rates set by other clients.
+     */
+    @Named("sampleWeight")
+    default Long toSampleWeight(Double sampleRate) {
+        if (sampleRate == null || sampleRate >= 1.0) {
+            return null;
+        }
+        return Math.round(1.0 / sampleRate);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.hackathon.backend.metrics;
+
+import com.hackathon.backend.entity.ApiRequest;
+
+/**
+ * Identifies the health metrics row of one endpoint within a project.
+ * Ordered so callers can lock rows in a consistent sequence.
+ */
+public record EndpointKey(String projectId, String endpoint) implements Comparable<EndpointKey> {
+
+    public static EndpointKey of(ApiRequest request) {
+        return new EndpointKey(request.getProjectId(), endpointOf(request));
+    }
+
+    /**
+     * Requests are grouped by their route template, e.g. {@code /api/users/{id}};
+     * the raw path is only used when the client did not send one.
+     */
+    public static String endpointOf(ApiRequest request) {
+        String routeTemplate = request.getRouteTemplate();
+        return routeTemplate != null && !routeTemplate.isBlank() ? routeTemplate : request.getPath();
+    }
+
+    @Override
+    public int compareTo(EndpointKey other) {
+        int byProject = projectId.compareTo(other.projectId);
+        return byProject != 0 ? byProject : endpoint.compareTo(other.endpoint);
+    }
+}
@@ -0,0 +1,97 @@
+package com.hackathon.backend.metrics;
+
+import com.hackathon.backend.entity.ApiRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects endpoint metrics in memory between flushes to {@code endpoint_health_metrics}.
+ * Ingest threads only touch striped adders, so hot endpoints never contend on a database row lock;
+ * the flusher periodically drains every cell into a {@link MetricsDelta} and writes them in one go.
+ * A cell that was idle for a whole interval is removed, so endpoints that stopped getting traffic do not
+ * hold memory. An ingest thread that looked the cell up just before its removal may still add to it:
+ * the drain takes the cell once more after removing it, and the ingest thread, seeing the cell gone,
+ * moves whatever that missed to a new one. Draining splits the counters, so nothing is counted twice.
+ */
+@Component
+public class EndpointMetricsAccumulator {
+
+    private final ConcurrentHashMap<EndpointKey, MetricsCell> cells = new ConcurrentHashMap<>();
+
+    public void record(ApiRequest request) {
+        add(EndpointKey.of(request), MetricsDelta.of(request));
+    }
+
+    /**
+     * Take everything recorded since the previous drain, resetting the cells.
+     */
+    public Map<EndpointKey, MetricsDelta> drain() {
+        Map<EndpointKey, MetricsDelta> deltas = new HashMap<>();
+        cells.forEach((key, cell) -> {
+            MetricsDelta delta = cell.drain();
+            if (delta.isEmpty() && cells.remove(key, cell)) {
+                delta = cell.drain();
+            }
+            if (!delta.isEmpty()) {
+                deltas.merge(key, delta, MetricsDelta::merge);
+            }
+        });
+        return deltas;
+    }
+
+    private void add(EndpointKey key, MetricsDelta delta) {
+        while (true) {
+            MetricsCell cell = cells.computeIfAbsent(key, k -> new MetricsCell());
+            cell.add(delta);
+            if (cells.get(key) == cell) {
+                return;
+            }
+            // Removed as idle meanwhile; carry over what the drain did not take
+            delta = cell.drain();
+            if (delta.isEmpty()) {
+                return;
+            }
+        }
+    }
+
+    int cellCount() {
+        return cells.size();
+    }
+
+    /**
+     * Put deltas back after a failed flush so they are written by the next one.
+     */
+    public void restore(Map<EndpointKey, MetricsDelta> deltas) {
+        deltas.forEach(this::add);
+    }
+
+    /**
+     * Deltas not yet flushed for a project, keyed by endpoint. Cells are read without being reset.
+     */
+    public Map<String, MetricsDelta> pending(String projectId) {
+        Map<String, MetricsDelta> pending = new HashMap<>();
+        cells.forEach((key, cell) -> {
+            if (key.projectId().equals(projectId)) {
+                MetricsDelta delta = cell.peek();
+                if (!delta.isEmpty()) {
+                    pending.put(key.endpoint(), delta);
+                }
+            }
+        });
+        return pending;
+    }
+
+    /**
+     * Drop unflushed deltas of a project, e.g. before its metrics are rebuilt from stored requests.
+     */
+    public void discard(String projectId) {
+        cells.forEach((key, cell) -> {
+            if (key.projectId().equals(projectId)) {
+                cell.drain();
+            }
+        });
+    }
+}
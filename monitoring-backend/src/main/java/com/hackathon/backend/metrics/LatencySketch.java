@@ -0,0 +1,197 @@
+package com.hackathon.backend.metrics;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Mergeable response time histogram with logarithmic buckets (DDSketch style).
+ * Any quantile it reports is within 1% of the true value, bucket counts of two sketches
+ * simply add up, and it serializes to a few hundred bytes for a typical endpoint.
+ * <p>
+ * Bucket 0 holds responses under one millisecond; bucket {@code k > 0} holds values in
+ * {@code (GAMMA^(k-2), GAMMA^(k-1)]}. Anything above the last bucket (roughly a week) is clamped into it.
+ * Not thread safe; concurrent writers use {@link #bucketOf(long)} with their own counters.
+ */
+public final class LatencySketch {
+
+    public static final double RELATIVE_ACCURACY = 0.01;
+    public static final int BUCKETS = 1024;
+
+    private static final double GAMMA = (1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY);
+    private static final double LOG_GAMMA = Math.log(GAMMA);
+    private static final byte FORMAT_VERSION = 1;
+
+    /** Counts of buckets {@code offset .. offset + counts.length - 1}, grown on demand */
+    private long[] counts = new long[0];
+    private int offset;
+    private long count;
+
+    public static int bucketOf(long value) {
+        if (value < 1) {
+            return 0;
+        }
+        int bucket = 1 + (int) Math.ceil(Math.log(value) / LOG_GAMMA - 1e-9);
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    /**
+     * Value reported for a bucket, chosen so it is within the relative accuracy of everything in it.
+     */
+    public static double valueOf(int bucket) {
+        if (bucket == 0) {
+            return 0.0;
+        }
+        return 2 * Math.pow(GAMMA, bucket - 1) / (GAMMA + 1);
+    }
+
+    public void record(long value) {
+        add(bucketOf(value), 1);
+    }
+
+    public void add(int bucket, long bucketCount) {
+        if (bucketCount == 0) {
+            return;
+        }
+        ensureCapacity(bucket);
+        counts[bucket - offset] += bucketCount;
+        count += bucketCount;
+    }
+
+    public LatencySketch merge(LatencySketch other) {
+        if (other != null) {
+            for (int i = 0; i < other.counts.length; i++) {
+                add(other.offset + i, other.counts[i]);
+            }
+        }
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Approximate nearest-rank value at quantile {@code q} (0..1), or {@code null} when nothing was recorded.
+     */
+    public Double quantile(double q) {
+        if (count == 0) {
+            return null;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(offset + i);
+            }
+        }
+        return valueOf(offset + counts.length - 1);
+    }
+
+    /**
+     * Call {@code consumer} for every non-empty bucket.
+     */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                consumer.accept(offset + i, counts[i]);
+            }
+        }
+    }
+
+    /**
+     * Sparse encoding: version, number of non-empty buckets, then (bucket gap, count) varint pairs.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16 + counts.length * 3);
+        out.write(FORMAT_VERSION);
+        writeVarLong(out, Arrays.stream(counts).filter(c -> c != 0).count());
+        int previous = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                int bucket = offset + i;
+                writeVarLong(out, bucket - previous);
+                writeVarLong(out, counts[i]);
+                previous = bucket;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static LatencySketch fromBytes(byte[] bytes) {
+        LatencySketch sketch = new LatencySketch();
+        if (bytes == null || bytes.length == 0) {
+            return sketch;
+        }
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte version = in.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported latency sketch format: " + version);
+        }
+        long buckets = readVarLong(in);
+        int bucket = 0;
+        for (long i = 0; i < buckets; i++) {
+            bucket += (int) readVarLong(in);
+            if (bucket >= BUCKETS) {
+                throw new IllegalArgumentException("Latency sketch bucket out of range: " + bucket);
+            }
+            sketch.add(bucket, readVarLong(in));
+        }
+        return sketch;
+    }
+
+    public static LatencySketch of(long value) {
+        LatencySketch sketch = new LatencySketch();
+        sketch.record(value);
+        return sketch;
+    }
+
+    private void ensureCapacity(int bucket) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            offset = bucket;
+            return;
+        }
+        if (bucket < offset) {
+            long[] grown = new long[counts.length + offset - bucket];
+            System.arraycopy(counts, 0, grown, offset - bucket, counts.length);
+            counts = grown;
+            offset = bucket;
+        } else if (bucket >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, bucket - offset + 1);
+        }
+    }
+
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed latency sketch varint");
+            }
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    @FunctionalInterface
+    public interface BucketConsumer {
+        void accept(int bucket, long count);
+    }
+}
@@ -0,0 +1,123 @@
+package com.hackathon.backend.metrics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters behind one {@link MetricsDelta}. {@code count} is written last and drained first,
+ * so a request caught mid-update is never counted without its response time; at worst its response
+ * time lands one flush earlier than its count.
+ * Latency buckets are allocated in small chunks on first use; an endpoint's response times span a narrow
+ * range, so a cell holds a few of them rather than all {@link LatencySketch#BUCKETS} slots.
+ */
+final class MetricsCell {
+
+    private static final int CHUNK_BITS = 5;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalResponseTime = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAccumulator minResponseTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxResponseTime = new LongAccumulator(Math::max, Long.MIN_VALUE);
+    private final LongAccumulator firstSeen = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final AtomicReferenceArray<AtomicLongArray> latency =
+            new AtomicReferenceArray<>(LatencySketch.BUCKETS >> CHUNK_BITS);
+
+    void add(MetricsDelta delta) {
+        totalResponseTime.add(valueOrZero(delta.getTotalResponseTime()));
+        successCount.add(valueOrZero(delta.getSuccessCount()));
+        errorCount.add(valueOrZero(delta.getErrorCount()));
+        if (delta.getMinResponseTime() != null) {
+            minResponseTime.accumulate(delta.getMinResponseTime());
+        }
+        if (delta.getMaxResponseTime() != null) {
+            maxResponseTime.accumulate(delta.getMaxResponseTime());
+        }
+        if (delta.getFirstSeen() != null) {
+            firstSeen.accumulate(toEpochMicros(delta.getFirstSeen()));
+        }
+        if (delta.getLatency() != null) {
+            delta.getLatency().forEachBucket(this::addLatency);
+        }
+        count.add(valueOrZero(delta.getCount()));
+    }
+
+    MetricsDelta drain() {
+        long drainedCount = count.sumThenReset();
+        return MetricsDelta.builder()
+                .count(drainedCount)
+                .totalResponseTime(totalResponseTime.sumThenReset())
+                .successCount(successCount.sumThenReset())
+                .errorCount(errorCount.sumThenReset())
+                .minResponseTime(boundOrNull(minResponseTime.getThenReset(), Long.MAX_VALUE))
+                .maxResponseTime(boundOrNull(maxResponseTime.getThenReset(), Long.MIN_VALUE))
+                .firstSeen(fromEpochMicros(firstSeen.getThenReset()))
+                .latency(readLatency(true))
+                .build();
+    }
+
+    MetricsDelta peek() {
+        long currentCount = count.sum();
+        return MetricsDelta.builder()
+                .count(currentCount)
+                .totalResponseTime(totalResponseTime.sum())
+                .successCount(successCount.sum())
+                .errorCount(errorCount.sum())
+                .minResponseTime(boundOrNull(minResponseTime.get(), Long.MAX_VALUE))
+                .maxResponseTime(boundOrNull(maxResponseTime.get(), Long.MIN_VALUE))
+                .firstSeen(fromEpochMicros(firstSeen.get()))
+                .latency(readLatency(false))
+                .build();
+    }
+
+    private void addLatency(int bucket, long bucketCount) {
+        int index = bucket >>> CHUNK_BITS;
+        AtomicLongArray chunk = latency.get(index);
+        if (chunk == null) {
+            latency.compareAndSet(index, null, new AtomicLongArray(CHUNK_SIZE));
+            chunk = latency.get(index);
+        }
+        chunk.addAndGet(bucket & (CHUNK_SIZE - 1), bucketCount);
+    }
+
+    private LatencySketch readLatency(boolean reset) {
+        LatencySketch sketch = new LatencySketch();
+        for (int index = 0; index < latency.length(); index++) {
+            AtomicLongArray chunk = latency.get(index);
+            if (chunk == null) {
+                continue;
+            }
+            for (int slot = 0; slot < CHUNK_SIZE; slot++) {
+                long bucketCount = reset ? chunk.getAndSet(slot, 0) : chunk.get(slot);
+                sketch.add((index << CHUNK_BITS) + slot, bucketCount);
+            }
+        }
+        return sketch;
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static Long boundOrNull(long value, long identity) {
+        return value != identity ? value : null;
+    }
+
+    private static long toEpochMicros(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        if (micros == Long.MAX_VALUE) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000),
+                (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+    }
+}
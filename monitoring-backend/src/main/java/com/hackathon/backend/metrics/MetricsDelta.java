@@ -0,0 +1,137 @@
+package com.hackathon.backend.metrics;
+
+import com.hackathon.backend.entity.ApiRequest;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Running counters for a set of requests to one endpoint.
+ * Deltas can be merged with each other and folded into {@code EndpointHealthMetrics}
+ * without looking at the individual requests again, latency percentiles included.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MetricsDelta {
+
+    private Long count;
+    private Long totalResponseTime;
+    private Long minResponseTime;
+    private Long maxResponseTime;
+    private Long successCount;
+    private Long errorCount;
+    private LocalDateTime firstSeen;
+    private LatencySketch latency;
+
+    /**
+     * Used by the aggregate query, which leaves the latency distribution to a separate query
+     */
+    public MetricsDelta(Long count, Long totalResponseTime, Long minResponseTime, Long maxResponseTime,
+                        Long successCount, Long errorCount, LocalDateTime firstSeen) {
+        this(count, totalResponseTime, minResponseTime, maxResponseTime, successCount, errorCount, firstSeen, null);
+    }
+
+    /**
+     * Delta of a single stored request, counted as many times as the requests it stands for after sampling.
+     */
+    public static MetricsDelta of(ApiRequest request) {
+        Integer status = request.getResponseStatus();
+        long responseTime = request.getResponseTime();
+        long weight = request.getSampleWeight() != null ? request.getSampleWeight() : 1L;
+        LatencySketch latency = new LatencySketch();
+        latency.add(LatencySketch.bucketOf(responseTime), weight);
+        return MetricsDelta.builder()
+                .count(weight)
+                .totalResponseTime(responseTime * weight)
+                .minResponseTime(responseTime)
+                .maxResponseTime(responseTime)
+                .successCount(isSuccess(status) ? weight : 0L)
+                .errorCount(isError(status) ? weight : 0L)
+                .firstSeen(request.getCreatedAt())
+                .latency(latency)
+                .build();
+    }
+
+    public MetricsDelta merge(MetricsDelta other) {
+        return MetricsDelta.builder()
+                .count(sum(count, other.count))
+                .totalResponseTime(sum(totalResponseTime, other.totalResponseTime))
+                .minResponseTime(pick(minResponseTime, other.minResponseTime, Math::min))
+                .maxResponseTime(pick(maxResponseTime, other.maxResponseTime, Math::max))
+                .successCount(sum(successCount, other.successCount))
+                .errorCount(sum(errorCount, other.errorCount))
+                .firstSeen(earliest(firstSeen, other.firstSeen))
+                .latency(latency == null && other.latency == null
+                        ? null
+                        : new LatencySketch().merge(latency).merge(other.latency))
+                .build();
+    }
+
+    /**
+     * Fold another delta into this one in place, for accumulators that own their deltas
+     * and would otherwise copy the latency buckets on every request.
+     */
+    public MetricsDelta add(MetricsDelta other) {
+        count = sum(count, other.count);
+        totalResponseTime = sum(totalResponseTime, other.totalResponseTime);
+        minResponseTime = pick(minResponseTime, other.minResponseTime, Math::min);
+        maxResponseTime = pick(maxResponseTime, other.maxResponseTime, Math::max);
+        successCount = sum(successCount, other.successCount);
+        errorCount = sum(errorCount, other.errorCount);
+        firstSeen = earliest(firstSeen, other.firstSeen);
+        if (other.latency != null) {
+            latency = (latency != null ? latency : new LatencySketch()).merge(other.latency);
+        }
+        return this;
+    }
+
+    /**
+     * A delta drained while a request was being recorded may carry its response time
+     * before its count, so it is only empty when every counter is.
+     */
+    public boolean isEmpty() {
+        return isZero(count) && isZero(totalResponseTime) && isZero(successCount) && isZero(errorCount);
+    }
+
+    public static boolean isSuccess(Integer status) {
+        return status != null && status >= 200 && status < 300;
+    }
+
+    public static boolean isError(Integer status) {
+        return status != null && status >= 400;
+    }
+
+    private static long sum(Long a, Long b) {
+        return (a != null ? a : 0L) + (b != null ? b : 0L);
+    }
+
+    private static Long pick(Long a, Long b, LongBinaryOperator operator) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return operator.applyAsLong(a, b);
+    }
+
+    private static boolean isZero(Long value) {
+        return value == null || value == 0;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) {
+            return b;
+        }
+        if (b == null) {
+            return a;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+}
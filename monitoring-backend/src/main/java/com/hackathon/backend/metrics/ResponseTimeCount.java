@@ -0,0 +1,7 @@
+package com.hackathon.backend.metrics;
+
+/**
+ * Number of requests of an endpoint, sample weights included, that took exactly {@code responseTime} ms.
+ */
+public record ResponseTimeCount(Long responseTime, Long count) {
+}
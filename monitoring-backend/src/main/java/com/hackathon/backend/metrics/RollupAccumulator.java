@@ -0,0 +1,42 @@
+package com.hackathon.backend.metrics;
+
+import com.hackathon.backend.entity.ApiRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects per-minute rollup deltas in memory between flushes to {@code endpoint_metrics_rollups}.
+ * Unlike {@link EndpointMetricsAccumulator} its keys move with the clock, so draining removes the cells;
+ * updates go through {@code merge} so none can land in a delta after it was taken out of the map.
+ * Each minute holds a plain {@link MetricsDelta}, whose sketch only spans the latency buckets it has seen.
+ */
+@Component
+public class RollupAccumulator {
+
+    private final ConcurrentHashMap<RollupKey, MetricsDelta> cells = new ConcurrentHashMap<>();
+
+    public void record(ApiRequest request) {
+        cells.merge(RollupKey.minuteOf(request), MetricsDelta.of(request), MetricsDelta::add);
+    }
+
+    public Map<RollupKey, MetricsDelta> drain() {
+        Map<RollupKey, MetricsDelta> deltas = new HashMap<>();
+        for (RollupKey key : cells.keySet()) {
+            MetricsDelta delta = cells.remove(key);
+            if (delta != null && !delta.isEmpty()) {
+                deltas.put(key, delta);
+            }
+        }
+        return deltas;
+    }
+
+    /**
+     * Put deltas back after a failed flush so they are written by the next one.
+     */
+    public void restore(Map<RollupKey, MetricsDelta> deltas) {
+        deltas.forEach((key, delta) -> cells.merge(key, delta, MetricsDelta::add));
+    }
+}
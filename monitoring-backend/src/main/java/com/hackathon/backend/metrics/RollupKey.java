@@ -0,0 +1,31 @@
+package com.hackathon.backend.metrics;
+
+import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.entity.RollupGranularity;
+
+import java.time.LocalDateTime;
+
+/**
+ * Identifies one rollup bucket of an endpoint, method and status class.
+ */
+public record RollupKey(String projectId,
+                        String endpoint,
+                        String method,
+                        int statusClass,
+                        RollupGranularity granularity,
+                        LocalDateTime bucketStart) {
+
+    public static RollupKey minuteOf(ApiRequest request) {
+        Integer status = request.getResponseStatus();
+        return new RollupKey(request.getProjectId(), EndpointKey.endpointOf(request), request.getMethod(),
+                status != null ? status / 100 : 0,
+                RollupGranularity.MINUTE, RollupGranularity.MINUTE.bucketStart(request.getCreatedAt()));
+    }
+
+    /**
+     * The same bucket at a coarser granularity, e.g. the hour a minute belongs to.
+     */
+    public RollupKey at(RollupGranularity coarser) {
+        return new RollupKey(projectId, endpoint, method, statusClass, coarser, coarser.bucketStart(bucketStart));
+    }
+}
@@ -0,0 +1,25 @@
+package com.hackathon.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a request shown in the list view. An interface projection, as the list view
+ * comes from a native query which cannot use a constructor expression.
+ */
+public interface ApiRequestListItemView {
+
+    UUID getId();
+
+    String getMethod();
+
+    String getPath();
+
+    String getRouteTemplate();
+
+    Integer getResponseStatus();
+
+    Long getResponseTime();
+
+    LocalDateTime getCreatedAt();
+}
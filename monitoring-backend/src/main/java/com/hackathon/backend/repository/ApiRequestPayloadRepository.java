@@ -0,0 +1,25 @@
+package com.hackathon.backend.repository;
+
+import com.hackathon.backend.entity.ApiRequestPayload;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Payloads share the id and {@code created_at} of their request. Lookups pass both,
+ * so on the partitioned table only the partitions of those days are read.
+ */
+@Repository
+public interface ApiRequestPayloadRepository extends JpaRepository<ApiRequestPayload, UUID> {
+
+    Optional<ApiRequestPayload> findByIdAndCreatedAt(UUID id, LocalDateTime createdAt);
+
+    List<ApiRequestPayload> findByIdInAndCreatedAtBetween(Collection<UUID> ids,
+                                                          LocalDateTime startDate,
+                                                          LocalDateTime endDate);
+}
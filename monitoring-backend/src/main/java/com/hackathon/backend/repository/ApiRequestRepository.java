@@ -1,8 +1,11 @@
 package com.hackathon.backend.repository;
 
 import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.ResponseTimeCount;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -15,22 +18,31 @@ import java.util.UUID;
 @Repository
 public interface ApiRequestRepository extends JpaRepository<ApiRequest, UUID> {
 
-    Page<ApiRequest> findByProjectId(String projectId, Pageable pageable);
+    Page<ApiRequestSummary> findByProjectId(String projectId, Pageable pageable);
 
     List<ApiRequest> findByProjectId(String projectId);
 
-    Page<ApiRequest> findByProjectIdAndMethod(String projectId, String method, Pageable pageable);
+    Page<ApiRequestSummary> findByProjectIdAndMethod(String projectId, String method, Pageable pageable);
 
-    Page<ApiRequest> findByProjectIdAndResponseStatus(String projectId, Integer responseStatus, Pageable pageable);
+    Page<ApiRequestSummary> findByProjectIdAndResponseStatus(String projectId, Integer responseStatus,
+                                                             Pageable pageable);
 
-    Page<ApiRequest> findByProjectIdAndCreatedAtBetween(
+    Page<ApiRequestSummary> findByProjectIdAndResponseStatusAndCreatedAtBetween(
             String projectId,
+            Integer responseStatus,
             LocalDateTime startDate,
             LocalDateTime endDate,
             Pageable pageable
     );
 
-    Page<ApiRequest> findByProjectIdAndMethodAndCreatedAtBetween(
+    Page<ApiRequestSummary> findByProjectIdAndCreatedAtBetween(
+            String projectId,
+            LocalDateTime startDate,
+            LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    Page<ApiRequestSummary> findByProjectIdAndMethodAndCreatedAtBetween(
             String projectId,
             String method,
             LocalDateTime startDate,
@@ -38,22 +50,142 @@ public interface ApiRequestRepository extends JpaRepository<ApiRequest, UUID> {
             Pageable pageable
     );
 
-    @Query("SELECT a FROM ApiRequest a WHERE a.projectId = :projectId AND a.path LIKE %:search%")
-    Page<ApiRequest> searchByPath(
+    @Query("""
+        SELECT new com.hackathon.backend.repository.ApiRequestSummary(
+            a.id, a.projectId, a.method, a.path, a.routeTemplate, a.queryString, a.responseStatus,
+            a.responseTime, a.durationMicros, a.timeToFirstByteMicros, a.handlerMicros,
+            a.captureOverheadMicros, a.responseWriteMicros, a.createdAt)
+        FROM ApiRequest a
+        WHERE a.projectId = :projectId AND a.path LIKE %:search%
+        """)
+    Page<ApiRequestSummary> searchByPath(
             @Param("projectId") String projectId,
             @Param("search") String search,
             Pageable pageable
     );
 
+    @Query("""
+        SELECT new com.hackathon.backend.repository.ApiRequestSummary(
+            a.id, a.projectId, a.method, a.path, a.routeTemplate, a.queryString, a.responseStatus,
+            a.responseTime, a.durationMicros, a.timeToFirstByteMicros, a.handlerMicros,
+            a.captureOverheadMicros, a.responseWriteMicros, a.createdAt)
+        FROM ApiRequest a
+        WHERE a.projectId = :projectId AND a.path LIKE %:search%
+          AND a.createdAt BETWEEN :startDate AND :endDate
+        """)
+    Page<ApiRequestSummary> searchByPathAndCreatedAtBetween(
+            @Param("projectId") String projectId,
+            @Param("search") String search,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    /**
+     * First slice of the table view in keyset order, newest first, served by the
+     * (project_id, created_at, id) index. Filters left null are not applied.
+     */
+    @Query("""
+        SELECT new com.hackathon.backend.repository.ApiRequestSummary(
+            a.id, a.projectId, a.method, a.path, a.routeTemplate, a.queryString, a.responseStatus,
+            a.responseTime, a.durationMicros, a.timeToFirstByteMicros, a.handlerMicros,
+            a.captureOverheadMicros, a.responseWriteMicros, a.createdAt)
+        FROM ApiRequest a
+        WHERE a.projectId = :projectId
+          AND (:method IS NULL OR a.method = :method)
+          AND (:responseStatus IS NULL OR a.responseStatus = :responseStatus)
+          AND (:search IS NULL OR a.path LIKE CONCAT('%', :search, '%'))
+          AND (:startDate IS NULL OR a.createdAt >= :startDate)
+          AND (:endDate IS NULL OR a.createdAt <= :endDate)
+        ORDER BY a.createdAt DESC, a.id DESC
+        """)
+    Slice<ApiRequestSummary> findTableSlice(
+            @Param("projectId") String projectId,
+            @Param("method") String method,
+            @Param("responseStatus") Integer responseStatus,
+            @Param("search") String search,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            Pageable pageable
+    );
+
+    /**
+     * The slice after the row with the given key. The plain bound on created_at is what the index
+     * scan starts from, and lets Postgres skip the partitions newer than the cursor; the key
+     * comparison then only has to skip the rows sharing the cursor's created_at.
+     */
+    @Query("""
+        SELECT new com.hackathon.backend.repository.ApiRequestSummary(
+            a.id, a.projectId, a.method, a.path, a.routeTemplate, a.queryString, a.responseStatus,
+            a.responseTime, a.durationMicros, a.timeToFirstByteMicros, a.handlerMicros,
+            a.captureOverheadMicros, a.responseWriteMicros, a.createdAt)
+        FROM ApiRequest a
+        WHERE a.projectId = :projectId
+          AND a.createdAt <= :afterCreatedAt
+          AND (a.createdAt < :afterCreatedAt OR (a.createdAt = :afterCreatedAt AND a.id < :afterId))
+          AND (:method IS NULL OR a.method = :method)
+          AND (:responseStatus IS NULL OR a.responseStatus = :responseStatus)
+          AND (:search IS NULL OR a.path LIKE CONCAT('%', :search, '%'))
+          AND (:startDate IS NULL OR a.createdAt >= :startDate)
+          AND (:endDate IS NULL OR a.createdAt <= :endDate)
+        ORDER BY a.createdAt DESC, a.id DESC
+        """)
+    Slice<ApiRequestSummary> findTableSliceAfter(
+            @Param("projectId") String projectId,
+            @Param("method") String method,
+            @Param("responseStatus") Integer responseStatus,
+            @Param("search") String search,
+            @Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate,
+            @Param("afterCreatedAt") LocalDateTime afterCreatedAt,
+            @Param("afterId") UUID afterId,
+            Pageable pageable
+    );
+
+    /**
+     * Latest request of every route. Rows stored before blank templates were dropped at ingest
+     * may hold an empty one, which counts as none here and in the endpoint queries below.
+     * The id is read as text, which every database returns the same way for a native query
+     * (H2 reports a uuid column as binary), and converted back by the projection.
+     */
     @Query(value = """
-        SELECT DISTINCT ON (path) *
+        SELECT DISTINCT ON (COALESCE(NULLIF(route_template, ''), path))
+            CAST(id AS varchar) AS "id", method AS "method", path AS "path",
+            route_template AS "routeTemplate", response_status AS "responseStatus",
+            response_time AS "responseTime", created_at AS "createdAt"
         FROM api_requests
         WHERE project_id = :projectId
-        ORDER BY path, created_at DESC
+        ORDER BY COALESCE(NULLIF(route_template, ''), path), created_at DESC
         """, nativeQuery = true)
-    List<ApiRequest> findLatestRequestPerPath(@Param("projectId") String projectId);
+    List<ApiRequestListItemView> findLatestRequestPerPath(@Param("projectId") String projectId);
 
     long countByProjectId(String projectId);
 
-    List<ApiRequest> findByProjectIdAndPath(String projectId, String path);
+    @Query("""
+        SELECT new com.hackathon.backend.metrics.MetricsDelta(
+            SUM(COALESCE(a.sampleWeight, 1L)),
+            SUM(a.responseTime * COALESCE(a.sampleWeight, 1L)),
+            MIN(a.responseTime),
+            MAX(a.responseTime),
+            SUM(CASE WHEN a.responseStatus >= 200 AND a.responseStatus < 300
+                THEN COALESCE(a.sampleWeight, 1L) ELSE 0L END),
+            SUM(CASE WHEN a.responseStatus >= 400 THEN COALESCE(a.sampleWeight, 1L) ELSE 0L END),
+            MIN(a.createdAt))
+        FROM ApiRequest a
+        WHERE a.projectId = :projectId AND COALESCE(NULLIF(a.routeTemplate, ''), a.path) = :endpoint
+        """)
+    MetricsDelta aggregateByProjectIdAndEndpoint(@Param("projectId") String projectId,
+                                                 @Param("endpoint") String endpoint);
+
+    @Query("""
+        SELECT new com.hackathon.backend.metrics.ResponseTimeCount(a.responseTime, SUM(COALESCE(a.sampleWeight, 1L)))
+        FROM ApiRequest a
+        WHERE a.projectId = :projectId AND COALESCE(NULLIF(a.routeTemplate, ''), a.path) = :endpoint
+        GROUP BY a.responseTime
+        """)
+    List<ResponseTimeCount> countResponseTimesByProjectIdAndEndpoint(@Param("projectId") String projectId,
+                                                                     @Param("endpoint") String endpoint);
+
+    @Query("SELECT DISTINCT COALESCE(NULLIF(a.routeTemplate, ''), a.path) FROM ApiRequest a WHERE a.projectId = :projectId")
+    List<String> findDistinctEndpointsByProjectId(@Param("projectId") String projectId);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.hackathon.backend.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The columns of a request shown in the table view, selected directly into this record by a
+ * constructor expression instead of hydrating {@link com.hackathon.backend.entity.ApiRequest}
+ * entities into the persistence context.
+ */
+public record ApiRequestSummary(
+        UUID id,
+        String projectId,
+        String method,
+        String path,
+        String routeTemplate,
+        String queryString,
+        Integer responseStatus,
+        Long responseTime,
+        Long durationMicros,
+        Long timeToFirstByteMicros,
+        Long handlerMicros,
+        Long captureOverheadMicros,
+        Long responseWriteMicros,
+        LocalDateTime createdAt) {
+}
@@ -3,7 +3,9 @@ package com.hackathon.backend.repository;
 import com.hackathon.backend.entity.EndpointHealthMetrics;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -18,6 +20,13 @@ public interface EndpointHealthMetricsRepository extends JpaRepository<EndpointH
 
     Optional<EndpointHealthMetrics> findByProjectIdAndEndpoint(String projectId, String endpoint);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM EndpointHealthMetrics e WHERE e.projectId = :projectId AND e.endpoint = :endpoint")
+    Optional<EndpointHealthMetrics> findForUpdate(
+            @Param("projectId") String projectId,
+            @Param("endpoint") String endpoint
+    );
+
     Page<EndpointHealthMetrics> findByProjectId(String projectId, Pageable pageable);
 
     Page<EndpointHealthMetrics> findByProjectIdAndHealthScoreLessThan(
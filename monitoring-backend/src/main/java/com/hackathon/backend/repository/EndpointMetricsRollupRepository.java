@@ -0,0 +1,66 @@
+package com.hackathon.backend.repository;
+
+import com.hackathon.backend.entity.EndpointMetricsRollup;
+import com.hackathon.backend.entity.RollupGranularity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface EndpointMetricsRollupRepository extends JpaRepository<EndpointMetricsRollup, UUID> {
+
+    List<EndpointMetricsRollup> findByProjectIdAndGranularityAndBucketStartIn(
+            String projectId, RollupGranularity granularity, Collection<LocalDateTime> bucketStarts);
+
+    /**
+     * Lock the rows of some buckets for the rest of the transaction. Ordered, so concurrent
+     * flushes take the locks in the same order and cannot deadlock on them.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+        SELECT r FROM EndpointMetricsRollup r
+        WHERE r.projectId = :projectId
+        AND r.granularity = :granularity
+        AND r.bucketStart IN :bucketStarts
+        ORDER BY r.bucketStart, r.endpoint, r.method, r.statusClass
+        """)
+    List<EndpointMetricsRollup> findForUpdate(
+            @Param("projectId") String projectId,
+            @Param("granularity") RollupGranularity granularity,
+            @Param("bucketStarts") Collection<LocalDateTime> bucketStarts
+    );
+
+    @Query("""
+        SELECT r FROM EndpointMetricsRollup r
+        WHERE r.projectId = :projectId
+        AND r.granularity = :granularity
+        AND r.bucketStart >= :from AND r.bucketStart < :to
+        AND (:endpoint IS NULL OR r.endpoint = :endpoint)
+        AND (:method IS NULL OR r.method = :method)
+        ORDER BY r.bucketStart
+        """)
+    List<EndpointMetricsRollup> findForTimeseries(
+            @Param("projectId") String projectId,
+            @Param("granularity") RollupGranularity granularity,
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to,
+            @Param("endpoint") String endpoint,
+            @Param("method") String method
+    );
+
+    @Modifying
+    @Query("DELETE FROM EndpointMetricsRollup r WHERE r.granularity = :granularity AND r.bucketStart < :before")
+    int deleteByGranularityAndBucketStartBefore(
+            @Param("granularity") RollupGranularity granularity,
+            @Param("before") LocalDateTime before
+    );
+}
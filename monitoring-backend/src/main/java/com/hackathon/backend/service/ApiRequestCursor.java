@@ -0,0 +1,37 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the keyset-paginated table view: the {@code (created_at, id)} of the last row
+ * returned. Handed to clients as an opaque URL-safe token.
+ */
+record ApiRequestCursor(LocalDateTime createdAt, UUID id) {
+
+    private static final char SEPARATOR = '|';
+
+    String encode() {
+        String key = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ApiRequestCursor decode(String token) {
+        try {
+            String key = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = key.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidRequestException("Invalid cursor: " + token);
+            }
+            return new ApiRequestCursor(LocalDateTime.parse(key.substring(0, separator)),
+                    UUID.fromString(key.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor: " + token);
+        }
+    }
+}
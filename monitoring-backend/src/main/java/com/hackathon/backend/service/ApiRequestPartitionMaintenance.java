@@ -0,0 +1,209 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.config.PartitionProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the daily partitions of {@code api_requests} (see the V2 migration) in shape:
+ * creates them {@code requests.partitions.precreate-days} ahead, drops those past the longest
+ * retention, and deletes the rows of projects with a shorter retention from the ones still kept.
+ * A partition {@code api_requests_pYYYYMMDD} holds the rows of that day, or everything up to the
+ * end of it for the partition the pre-partitioning data was turned into.
+ * <p>
+ * {@code api_request_payloads} (see the V3 migration) is partitioned the same way and its
+ * partitions are created, dropped and cleaned up together with those of {@code api_requests}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ApiRequestPartitionMaintenance {
+
+    static final String REQUESTS_TABLE = "api_requests";
+    static final String PAYLOADS_TABLE = "api_request_payloads";
+    static final String PARTITION_PREFIX = REQUESTS_TABLE + "_p";
+    static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String LIST_PARTITIONS = """
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'api_requests'::regclass AND c.relkind = 'r'
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PartitionProperties properties;
+
+    public void maintain() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Set<LocalDate> existing = listPartitions();
+
+        for (LocalDate day : partitionsToCreate(existing, now.toLocalDate(), properties.getPrecreateDays())) {
+            createPartition(day);
+        }
+        for (LocalDate day : partitionsToDrop(existing, now.minus(properties.getMaxRetention()))) {
+            dropPartition(day);
+        }
+        deleteExpiredRows(now);
+    }
+
+    /**
+     * Days from {@code today} on, {@code days} of them, that have no partition yet.
+     */
+    static List<LocalDate> partitionsToCreate(Set<LocalDate> existing, LocalDate today, int days) {
+        List<LocalDate> missing = new ArrayList<>();
+        for (int i = 0; i < days; i++) {
+            LocalDate day = today.plusDays(i);
+            if (!existing.contains(day)) {
+                missing.add(day);
+            }
+        }
+        return missing;
+    }
+
+    /**
+     * Partitions whose every row is older than {@code cutoff}.
+     */
+    static List<LocalDate> partitionsToDrop(Set<LocalDate> existing, LocalDateTime cutoff) {
+        List<LocalDate> expired = new ArrayList<>();
+        for (LocalDate day : existing) {
+            if (!day.plusDays(1).atStartOfDay().isAfter(cutoff)) {
+                expired.add(day);
+            }
+        }
+        return expired;
+    }
+
+    static String partitionName(LocalDate day) {
+        return partitionName(REQUESTS_TABLE, day);
+    }
+
+    static String partitionName(String table, LocalDate day) {
+        return table + "_p" + PARTITION_SUFFIX.format(day);
+    }
+
+    private Set<LocalDate> listPartitions() {
+        Set<LocalDate> days = new TreeSet<>();
+        for (String name : jdbcTemplate.queryForList(LIST_PARTITIONS, String.class)) {
+            if (!name.startsWith(PARTITION_PREFIX)) {
+                continue;
+            }
+            try {
+                days.add(LocalDate.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+            } catch (DateTimeParseException e) {
+                log.debug("Ignoring partition {} not named after a day", name);
+            }
+        }
+        return days;
+    }
+
+    /**
+     * The partition of a day is created for both tables in one transaction, so a day never has
+     * requests without a place for their payloads.
+     */
+    private void createPartition(LocalDate day) {
+        String name = partitionName(day);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                createPartition(REQUESTS_TABLE, day);
+                createPartition(PAYLOADS_TABLE, day);
+            });
+            log.info("Created partition {}", name);
+        } catch (DataAccessException e) {
+            log.warn("Failed to create partition {}: {}", name, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Rows of that day which already went to the default partition are moved into the new one,
+     * otherwise attaching it would fail.
+     */
+    private void createPartition(String table, LocalDate day) {
+        String name = partitionName(table, day);
+        String from = day.atStartOfDay().toString();
+        String to = day.plusDays(1).atStartOfDay().toString();
+        jdbcTemplate.execute("CREATE TABLE " + name
+                + " (LIKE " + table + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+        int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + table + "_default"
+                + " WHERE created_at >= ?::timestamp AND created_at < ?::timestamp RETURNING *)"
+                + " INSERT INTO " + name + " SELECT * FROM moved", from, to);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ATTACH PARTITION " + name
+                + " FOR VALUES FROM ('" + from + "') TO ('" + to + "')");
+        if (moved > 0) {
+            log.info("Moved {} row(s) from the default partition into {}", moved, name);
+        }
+    }
+
+    private void dropPartition(LocalDate day) {
+        String name = partitionName(day);
+        try {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS " + partitionName(PAYLOADS_TABLE, day)
+                    + ", " + name);
+            log.info("Dropped expired partition {}", name);
+        } catch (DataAccessException e) {
+            log.warn("Failed to drop partition {}: {}", name, e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    /**
+     * Projects kept for less than the longest retention lose their rows one by one; the
+     * {@code created_at} bound limits the delete to the oldest partitions. Payloads of the
+     * deleted requests go with them.
+     */
+    private void deleteExpiredRows(LocalDateTime now) {
+        Duration max = properties.getMaxRetention();
+        Map<String, Duration> perProject = properties.getProjectRetention();
+
+        int deleted = 0;
+        for (Map.Entry<String, Duration> project : perProject.entrySet()) {
+            if (project.getValue().compareTo(max) < 0) {
+                deleted += deleteWithPayloads("project_id = ? AND created_at < ?",
+                        project.getKey(), now.minus(project.getValue()));
+            }
+        }
+        if (properties.getRetention().compareTo(max) < 0) {
+            // Projects without their own retention use the default one
+            deleted += deleteWithPayloads("created_at < ? AND project_id <> ALL (?)",
+                    now.minus(properties.getRetention()), perProject.keySet().toArray(String[]::new));
+        }
+        // The default partition is never dropped, so it is cleaned up like a project
+        deleted += jdbcTemplate.update("DELETE FROM " + REQUESTS_TABLE + "_default WHERE created_at < ?",
+                now.minus(max));
+        jdbcTemplate.update("DELETE FROM " + PAYLOADS_TABLE + "_default WHERE created_at < ?", now.minus(max));
+        if (deleted > 0) {
+            log.info("Deleted {} request(s) past their project's retention", deleted);
+        }
+    }
+
+    /**
+     * Payloads carry no project, so they are matched on the id and {@code created_at}
+     * of the requests just deleted; returns the number of requests deleted.
+     */
+    private int deleteWithPayloads(String where, Object... args) {
+        String sql = "WITH deleted AS (DELETE FROM " + REQUESTS_TABLE + " WHERE " + where
+                + " RETURNING id, created_at), payloads AS (DELETE FROM " + PAYLOADS_TABLE + " p USING deleted d"
+                + " WHERE p.id = d.id AND p.created_at = d.created_at)"
+                + " SELECT count(*) FROM deleted";
+        Integer deleted = jdbcTemplate.queryForObject(sql, Integer.class, args);
+        return deleted != null ? deleted : 0;
+    }
+}
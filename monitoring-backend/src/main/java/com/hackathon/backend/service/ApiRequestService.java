@@ -4,7 +4,9 @@ import com.hackathon.backend.dto.request.ApiRequestFilterDto;
 import com.hackathon.backend.dto.request.CreateApiRequestDto;
 import com.hackathon.backend.dto.response.ApiRequestListItemDto;
 import com.hackathon.backend.dto.response.ApiRequestResponseDto;
+import com.hackathon.backend.dto.response.BatchIngestResponseDto;
 import com.hackathon.backend.dto.response.PagedResponseDto;
+import com.hackathon.backend.dto.response.SliceResponseDto;
 
 import java.util.List;
 import java.util.UUID;
@@ -16,6 +18,26 @@ public interface ApiRequestService {
      */
     ApiRequestResponseDto createRequest(CreateApiRequestDto dto);
 
+    /**
+     * Create API request records in bulk, reporting failures per item
+     */
+    BatchIngestResponseDto createRequests(List<CreateApiRequestDto> dtos);
+
+    /**
+     * Queue a validated API request to be stored in the background
+     */
+    void enqueueRequest(CreateApiRequestDto dto);
+
+    /**
+     * Validate API requests and queue the valid ones to be stored in the background
+     */
+    BatchIngestResponseDto enqueueRequests(List<CreateApiRequestDto> dtos);
+
+    /**
+     * Store already validated API requests, returning how many were written
+     */
+    int storeRequests(List<CreateApiRequestDto> dtos);
+
     /**
      * Get API request by ID
      */
@@ -31,6 +53,11 @@ public interface ApiRequestService {
      */
     PagedResponseDto<ApiRequestResponseDto> getTableView(ApiRequestFilterDto filter);
 
+    /**
+     * Get requests with filters, newest first, one slice after the filter's cursor at a time (Table View)
+     */
+    SliceResponseDto<ApiRequestResponseDto> getTableSlice(ApiRequestFilterDto filter);
+
     /**
      * Search requests by path
      */
@@ -1,24 +1,43 @@
 package com.hackathon.backend.service;
 
+import com.hackathon.backend.config.IngestProperties;
 import com.hackathon.backend.dto.request.ApiRequestFilterDto;
 import com.hackathon.backend.dto.request.CreateApiRequestDto;
 import com.hackathon.backend.dto.response.ApiRequestListItemDto;
 import com.hackathon.backend.dto.response.ApiRequestResponseDto;
+import com.hackathon.backend.dto.response.BatchIngestResponseDto;
+import com.hackathon.backend.dto.response.BatchItemErrorDto;
 import com.hackathon.backend.dto.response.PagedResponseDto;
+import com.hackathon.backend.dto.response.SliceResponseDto;
 import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.entity.ApiRequestPayload;
+import com.hackathon.backend.exception.InvalidRequestException;
 import com.hackathon.backend.exception.ResourceNotFoundException;
+import com.hackathon.backend.ingest.IngestQueue;
 import com.hackathon.backend.mapper.ApiRequestMapper;
+import com.hackathon.backend.repository.ApiRequestPayloadRepository;
 import com.hackathon.backend.repository.ApiRequestRepository;
+import com.hackathon.backend.repository.ApiRequestSummary;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 @Slf4j
@@ -27,8 +46,12 @@ import java.util.UUID;
 public class ApiRequestServiceImpl implements ApiRequestService {
 
     private final ApiRequestRepository repository;
+    private final ApiRequestPayloadRepository payloadRepository;
     private final ApiRequestMapper mapper;
     private final HealthMetricsService healthMetricsService;
+    private final Validator validator;
+    private final IngestProperties ingestProperties;
+    private final IngestQueue ingestQueue;
 
     @Override
     @Transactional
@@ -37,17 +60,87 @@ public class ApiRequestServiceImpl implements ApiRequestService {
 
         ApiRequest entity = mapper.toEntity(dto);
         ApiRequest saved = repository.save(entity);
+        List<ApiRequestPayload> payloads = payloadsOf(List.of(saved));
+        if (!payloads.isEmpty()) {
+            payloadRepository.saveAll(payloads);
+        }
 
-        healthMetricsService.updateMetricsForEndpoint(dto.getProjectId(), dto.getPath());
+        healthMetricsService.recordRequests(List.of(saved));
 
         return mapper.toResponseDto(saved);
     }
 
+    @Override
+    public BatchIngestResponseDto createRequests(List<CreateApiRequestDto> dtos) {
+        checkBatchSize(dtos);
+        log.debug("Creating batch of {} API requests", dtos.size());
+
+        List<BatchItemErrorDto> errors = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>(dtos.size());
+        List<CreateApiRequestDto> valid = validateAll(dtos, indexes, errors);
+
+        List<ApiRequest> entities = new ArrayList<>(valid.size());
+        for (CreateApiRequestDto dto : valid) {
+            entities.add(mapper.toEntity(dto));
+        }
+
+        List<ApiRequest> saved = persistBatch(entities, indexes, errors);
+
+        if (!saved.isEmpty()) {
+            persistPayloads(saved);
+            healthMetricsService.recordRequests(saved);
+        }
+
+        return buildBatchResponse(dtos.size(), saved.size(), errors);
+    }
+
+    @Override
+    public void enqueueRequest(CreateApiRequestDto dto) {
+        ingestQueue.offer(dto);
+    }
+
+    @Override
+    public BatchIngestResponseDto enqueueRequests(List<CreateApiRequestDto> dtos) {
+        checkBatchSize(dtos);
+        log.debug("Queueing batch of {} API requests", dtos.size());
+
+        List<BatchItemErrorDto> errors = new ArrayList<>();
+        List<CreateApiRequestDto> valid = validateAll(dtos, new ArrayList<>(dtos.size()), errors);
+
+        ingestQueue.offer(valid);
+
+        return buildBatchResponse(dtos.size(), valid.size(), errors);
+    }
+
+    @Override
+    public int storeRequests(List<CreateApiRequestDto> dtos) {
+        List<ApiRequest> entities = new ArrayList<>(dtos.size());
+        List<Integer> indexes = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            entities.add(mapper.toEntity(dtos.get(i)));
+            indexes.add(i);
+        }
+
+        List<BatchItemErrorDto> errors = new ArrayList<>();
+        List<ApiRequest> saved = persistBatch(entities, indexes, errors);
+
+        if (!saved.isEmpty()) {
+            persistPayloads(saved);
+            healthMetricsService.recordRequests(saved);
+        }
+        if (!errors.isEmpty()) {
+            log.warn("Dropped {} of {} queued API requests: {}", errors.size(), dtos.size(),
+                    errors.get(0).getMessage());
+        }
+        return saved.size();
+    }
+
     @Override
     @Transactional(readOnly = true)
     public ApiRequestResponseDto getRequestById(UUID id) {
         ApiRequest request = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("API Request not found with id: " + id));
+        payloadRepository.findByIdAndCreatedAt(id, request.getCreatedAt()).ifPresent(request::setPayload);
         return mapper.toResponseDto(request);
     }
 
@@ -55,8 +148,7 @@ public class ApiRequestServiceImpl implements ApiRequestService {
     @Transactional(readOnly = true)
     public List<ApiRequestListItemDto> getListView(String projectId) {
         log.debug("Getting list view for project: {}", projectId);
-        List<ApiRequest> requests = repository.findLatestRequestPerPath(projectId);
-        return mapper.toListItemDtoList(requests);
+        return mapper.toListItemDtoList(repository.findLatestRequestPerPath(projectId));
     }
 
     @Override
@@ -67,9 +159,47 @@ public class ApiRequestServiceImpl implements ApiRequestService {
         Pageable pageable = createPageable(filter.getPage(), filter.getSize(),
                 filter.getSortBy(), filter.getSortDirection());
 
-        Page<ApiRequest> page = applyFilters(filter, pageable);
+        Page<ApiRequestSummary> page = applyFilters(filter, pageable);
+
+        return buildPagedResponse(page, toResponseDtos(page.getContent(), filter.isIncludeBodies()));
+    }
+
+    /**
+     * Keyset pagination on {@code (created_at, id)}: each slice starts after the last row of the
+     * previous one, so deep slices cost the same as the first and no total is counted.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SliceResponseDto<ApiRequestResponseDto> getTableSlice(ApiRequestFilterDto filter) {
+        log.debug("Getting table slice with filter: {}", filter);
+
+        Pageable pageable = PageRequest.of(0, filter.getSize());
+        String search = filter.getSearch() != null && !filter.getSearch().isEmpty() ? filter.getSearch() : null;
+
+        Slice<ApiRequestSummary> slice;
+        if (filter.getCursor() == null) {
+            slice = repository.findTableSlice(filter.getProjectId(), filter.getMethod(), filter.getResponseStatus(),
+                    search, filter.getStartDate(), filter.getEndDate(), pageable);
+        } else {
+            ApiRequestCursor after = ApiRequestCursor.decode(filter.getCursor());
+            slice = repository.findTableSliceAfter(filter.getProjectId(), filter.getMethod(),
+                    filter.getResponseStatus(), search, filter.getStartDate(), filter.getEndDate(),
+                    after.createdAt(), after.id(), pageable);
+        }
+
+        List<ApiRequestSummary> rows = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext()) {
+            ApiRequestSummary last = rows.get(rows.size() - 1);
+            nextCursor = new ApiRequestCursor(last.createdAt(), last.id()).encode();
+        }
 
-        return buildPagedResponse(page, mapper.toResponseDtoList(page.getContent()));
+        return SliceResponseDto.<ApiRequestResponseDto>builder()
+                .content(toResponseDtos(rows, filter.isIncludeBodies()))
+                .size(slice.getSize())
+                .hasNext(slice.hasNext())
+                .nextCursor(nextCursor)
+                .build();
     }
 
     @Override
@@ -79,9 +209,9 @@ public class ApiRequestServiceImpl implements ApiRequestService {
         log.debug("Searching requests for project: {}, search: {}", projectId, search);
 
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<ApiRequest> resultPage = repository.searchByPath(projectId, search, pageable);
+        Page<ApiRequestSummary> resultPage = repository.searchByPath(projectId, search, pageable);
 
-        return buildPagedResponse(resultPage, mapper.toResponseDtoList(resultPage.getContent()));
+        return buildPagedResponse(resultPage, toResponseDtos(resultPage.getContent(), true));
     }
 
     @Override
@@ -90,6 +220,152 @@ public class ApiRequestServiceImpl implements ApiRequestService {
         return repository.countByProjectId(projectId);
     }
 
+    private void checkBatchSize(List<CreateApiRequestDto> dtos) {
+        if (dtos.size() > ingestProperties.getMaxBatchSize()) {
+            throw new InvalidRequestException("Batch size " + dtos.size()
+                    + " exceeds the maximum of " + ingestProperties.getMaxBatchSize());
+        }
+    }
+
+    /**
+     * The valid items of a batch; the position of each in the batch goes to {@code indexes}
+     * and every invalid one is reported in {@code errors}.
+     */
+    private List<CreateApiRequestDto> validateAll(List<CreateApiRequestDto> dtos, List<Integer> indexes,
+                                                  List<BatchItemErrorDto> errors) {
+        List<CreateApiRequestDto> valid = new ArrayList<>(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            BatchItemErrorDto error = validate(i, dtos.get(i));
+            if (error != null) {
+                errors.add(error);
+                continue;
+            }
+            valid.add(dtos.get(i));
+            indexes.add(i);
+        }
+        return valid;
+    }
+
+    private BatchIngestResponseDto buildBatchResponse(int received, int accepted, List<BatchItemErrorDto> errors) {
+        errors.sort(Comparator.comparingInt(BatchItemErrorDto::getIndex));
+
+        return BatchIngestResponseDto.builder()
+                .received(received)
+                .accepted(accepted)
+                .rejected(received - accepted)
+                .errors(errors)
+                .build();
+    }
+
+    private BatchItemErrorDto validate(int index, CreateApiRequestDto dto) {
+        if (dto == null) {
+            return BatchItemErrorDto.builder()
+                    .index(index)
+                    .message("Item is empty or malformed")
+                    .build();
+        }
+
+        Set<ConstraintViolation<CreateApiRequestDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> validationErrors = new HashMap<>();
+        violations.forEach(violation ->
+                validationErrors.put(violation.getPropertyPath().toString(), violation.getMessage()));
+
+        return BatchItemErrorDto.builder()
+                .index(index)
+                .message("Invalid request parameters")
+                .validationErrors(validationErrors)
+                .build();
+    }
+
+    /**
+     * Write all entities with one batched insert. If the batch is rejected by the
+     * database, fall back to saving items one by one so a single bad row only
+     * fails itself.
+     */
+    private List<ApiRequest> persistBatch(List<ApiRequest> entities, List<Integer> indexes,
+                                          List<BatchItemErrorDto> errors) {
+        if (entities.isEmpty()) {
+            return List.of();
+        }
+
+        try {
+            return repository.saveAll(entities);
+        } catch (DataAccessException e) {
+            log.warn("Batch insert of {} API requests failed, retrying individually: {}",
+                    entities.size(), e.getMessage());
+        }
+
+        List<ApiRequest> saved = new ArrayList<>(entities.size());
+        for (int i = 0; i < entities.size(); i++) {
+            ApiRequest entity = entities.get(i);
+            entity.setId(null);
+            try {
+                saved.add(repository.save(entity));
+            } catch (DataAccessException e) {
+                errors.add(BatchItemErrorDto.builder()
+                        .index(indexes.get(i))
+                        .message("Failed to store item: " + e.getMostSpecificCause().getMessage())
+                        .build());
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Store the payloads of requests that were just saved. A failure here keeps the
+     * requests, which already count in the metrics, and only loses their bodies.
+     */
+    private void persistPayloads(List<ApiRequest> saved) {
+        List<ApiRequestPayload> payloads = payloadsOf(saved);
+        if (payloads.isEmpty()) {
+            return;
+        }
+        try {
+            payloadRepository.saveAll(payloads);
+        } catch (DataAccessException e) {
+            log.warn("Stored {} API request(s) without their bodies: {}", payloads.size(),
+                    e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private List<ApiRequestPayload> payloadsOf(List<ApiRequest> saved) {
+        List<ApiRequestPayload> payloads = new ArrayList<>();
+        for (ApiRequest request : saved) {
+            ApiRequestPayload payload = request.getPayload();
+            if (payload != null) {
+                payload.setId(request.getId());
+                payload.setCreatedAt(request.getCreatedAt());
+                payloads.add(payload);
+            }
+        }
+        return payloads;
+    }
+
+    /**
+     * Table rows, with the payloads of the whole page loaded by a single query when bodies are included.
+     */
+    private List<ApiRequestResponseDto> toResponseDtos(List<ApiRequestSummary> rows, boolean includeBodies) {
+        Map<UUID, ApiRequestPayload> payloads = new HashMap<>();
+        if (includeBodies && !rows.isEmpty()) {
+            List<UUID> ids = rows.stream().map(ApiRequestSummary::id).toList();
+            // The page's time span keeps the lookup to the partitions the rows came from
+            LocalDateTime oldest = rows.stream().map(ApiRequestSummary::createdAt).min(LocalDateTime::compareTo).get();
+            LocalDateTime newest = rows.stream().map(ApiRequestSummary::createdAt).max(LocalDateTime::compareTo).get();
+            for (ApiRequestPayload payload : payloadRepository.findByIdInAndCreatedAtBetween(ids, oldest, newest)) {
+                payloads.put(payload.getId(), payload);
+            }
+        }
+        List<ApiRequestResponseDto> dtos = new ArrayList<>(rows.size());
+        for (ApiRequestSummary row : rows) {
+            dtos.add(mapper.toResponseDto(row, payloads.get(row.id())));
+        }
+        return dtos;
+    }
+
     private Pageable createPageable(int page, int size, String sortBy, String sortDirection) {
         Sort.Direction direction = "ASC".equalsIgnoreCase(sortDirection)
                 ? Sort.Direction.ASC
@@ -98,29 +374,38 @@ public class ApiRequestServiceImpl implements ApiRequestService {
         return PageRequest.of(page, size, Sort.by(direction, sortBy));
     }
 
-    private Page<ApiRequest> applyFilters(ApiRequestFilterDto filter, Pageable pageable) {
+    /**
+     * A date range is applied together with any other filter, so on the partitioned table
+     * only the partitions of those days are read.
+     */
+    private Page<ApiRequestSummary> applyFilters(ApiRequestFilterDto filter, Pageable pageable) {
         String projectId = filter.getProjectId();
-
-        if (filter.getMethod() != null && filter.getStartDate() != null && filter.getEndDate() != null) {
-            return repository.findByProjectIdAndMethodAndCreatedAtBetween(
-                    projectId, filter.getMethod(), filter.getStartDate(), filter.getEndDate(), pageable);
-        }
+        LocalDateTime start = filter.getStartDate();
+        LocalDateTime end = filter.getEndDate();
+        boolean dated = start != null && end != null;
 
         if (filter.getMethod() != null) {
-            return repository.findByProjectIdAndMethod(projectId, filter.getMethod(), pageable);
+            return dated
+                    ? repository.findByProjectIdAndMethodAndCreatedAtBetween(
+                            projectId, filter.getMethod(), start, end, pageable)
+                    : repository.findByProjectIdAndMethod(projectId, filter.getMethod(), pageable);
         }
 
         if (filter.getResponseStatus() != null) {
-            return repository.findByProjectIdAndResponseStatus(projectId, filter.getResponseStatus(), pageable);
+            return dated
+                    ? repository.findByProjectIdAndResponseStatusAndCreatedAtBetween(
+                            projectId, filter.getResponseStatus(), start, end, pageable)
+                    : repository.findByProjectIdAndResponseStatus(projectId, filter.getResponseStatus(), pageable);
         }
 
-        if (filter.getStartDate() != null && filter.getEndDate() != null) {
-            return repository.findByProjectIdAndCreatedAtBetween(
-                    projectId, filter.getStartDate(), filter.getEndDate(), pageable);
+        if (filter.getSearch() != null && !filter.getSearch().isEmpty()) {
+            return dated
+                    ? repository.searchByPathAndCreatedAtBetween(projectId, filter.getSearch(), start, end, pageable)
+                    : repository.searchByPath(projectId, filter.getSearch(), pageable);
         }
 
-        if (filter.getSearch() != null && !filter.getSearch().isEmpty()) {
-            return repository.searchByPath(projectId, filter.getSearch(), pageable);
+        if (dated) {
+            return repository.findByProjectIdAndCreatedAtBetween(projectId, start, end, pageable);
         }
 
         return repository.findByProjectId(projectId, pageable);
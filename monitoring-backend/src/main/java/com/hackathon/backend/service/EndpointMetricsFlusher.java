@@ -0,0 +1,79 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.metrics.EndpointKey;
+import com.hackathon.backend.metrics.EndpointMetricsAccumulator;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.RollupAccumulator;
+import com.hackathon.backend.metrics.RollupKey;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Writes the metrics collected by {@link EndpointMetricsAccumulator} and {@link RollupAccumulator}
+ * to the database every
+ * {@code metrics.flush-interval}.
+ * Deltas of a failed flush are put back and retried with the next one.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EndpointMetricsFlusher {
+
+    private final EndpointMetricsAccumulator accumulator;
+    private final RollupAccumulator rollupAccumulator;
+    private final HealthMetricsService healthMetricsService;
+    private final RollupService rollupService;
+
+    public synchronized void flush() {
+        flushEndpointMetrics();
+        flushRollups();
+    }
+
+    /**
+     * Rebuild a project's metrics from the stored requests with no flush in between: pending deltas
+     * are flushed first, and the ones recorded during the rebuild are discarded by it, since the stored
+     * requests already include them.
+     */
+    public synchronized void recalculate(String projectId) {
+        flush();
+        healthMetricsService.recalculateAllMetrics(projectId);
+    }
+
+    private void flushEndpointMetrics() {
+        Map<EndpointKey, MetricsDelta> deltas = accumulator.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            healthMetricsService.applyDeltas(deltas);
+            log.debug("Flushed metrics for {} endpoint(s)", deltas.size());
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush metrics for {} endpoint(s), retrying with the next flush: {}",
+                    deltas.size(), e.getMessage());
+            accumulator.restore(deltas);
+        }
+    }
+
+    private void flushRollups() {
+        Map<RollupKey, MetricsDelta> deltas = rollupAccumulator.drain();
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            rollupService.applyMinuteDeltas(deltas);
+        } catch (RuntimeException e) {
+            log.warn("Failed to flush {} minute rollup(s), retrying with the next flush: {}",
+                    deltas.size(), e.getMessage());
+            rollupAccumulator.restore(deltas);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
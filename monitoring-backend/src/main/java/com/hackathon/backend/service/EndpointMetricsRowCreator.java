@@ -0,0 +1,39 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.entity.EndpointHealthMetrics;
+import com.hackathon.backend.repository.EndpointHealthMetricsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creates empty endpoint metrics rows in their own transaction, so a writer that
+ * loses the race on the unique (project_id, endpoint) constraint can simply
+ * re-read the winner's row instead of having its own transaction aborted.
+ */
+@Component
+@RequiredArgsConstructor
+public class EndpointMetricsRowCreator {
+
+    private final EndpointHealthMetricsRepository repository;
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createIfAbsent(String projectId, String endpoint) {
+        if (repository.findByProjectIdAndEndpoint(projectId, endpoint).isPresent()) {
+            return;
+        }
+
+        repository.saveAndFlush(EndpointHealthMetrics.builder()
+                .projectId(projectId)
+                .endpoint(endpoint)
+                .totalRequests(0L)
+                .totalResponseTime(0L)
+                .successCount(0L)
+                .errorCount(0L)
+                .lastUpdated(LocalDateTime.now())
+                .build());
+    }
+}
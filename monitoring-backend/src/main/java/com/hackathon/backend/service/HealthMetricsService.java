@@ -4,14 +4,29 @@ import com.hackathon.backend.dto.request.HealthMetricsFilterDto;
 import com.hackathon.backend.dto.response.HealthMetricsListItemDto;
 import com.hackathon.backend.dto.response.HealthMetricsResponseDto;
 import com.hackathon.backend.dto.response.PagedResponseDto;
+import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.metrics.EndpointKey;
+import com.hackathon.backend.metrics.MetricsDelta;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface HealthMetricsService {
 
     /**
-     * Update health metrics for a specific endpoint
+     * Fold newly stored requests into the in-memory metrics and minute rollups of their endpoints.
+     * They reach the database with the next flush, see {@link #applyDeltas(Map)}
+     */
+    void recordRequests(List<ApiRequest> requests);
+
+    /**
+     * Write accumulated deltas to the metrics rows of their endpoints in one transaction
+     */
+    void applyDeltas(Map<EndpointKey, MetricsDelta> deltas);
+
+    /**
+     * Rebuild health metrics for a specific endpoint from stored requests
      */
     void updateMetricsForEndpoint(String projectId, String endpoint);
 
@@ -46,7 +61,8 @@ public interface HealthMetricsService {
     long getTotalCount(String projectId);
 
     /**
-     * Recalculate all metrics for a project
+     * Recalculate all metrics for a project.
+     * Call it through {@link EndpointMetricsFlusher#recalculate(String)} so no flush runs alongside.
      */
     void recalculateAllMetrics(String projectId);
 }
\ No newline at end of file
@@ -8,22 +8,31 @@ import com.hackathon.backend.entity.ApiRequest;
 import com.hackathon.backend.entity.EndpointHealthMetrics;
 import com.hackathon.backend.exception.ResourceNotFoundException;
 import com.hackathon.backend.mapper.HealthMetricsMapper;
+import com.hackathon.backend.metrics.EndpointKey;
+import com.hackathon.backend.metrics.EndpointMetricsAccumulator;
+import com.hackathon.backend.metrics.LatencySketch;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.RollupAccumulator;
 import com.hackathon.backend.repository.ApiRequestRepository;
 import com.hackathon.backend.repository.EndpointHealthMetricsRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.LongSummaryStatistics;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.LongBinaryOperator;
 
 @Slf4j
 @Service
@@ -33,41 +42,56 @@ public class HealthMetricsServiceImpl implements HealthMetricsService {
     private final EndpointHealthMetricsRepository metricsRepository;
     private final ApiRequestRepository requestRepository;
     private final HealthMetricsMapper mapper;
+    private final EndpointMetricsRowCreator rowCreator;
+    private final EndpointMetricsAccumulator accumulator;
+    private final RollupAccumulator rollupAccumulator;
+
+    @Override
+    public void recordRequests(List<ApiRequest> requests) {
+        for (ApiRequest request : requests) {
+            accumulator.record(request);
+            rollupAccumulator.record(request);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void applyDeltas(Map<EndpointKey, MetricsDelta> deltas) {
+        // Sorted so concurrent flushes and rebuilds always lock endpoint rows in the same order
+        List<EndpointHealthMetrics> updated = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((key, delta) -> {
+            log.debug("Flushing {} request(s) for endpoint: {} in project: {}",
+                    delta.getCount(), key.endpoint(), key.projectId());
+            EndpointHealthMetrics metrics = lockOrCreate(key.projectId(), key.endpoint());
+            applyDelta(metrics, delta);
+            updated.add(metrics);
+        });
+        metricsRepository.saveAll(updated);
+    }
 
     @Override
-    @Async
     @Transactional
     public void updateMetricsForEndpoint(String projectId, String endpoint) {
-        log.debug("Updating metrics for endpoint: {} in project: {}", endpoint, projectId);
+        log.debug("Rebuilding metrics for endpoint: {} in project: {}", endpoint, projectId);
 
-        List<ApiRequest> requests = requestRepository.findByProjectIdAndPath(projectId, endpoint);
+        MetricsDelta aggregate = requestRepository.aggregateByProjectIdAndEndpoint(projectId, endpoint);
 
-        if (requests.isEmpty()) {
+        if (aggregate == null || aggregate.isEmpty()) {
             log.debug("No requests found for endpoint: {}", endpoint);
             return;
         }
 
-        EndpointHealthMetrics newMetrics = calculateMetrics(projectId, endpoint, requests);
-
-        EndpointHealthMetrics metrics = metricsRepository
-                .findByProjectIdAndEndpoint(projectId, endpoint)
-                .map(existing -> {
-                    existing.setAvgResponseTime(newMetrics.getAvgResponseTime());
-                    existing.setMinResponseTime(newMetrics.getMinResponseTime());
-                    existing.setMaxResponseTime(newMetrics.getMaxResponseTime());
-                    existing.setTotalRequests(newMetrics.getTotalRequests());
-                    existing.setSuccessCount(newMetrics.getSuccessCount());
-                    existing.setErrorCount(newMetrics.getErrorCount());
-                    existing.setSuccessRate(newMetrics.getSuccessRate());
-                    existing.setHealthScore(newMetrics.getHealthScore());
-                    existing.setLastUpdated(LocalDateTime.now());
-                    return existing;
-                })
-                .orElse(newMetrics);
+        LatencySketch latency = new LatencySketch();
+        requestRepository.countResponseTimesByProjectIdAndEndpoint(projectId, endpoint)
+                .forEach(bucket -> latency.add(LatencySketch.bucketOf(bucket.responseTime()), bucket.count()));
+        aggregate.setLatency(latency);
 
+        EndpointHealthMetrics metrics = lockOrCreate(projectId, endpoint);
+        resetCounters(metrics);
+        applyDelta(metrics, aggregate);
         metricsRepository.save(metrics);
 
-        log.debug("Successfully updated metrics for endpoint: {}", endpoint);
+        log.debug("Successfully rebuilt metrics for endpoint: {}", endpoint);
     }
 
     @Override
@@ -81,7 +105,11 @@ public class HealthMetricsServiceImpl implements HealthMetricsService {
     @Override
     @Transactional(readOnly = true)
     public HealthMetricsResponseDto getMetricsByEndpoint(String projectId, String endpoint) {
+        MetricsDelta pending = accumulator.pending(projectId).get(endpoint);
         EndpointHealthMetrics metrics = metricsRepository.findByProjectIdAndEndpoint(projectId, endpoint)
+                .map(stored -> withPending(stored, pending))
+                .or(() -> Optional.ofNullable(pending)
+                        .map(delta -> withPending(emptyMetrics(projectId, endpoint), delta)))
                 .orElseThrow(() -> new ResourceNotFoundException(
                         "Health metrics not found for endpoint: " + endpoint));
         return mapper.toResponseDto(metrics);
@@ -91,7 +119,13 @@ public class HealthMetricsServiceImpl implements HealthMetricsService {
     @Transactional(readOnly = true)
     public List<HealthMetricsListItemDto> getListView(String projectId) {
         log.debug("Getting metrics list view for project: {}", projectId);
-        List<EndpointHealthMetrics> metrics = metricsRepository.findLatestMetricsPerEndpoint(projectId);
+        Map<String, MetricsDelta> pending = accumulator.pending(projectId);
+        List<EndpointHealthMetrics> metrics = new ArrayList<>();
+        for (EndpointHealthMetrics stored : metricsRepository.findLatestMetricsPerEndpoint(projectId)) {
+            metrics.add(withPending(stored, pending.remove(stored.getEndpoint())));
+        }
+        // Endpoints seen since the last flush that have no row yet
+        pending.forEach((endpoint, delta) -> metrics.add(withPending(emptyMetrics(projectId, endpoint), delta)));
         return mapper.toListItemDtoList(metrics);
     }
 
@@ -131,58 +165,145 @@ public class HealthMetricsServiceImpl implements HealthMetricsService {
     public void recalculateAllMetrics(String projectId) {
         log.info("Recalculating all metrics for project: {}", projectId);
 
-        List<String> uniquePaths = requestRepository.findByProjectId(projectId)
-                .stream()
-                .map(ApiRequest::getPath)
-                .distinct()
-                .toList();
+        List<String> endpoints = requestRepository.findDistinctEndpointsByProjectId(projectId);
 
-        uniquePaths.forEach(path -> updateMetricsForEndpoint(projectId, path));
+        endpoints.forEach(endpoint -> updateMetricsForEndpoint(projectId, endpoint));
+
+        // The stored requests already include anything recorded since the flush before the rebuild
+        accumulator.discard(projectId);
 
         log.info("Completed recalculation of {} endpoints for project: {}",
-                uniquePaths.size(), projectId);
+                endpoints.size(), projectId);
     }
 
-    private EndpointHealthMetrics calculateMetrics(String projectId, String endpoint,
-                                                   List<ApiRequest> requests) {
-        LongSummaryStatistics stats = requests.stream()
-                .mapToLong(ApiRequest::getResponseTime)
-                .summaryStatistics();
-
-        long successCount = requests.stream()
-                .filter(r -> r.getResponseStatus() != null && r.getResponseStatus() >= 200 && r.getResponseStatus() < 300)
-                .count();
-
-        long errorCount = requests.stream()
-                .filter(r -> r.getResponseStatus() != null && r.getResponseStatus() >= 400)
-                .count();
-
-        long totalRequests = requests.size();
-        double successRate = totalRequests > 0 ? (successCount * 100.0 / totalRequests) : 0.0;
-
-        int healthScore = calculateHealthScore(stats.getAverage(), successRate);
+    /**
+     * Make sure the endpoint has a metrics row and lock it for the rest of the transaction,
+     * so concurrent ingests serialize on the row instead of overwriting each other.
+     */
+    private EndpointHealthMetrics lockOrCreate(String projectId, String endpoint) {
+        return metricsRepository.findForUpdate(projectId, endpoint).orElseGet(() -> {
+            try {
+                rowCreator.createIfAbsent(projectId, endpoint);
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Metrics row for endpoint: {} was created concurrently", endpoint);
+            }
+            return metricsRepository.findForUpdate(projectId, endpoint)
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Health metrics row missing for endpoint: " + endpoint));
+        });
+    }
 
-        LocalDateTime firstSeen = requests.stream()
-                .map(ApiRequest::getCreatedAt)
-                .min(LocalDateTime::compareTo)
-                .orElse(LocalDateTime.now());
+    /**
+     * Detached copy of a stored row with the not yet flushed delta folded in,
+     * so reads stay fresh without touching the managed entity.
+     */
+    private EndpointHealthMetrics withPending(EndpointHealthMetrics stored, MetricsDelta pending) {
+        if (pending == null) {
+            return stored;
+        }
+        EndpointHealthMetrics merged = stored.toBuilder().build();
+        applyDelta(merged, pending);
+        return merged;
+    }
 
+    private static EndpointHealthMetrics emptyMetrics(String projectId, String endpoint) {
         return EndpointHealthMetrics.builder()
                 .projectId(projectId)
                 .endpoint(endpoint)
-                .avgResponseTime(stats.getAverage())
-                .minResponseTime(stats.getMin())
-                .maxResponseTime(stats.getMax())
-                .totalRequests(totalRequests)
-                .successCount(successCount)
-                .errorCount(errorCount)
-                .successRate(successRate)
-                .healthScore(healthScore)
-                .lastUpdated(LocalDateTime.now())
-                .firstSeen(firstSeen)
+                .totalRequests(0L)
+                .totalResponseTime(0L)
+                .successCount(0L)
+                .errorCount(0L)
                 .build();
     }
 
+    private void resetCounters(EndpointHealthMetrics metrics) {
+        metrics.setTotalRequests(0L);
+        metrics.setTotalResponseTime(0L);
+        metrics.setMinResponseTime(null);
+        metrics.setMaxResponseTime(null);
+        metrics.setSuccessCount(0L);
+        metrics.setErrorCount(0L);
+        metrics.setFirstSeen(null);
+        metrics.setLatencySketch(null);
+        metrics.setP50ResponseTime(null);
+        metrics.setP90ResponseTime(null);
+        metrics.setP95ResponseTime(null);
+        metrics.setP99ResponseTime(null);
+    }
+
+    private void applyDelta(EndpointHealthMetrics metrics, MetricsDelta delta) {
+        long previousTotal = valueOrZero(metrics.getTotalRequests());
+        long previousResponseTime = metrics.getTotalResponseTime() != null
+                ? metrics.getTotalResponseTime()
+                // Rows written before running sums existed only kept the average
+                : Math.round(valueOrZero(metrics.getAvgResponseTime()) * previousTotal);
+
+        long totalRequests = previousTotal + valueOrZero(delta.getCount());
+        long totalResponseTime = previousResponseTime + valueOrZero(delta.getTotalResponseTime());
+        long successCount = valueOrZero(metrics.getSuccessCount()) + valueOrZero(delta.getSuccessCount());
+        long errorCount = valueOrZero(metrics.getErrorCount()) + valueOrZero(delta.getErrorCount());
+
+        metrics.setTotalRequests(totalRequests);
+        metrics.setTotalResponseTime(totalResponseTime);
+        metrics.setMinResponseTime(pick(metrics.getMinResponseTime(), delta.getMinResponseTime(), Math::min));
+        metrics.setMaxResponseTime(pick(metrics.getMaxResponseTime(), delta.getMaxResponseTime(), Math::max));
+        metrics.setSuccessCount(successCount);
+        metrics.setErrorCount(errorCount);
+        if (totalRequests > 0) {
+            double avgResponseTime = (double) totalResponseTime / totalRequests;
+            double successRate = successCount * 100.0 / totalRequests;
+            metrics.setAvgResponseTime(avgResponseTime);
+            metrics.setSuccessRate(successRate);
+            metrics.setHealthScore(calculateHealthScore(avgResponseTime, successRate));
+        }
+        if (delta.getLatency() != null && !delta.getLatency().isEmpty()) {
+            LatencySketch latency = LatencySketch.fromBytes(metrics.getLatencySketch()).merge(delta.getLatency());
+            metrics.setLatencySketch(latency.toBytes());
+            metrics.setP50ResponseTime(percentile(latency, 0.50, metrics));
+            metrics.setP90ResponseTime(percentile(latency, 0.90, metrics));
+            metrics.setP95ResponseTime(percentile(latency, 0.95, metrics));
+            metrics.setP99ResponseTime(percentile(latency, 0.99, metrics));
+        }
+        if (delta.getFirstSeen() != null
+                && (metrics.getFirstSeen() == null || delta.getFirstSeen().isBefore(metrics.getFirstSeen()))) {
+            metrics.setFirstSeen(delta.getFirstSeen());
+        }
+        metrics.setLastUpdated(LocalDateTime.now());
+    }
+
+    /**
+     * Sketch quantiles are only accurate to a bucket, keep them inside the exact min/max.
+     */
+    private static Double percentile(LatencySketch latency, double quantile, EndpointHealthMetrics metrics) {
+        double value = latency.quantile(quantile);
+        if (metrics.getMinResponseTime() != null) {
+            value = Math.max(value, metrics.getMinResponseTime());
+        }
+        if (metrics.getMaxResponseTime() != null) {
+            value = Math.min(value, metrics.getMaxResponseTime());
+        }
+        return value;
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static double valueOrZero(Double value) {
+        return value != null ? value : 0.0;
+    }
+
+    private static Long pick(Long current, Long candidate, LongBinaryOperator operator) {
+        if (current == null) {
+            return candidate;
+        }
+        if (candidate == null) {
+            return current;
+        }
+        return operator.applyAsLong(current, candidate);
+    }
+
     private int calculateHealthScore(double avgResponseTime, double successRate) {
         double successScore = successRate;
 
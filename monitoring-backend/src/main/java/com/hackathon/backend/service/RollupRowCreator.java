@@ -0,0 +1,66 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.entity.EndpointMetricsRollup;
+import com.hackathon.backend.entity.RollupGranularity;
+import com.hackathon.backend.metrics.RollupKey;
+import com.hackathon.backend.repository.EndpointMetricsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates empty rollup rows in their own transaction, so a flush that loses the race on
+ * the unique bucket constraint to another node can simply lock the winner's row instead
+ * of having its own transaction aborted.
+ */
+@Component
+@RequiredArgsConstructor
+public class RollupRowCreator {
+
+    private final EndpointMetricsRollupRepository repository;
+
+    /**
+     * Create the rows missing for keys of one project and granularity.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void createIfAbsent(String projectId, RollupGranularity granularity, Collection<RollupKey> keys) {
+        Set<LocalDateTime> bucketStarts = keys.stream().map(RollupKey::bucketStart).collect(Collectors.toSet());
+        Set<RollupKey> existing = repository
+                .findByProjectIdAndGranularityAndBucketStartIn(projectId, granularity, bucketStarts).stream()
+                .map(RollupRowCreator::keyOf)
+                .collect(Collectors.toSet());
+
+        List<EndpointMetricsRollup> missing = keys.stream()
+                .filter(key -> !existing.contains(key))
+                .map(RollupRowCreator::emptyRollup)
+                .toList();
+        if (!missing.isEmpty()) {
+            repository.saveAllAndFlush(missing);
+        }
+    }
+
+    static RollupKey keyOf(EndpointMetricsRollup rollup) {
+        return new RollupKey(rollup.getProjectId(), rollup.getEndpoint(), rollup.getMethod(),
+                rollup.getStatusClass(), rollup.getGranularity(), rollup.getBucketStart());
+    }
+
+    private static EndpointMetricsRollup emptyRollup(RollupKey key) {
+        return EndpointMetricsRollup.builder()
+                .projectId(key.projectId())
+                .endpoint(key.endpoint())
+                .method(key.method())
+                .statusClass(key.statusClass())
+                .granularity(key.granularity())
+                .bucketStart(key.bucketStart())
+                .requestCount(0L)
+                .totalResponseTime(0L)
+                .build();
+    }
+}
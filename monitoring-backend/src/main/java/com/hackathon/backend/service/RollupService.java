@@ -0,0 +1,26 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.dto.request.TimeseriesFilterDto;
+import com.hackathon.backend.dto.response.TimeseriesResponseDto;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.RollupKey;
+
+import java.util.Map;
+
+public interface RollupService {
+
+    /**
+     * Write per-minute deltas to their minute, hour and day rollups in one transaction
+     */
+    void applyMinuteDeltas(Map<RollupKey, MetricsDelta> deltas);
+
+    /**
+     * Get a time series for a project, optionally narrowed to one endpoint and method, from rollups only
+     */
+    TimeseriesResponseDto getTimeseries(TimeseriesFilterDto filter);
+
+    /**
+     * Delete rollups older than the retention of their granularity
+     */
+    void purgeExpired();
+}
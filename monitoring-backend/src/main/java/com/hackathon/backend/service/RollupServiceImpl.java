@@ -0,0 +1,251 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.config.MetricsProperties;
+import com.hackathon.backend.dto.request.TimeseriesFilterDto;
+import com.hackathon.backend.dto.response.TimeseriesPointDto;
+import com.hackathon.backend.dto.response.TimeseriesResponseDto;
+import com.hackathon.backend.entity.EndpointMetricsRollup;
+import com.hackathon.backend.entity.RollupGranularity;
+import com.hackathon.backend.exception.InvalidRequestException;
+import com.hackathon.backend.metrics.LatencySketch;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.RollupKey;
+import com.hackathon.backend.repository.EndpointMetricsRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.LongBinaryOperator;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RollupServiceImpl implements RollupService {
+
+    private final EndpointMetricsRollupRepository rollupRepository;
+    private final MetricsProperties metricsProperties;
+    private final RollupRowCreator rowCreator;
+
+    @Override
+    @Transactional
+    public void applyMinuteDeltas(Map<RollupKey, MetricsDelta> deltas) {
+        // Fold every minute into its hour and day right away, so coarse buckets are as fresh as minutes
+        Map<RollupKey, MetricsDelta> all = new HashMap<>(deltas);
+        deltas.forEach((key, delta) -> {
+            all.merge(key.at(RollupGranularity.HOUR), delta, MetricsDelta::merge);
+            all.merge(key.at(RollupGranularity.DAY), delta, MetricsDelta::merge);
+        });
+
+        // Sorted so concurrent flushes, on this node or others, always lock rollup rows in the same order
+        Map<String, Map<RollupGranularity, List<RollupKey>>> grouped = all.keySet().stream()
+                .collect(Collectors.groupingBy(RollupKey::projectId, TreeMap::new,
+                        Collectors.groupingBy(RollupKey::granularity, TreeMap::new, Collectors.toList())));
+
+        // Missing buckets are created before any row is locked, so no lock is taken out of order
+        grouped.forEach((projectId, byGranularity) -> byGranularity.forEach((granularity, keys) ->
+                createIfAbsent(projectId, granularity, keys)));
+
+        List<EndpointMetricsRollup> updated = new ArrayList<>(all.size());
+        grouped.forEach((projectId, byGranularity) -> byGranularity.forEach((granularity, keys) -> {
+            Set<LocalDateTime> bucketStarts = keys.stream().map(RollupKey::bucketStart).collect(Collectors.toSet());
+            Map<RollupKey, EndpointMetricsRollup> locked = rollupRepository
+                    .findForUpdate(projectId, granularity, bucketStarts).stream()
+                    .collect(Collectors.toMap(RollupRowCreator::keyOf, rollup -> rollup));
+
+            for (RollupKey key : keys) {
+                EndpointMetricsRollup rollup = locked.get(key);
+                if (rollup == null) {
+                    throw new IllegalStateException("Rollup row missing for bucket: " + key);
+                }
+                applyDelta(rollup, all.get(key));
+                updated.add(rollup);
+            }
+        }));
+
+        rollupRepository.saveAll(updated);
+        log.debug("Flushed {} minute rollup(s) into {} bucket(s)", deltas.size(), updated.size());
+    }
+
+    /**
+     * Rows another node created meanwhile fail the whole batch, so retry key by key, skipping those.
+     */
+    private void createIfAbsent(String projectId, RollupGranularity granularity, List<RollupKey> keys) {
+        try {
+            rowCreator.createIfAbsent(projectId, granularity, keys);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Rollup rows of project: {} were created concurrently, creating them one by one", projectId);
+            for (RollupKey key : keys) {
+                try {
+                    rowCreator.createIfAbsent(projectId, granularity, List.of(key));
+                } catch (DataIntegrityViolationException ignored) {
+                    log.debug("Rollup row for bucket: {} was created concurrently", key);
+                }
+            }
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TimeseriesResponseDto getTimeseries(TimeseriesFilterDto filter) {
+        LocalDateTime to = filter.getTo() != null ? filter.getTo() : LocalDateTime.now();
+        LocalDateTime from = filter.getFrom() != null ? filter.getFrom() : to.minusHours(1);
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("Time series 'from' must be before 'to'");
+        }
+
+        RollupGranularity granularity = filter.getGranularity() != null
+                ? filter.getGranularity()
+                : pickGranularity(from, to);
+        long points = Duration.between(granularity.bucketStart(from), to).dividedBy(granularity.bucketSize()) + 1;
+        if (points > metricsProperties.getRollup().getMaxPoints()) {
+            throw new InvalidRequestException("Time series would have " + points + " points, maximum is "
+                    + metricsProperties.getRollup().getMaxPoints() + "; use a coarser granularity or a shorter range");
+        }
+
+        String endpoint = emptyToNull(filter.getEndpoint());
+        String method = emptyToNull(filter.getMethod());
+        List<EndpointMetricsRollup> rollups = rollupRepository.findForTimeseries(filter.getProjectId(), granularity,
+                granularity.bucketStart(from), to, endpoint, method);
+
+        Map<LocalDateTime, List<EndpointMetricsRollup>> byBucket = rollups.stream()
+                .collect(Collectors.groupingBy(EndpointMetricsRollup::getBucketStart, TreeMap::new,
+                        Collectors.toList()));
+
+        return TimeseriesResponseDto.builder()
+                .projectId(filter.getProjectId())
+                .endpoint(endpoint)
+                .method(method)
+                .granularity(granularity)
+                .from(from)
+                .to(to)
+                .points(byBucket.entrySet().stream()
+                        .map(bucket -> toPoint(bucket.getKey(), bucket.getValue()))
+                        .toList())
+                .build();
+    }
+
+    @Override
+    @Transactional
+    public void purgeExpired() {
+        MetricsProperties.Rollup config = metricsProperties.getRollup();
+        LocalDateTime now = LocalDateTime.now();
+        int minutes = rollupRepository.deleteByGranularityAndBucketStartBefore(
+                RollupGranularity.MINUTE, now.minus(config.getMinuteRetention()));
+        int hours = rollupRepository.deleteByGranularityAndBucketStartBefore(
+                RollupGranularity.HOUR, now.minus(config.getHourRetention()));
+        int days = rollupRepository.deleteByGranularityAndBucketStartBefore(
+                RollupGranularity.DAY, now.minus(config.getDayRetention()));
+        if (minutes + hours + days > 0) {
+            log.info("Purged expired rollups: {} minute, {} hour, {} day bucket(s)", minutes, hours, days);
+        }
+    }
+
+    /**
+     * Finest granularity that is still retained for the whole range and fits in the point limit.
+     */
+    private RollupGranularity pickGranularity(LocalDateTime from, LocalDateTime to) {
+        MetricsProperties.Rollup config = metricsProperties.getRollup();
+        Duration range = Duration.between(from, to);
+        LocalDateTime now = LocalDateTime.now();
+        if (!from.isBefore(now.minus(config.getMinuteRetention()))
+                && range.toMinutes() < config.getMaxPoints()) {
+            return RollupGranularity.MINUTE;
+        }
+        if (!from.isBefore(now.minus(config.getHourRetention()))
+                && range.toHours() < config.getMaxPoints()) {
+            return RollupGranularity.HOUR;
+        }
+        return RollupGranularity.DAY;
+    }
+
+    private TimeseriesPointDto toPoint(LocalDateTime bucketStart, List<EndpointMetricsRollup> rollups) {
+        long requestCount = 0;
+        long totalResponseTime = 0;
+        long successCount = 0;
+        long errorCount = 0;
+        Long min = null;
+        Long max = null;
+        LatencySketch latency = new LatencySketch();
+        for (EndpointMetricsRollup rollup : rollups) {
+            requestCount += rollup.getRequestCount();
+            totalResponseTime += rollup.getTotalResponseTime();
+            if (rollup.getStatusClass() == 2) {
+                successCount += rollup.getRequestCount();
+            } else if (rollup.getStatusClass() >= 4) {
+                errorCount += rollup.getRequestCount();
+            }
+            min = pick(min, rollup.getMinResponseTime(), Math::min);
+            max = pick(max, rollup.getMaxResponseTime(), Math::max);
+            latency.merge(LatencySketch.fromBytes(rollup.getLatencySketch()));
+        }
+
+        return TimeseriesPointDto.builder()
+                .bucketStart(bucketStart)
+                .requestCount(requestCount)
+                .successCount(successCount)
+                .errorCount(errorCount)
+                .errorRate(requestCount > 0 ? errorCount * 100.0 / requestCount : null)
+                .avgResponseTime(requestCount > 0 ? (double) totalResponseTime / requestCount : null)
+                .minResponseTime(min)
+                .maxResponseTime(max)
+                .p50ResponseTime(percentile(latency, 0.50, min, max))
+                .p95ResponseTime(percentile(latency, 0.95, min, max))
+                .p99ResponseTime(percentile(latency, 0.99, min, max))
+                .build();
+    }
+
+    private static Double percentile(LatencySketch latency, double quantile, Long min, Long max) {
+        Double value = latency.quantile(quantile);
+        if (value == null) {
+            return null;
+        }
+        if (min != null) {
+            value = Math.max(value, min);
+        }
+        if (max != null) {
+            value = Math.min(value, max);
+        }
+        return value;
+    }
+
+    private static void applyDelta(EndpointMetricsRollup rollup, MetricsDelta delta) {
+        rollup.setRequestCount(rollup.getRequestCount() + valueOrZero(delta.getCount()));
+        rollup.setTotalResponseTime(rollup.getTotalResponseTime() + valueOrZero(delta.getTotalResponseTime()));
+        rollup.setMinResponseTime(pick(rollup.getMinResponseTime(), delta.getMinResponseTime(), Math::min));
+        rollup.setMaxResponseTime(pick(rollup.getMaxResponseTime(), delta.getMaxResponseTime(), Math::max));
+        if (delta.getLatency() != null && !delta.getLatency().isEmpty()) {
+            rollup.setLatencySketch(LatencySketch.fromBytes(rollup.getLatencySketch())
+                    .merge(delta.getLatency())
+                    .toBytes());
+        }
+    }
+
+    private static Long pick(Long current, Long candidate, LongBinaryOperator operator) {
+        if (current == null) {
+            return candidate;
+        }
+        if (candidate == null) {
+            return current;
+        }
+        return operator.applyAsLong(current, candidate);
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isBlank() ? null : value;
+    }
+}
@@ -0,0 +1,90 @@
+-- Bring the schema of releases that let Hibernate auto-DDL create it up to date, or create it
+-- from scratch. Such databases are baselined at version 0 (spring.flyway.baseline-on-migrate),
+-- so this script runs on them too: every statement is a no-op where its change already exists.
+
+-- Tables as the first release created them
+CREATE TABLE IF NOT EXISTS api_requests (
+    id              uuid          NOT NULL,
+    project_id      varchar(100)  NOT NULL,
+    method          varchar(10)   NOT NULL,
+    path            varchar(500)  NOT NULL,
+    query_string    varchar(1000),
+    response_status integer,
+    response_body   text,
+    response_time   bigint        NOT NULL,
+    created_at      timestamp(6)  NOT NULL,
+    request_headers jsonb,
+    request_body    text,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_project_id ON api_requests (project_id);
+CREATE INDEX IF NOT EXISTS idx_path ON api_requests (path);
+CREATE INDEX IF NOT EXISTS idx_method ON api_requests (method);
+CREATE INDEX IF NOT EXISTS idx_created_at ON api_requests (created_at);
+CREATE INDEX IF NOT EXISTS idx_response_time ON api_requests (response_time);
+
+CREATE TABLE IF NOT EXISTS endpoint_health_metrics (
+    id                uuid         NOT NULL,
+    project_id        varchar(100) NOT NULL,
+    endpoint          varchar(500) NOT NULL,
+    avg_response_time float(53),
+    min_response_time bigint,
+    max_response_time bigint,
+    total_requests    bigint,
+    success_count     bigint,
+    error_count       bigint,
+    success_rate      float(53),
+    health_score      integer,
+    last_updated      timestamp(6) NOT NULL,
+    first_seen        timestamp(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_health_project_endpoint UNIQUE (project_id, endpoint)
+);
+
+CREATE INDEX IF NOT EXISTS idx_health_project_id ON endpoint_health_metrics (project_id);
+CREATE INDEX IF NOT EXISTS idx_health_score ON endpoint_health_metrics (health_score);
+CREATE INDEX IF NOT EXISTS idx_last_updated ON endpoint_health_metrics (last_updated);
+
+-- Added since: route templates, request phase timings and sample weights
+ALTER TABLE api_requests
+    ADD COLUMN IF NOT EXISTS route_template        varchar(500),
+    ADD COLUMN IF NOT EXISTS duration_us           bigint,
+    ADD COLUMN IF NOT EXISTS time_to_first_byte_us bigint,
+    ADD COLUMN IF NOT EXISTS handler_us            bigint,
+    ADD COLUMN IF NOT EXISTS capture_overhead_us   bigint,
+    ADD COLUMN IF NOT EXISTS response_write_us     bigint,
+    ADD COLUMN IF NOT EXISTS sample_weight         bigint;
+
+CREATE INDEX IF NOT EXISTS idx_project_route_template ON api_requests (project_id, route_template);
+
+-- Added since: running totals and latency percentiles
+ALTER TABLE endpoint_health_metrics
+    ADD COLUMN IF NOT EXISTS total_response_time bigint,
+    ADD COLUMN IF NOT EXISTS p50_response_time   float(53),
+    ADD COLUMN IF NOT EXISTS p90_response_time   float(53),
+    ADD COLUMN IF NOT EXISTS p95_response_time   float(53),
+    ADD COLUMN IF NOT EXISTS p99_response_time   float(53),
+    ADD COLUMN IF NOT EXISTS latency_sketch      bytea;
+
+-- Added since: per-minute, hour and day rollups
+CREATE TABLE IF NOT EXISTS endpoint_metrics_rollups (
+    id                  uuid         NOT NULL,
+    project_id          varchar(100) NOT NULL,
+    endpoint            varchar(500) NOT NULL,
+    method              varchar(10)  NOT NULL,
+    status_class        integer      NOT NULL,
+    granularity         varchar(10)  NOT NULL CHECK (granularity IN ('MINUTE', 'HOUR', 'DAY')),
+    bucket_start        timestamp(6) NOT NULL,
+    request_count       bigint       NOT NULL,
+    total_response_time bigint       NOT NULL,
+    min_response_time   bigint,
+    max_response_time   bigint,
+    latency_sketch      bytea,
+    last_updated        timestamp(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_rollup_bucket UNIQUE (project_id, granularity, bucket_start, endpoint, method, status_class)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rollup_project_bucket ON endpoint_metrics_rollups (project_id, granularity, bucket_start);
+CREATE INDEX IF NOT EXISTS idx_rollup_granularity_bucket ON endpoint_metrics_rollups (granularity, bucket_start);
@@ -0,0 +1,53 @@
+-- Range-partition api_requests by day on created_at, so expired days are dropped as
+-- whole tables instead of deleted row by row. Partitions are named api_requests_pYYYYMMDD
+-- after the last day they hold and are created ahead of time by ApiRequestPartitionMaintenance.
+-- Rows outside every daily partition land in api_requests_default.
+
+ALTER TABLE api_requests RENAME TO api_requests_legacy;
+-- Replaced by the (id, created_at) key of the partitioned table when the old rows are attached
+ALTER TABLE api_requests_legacy DROP CONSTRAINT IF EXISTS api_requests_pkey;
+
+CREATE TABLE api_requests (
+    id                    uuid          NOT NULL,
+    project_id            varchar(100)  NOT NULL,
+    method                varchar(10)   NOT NULL,
+    path                  varchar(500)  NOT NULL,
+    route_template        varchar(500),
+    query_string          varchar(1000),
+    response_status       integer,
+    response_body         text,
+    response_time         bigint        NOT NULL,
+    duration_us           bigint,
+    time_to_first_byte_us bigint,
+    handler_us            bigint,
+    capture_overhead_us   bigint,
+    response_write_us     bigint,
+    created_at            timestamp(6)  NOT NULL,
+    request_headers       jsonb,
+    request_body          text,
+    sample_weight         bigint,
+    -- The partition key has to be part of every unique constraint
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE INDEX idx_api_requests_project_created ON api_requests (project_id, created_at);
+CREATE INDEX idx_api_requests_project_route ON api_requests (project_id, route_template);
+
+-- Existing rows become a single partition covering everything up to the end of the day
+-- of the newest one. It is named after that day, so retention drops it once all of it expired.
+DO $$
+DECLARE
+    last_day date;
+BEGIN
+    SELECT max(created_at)::date INTO last_day FROM api_requests_legacy;
+    IF last_day IS NULL THEN
+        DROP TABLE api_requests_legacy;
+    ELSE
+        EXECUTE format('ALTER TABLE api_requests_legacy RENAME TO %I',
+                       'api_requests_p' || to_char(last_day, 'YYYYMMDD'));
+        EXECUTE format('ALTER TABLE api_requests ATTACH PARTITION %I FOR VALUES FROM (MINVALUE) TO (%L)',
+                       'api_requests_p' || to_char(last_day, 'YYYYMMDD'), last_day + 1);
+    END IF;
+END $$;
+
+CREATE TABLE api_requests_default PARTITION OF api_requests DEFAULT;
@@ -0,0 +1,38 @@
+-- Move request headers and bodies out of api_requests, so list, table and metric scans
+-- only read the narrow columns. api_request_payloads is partitioned like api_requests and
+-- shares its partition bounds: api_request_payloads_pYYYYMMDD holds the payloads of the
+-- requests in api_requests_pYYYYMMDD, and both are created and dropped together.
+
+CREATE TABLE api_request_payloads (
+    id              uuid          NOT NULL,
+    created_at      timestamp(6)  NOT NULL,
+    request_headers jsonb,
+    request_body    text,
+    response_body   text,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+DO $$
+DECLARE
+    part record;
+BEGIN
+    FOR part IN
+        SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) AS bound
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = 'api_requests'::regclass AND c.relkind = 'r'
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF api_request_payloads %s',
+                       replace(part.relname, 'api_requests_', 'api_request_payloads_'), part.bound);
+    END LOOP;
+END $$;
+
+INSERT INTO api_request_payloads (id, created_at, request_headers, request_body, response_body)
+SELECT id, created_at, request_headers, request_body, response_body
+FROM api_requests
+WHERE request_headers IS NOT NULL OR request_body IS NOT NULL OR response_body IS NOT NULL;
+
+ALTER TABLE api_requests
+    DROP COLUMN request_headers,
+    DROP COLUMN request_body,
+    DROP COLUMN response_body;
@@ -0,0 +1,7 @@
+-- Index for keyset pagination of the table view on (created_at, id) within a project. It
+-- replaces idx_api_requests_project_created, which is a prefix of it. Created on the partitioned
+-- table, so it is built on every partition and on those attached later.
+
+CREATE INDEX idx_api_requests_project_created_id ON api_requests (project_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_api_requests_project_created;
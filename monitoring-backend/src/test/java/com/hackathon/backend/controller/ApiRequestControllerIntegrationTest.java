@@ -1,19 +1,35 @@
 package com.hackathon.backend.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.backend.config.WireFormatConfig;
 import com.hackathon.backend.dto.request.CreateApiRequestDto;
+import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.exception.InvalidRequestException;
 import com.hackathon.backend.repository.ApiRequestRepository;
+import com.hackathon.backend.service.EndpointMetricsFlusher;
+import com.hackathon.backend.service.HealthMetricsService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.closeTo;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -25,12 +41,21 @@ class ApiRequestControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private ApiRequestController controller;
+
     @Autowired
     private ObjectMapper objectMapper;
 
     @Autowired
     private ApiRequestRepository repository;
 
+    @Autowired
+    private EndpointMetricsFlusher metricsFlusher;
+
+    @Autowired
+    private HealthMetricsService healthMetricsService;
+
     private static final String API_KEY = "hackathon-2025-super-secret-key";
 
     @BeforeEach
@@ -59,6 +84,91 @@ class ApiRequestControllerIntegrationTest {
                 .andExpect(jsonPath("$.path").value("/api/test"));
     }
 
+    @Test
+    void createRequest_withPhaseBreakdown_shouldStoreAndReturnIt() throws Exception {
+        CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path("/api/test")
+                .responseStatus(200)
+                .responseTime(12L)
+                .durationMicros(12_400L)
+                .timeToFirstByteMicros(11_900L)
+                .handlerMicros(11_000L)
+                .captureOverheadMicros(150L)
+                .responseWriteMicros(1_250L)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        mockMvc.perform(post("/api/requests")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.durationMicros").value(12_400))
+                .andExpect(jsonPath("$.timeToFirstByteMicros").value(11_900))
+                .andExpect(jsonPath("$.handlerMicros").value(11_000))
+                .andExpect(jsonPath("$.captureOverheadMicros").value(150))
+                .andExpect(jsonPath("$.responseWriteMicros").value(1_250));
+
+        dto.setHandlerMicros(-1L);
+        mockMvc.perform(post("/api/requests")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createRequest_withBodies_shouldReturnThemFromTheirOwnTable() throws Exception {
+        CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                .projectId("test-payloads")
+                .method("POST")
+                .path("/api/orders")
+                .responseStatus(201)
+                .responseTime(20L)
+                .requestBody("{\"item\":1}")
+                .responseBody("{\"id\":7}")
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        String created = mockMvc.perform(post("/api/requests")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = objectMapper.readTree(created).get("id").asText();
+
+        mockMvc.perform(get("/api/requests/{id}", id)
+                        .header("X-API-Key", API_KEY))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requestBody").value("{\"item\":1}"))
+                .andExpect(jsonPath("$.responseBody").value("{\"id\":7}"));
+
+        mockMvc.perform(get("/api/requests/table")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-payloads"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].responseBody").value("{\"id\":7}"));
+
+        mockMvc.perform(get("/api/requests/table")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-payloads")
+                        .param("includeBodies", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].path").value("/api/orders"))
+                .andExpect(jsonPath("$.content[0].responseBody").doesNotExist());
+
+        mockMvc.perform(get("/api/requests/search")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-payloads")
+                        .param("search", "orders"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.content[0].requestBody").value("{\"item\":1}"));
+    }
+
     @Test
     void createRequest_withoutApiKey_shouldReturn401() throws Exception {
         CreateApiRequestDto dto = CreateApiRequestDto.builder()
@@ -94,6 +204,117 @@ class ApiRequestControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    @Test
+    void createRequests_withMixedBatch_shouldReportPerItemFailures() throws Exception {
+        CreateApiRequestDto valid = CreateApiRequestDto.builder()
+                .projectId("test-batch")
+                .method("GET")
+                .path("/api/batch")
+                .responseStatus(200)
+                .responseTime(100L)
+                .createdAt(LocalDateTime.now())
+                .build();
+        CreateApiRequestDto invalid = CreateApiRequestDto.builder()
+                .projectId("test-batch")
+                .build();
+
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(valid, invalid, valid))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+    }
+
+    @Test
+    void createRequests_withNdjson_shouldReportMalformedLines() throws Exception {
+        CreateApiRequestDto valid = CreateApiRequestDto.builder()
+                .projectId("test-batch")
+                .method("POST")
+                .path("/api/batch")
+                .responseStatus(201)
+                .responseTime(50L)
+                .build();
+        String body = objectMapper.writeValueAsString(valid) + "\n{not json}\n"
+                + objectMapper.writeValueAsString(valid) + "\n";
+
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+    }
+
+    @Test
+    void createRequests_withNdjsonOverMaxBatchSize_shouldReturn400() throws Exception {
+        String line = objectMapper.writeValueAsString(CreateApiRequestDto.builder()
+                .projectId("test-batch")
+                .method("GET")
+                .path("/api/batch")
+                .responseTime(50L)
+                .build()) + "\n";
+
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(line.repeat(1001)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Batch size exceeds the maximum of 1000"));
+    }
+
+    @Test
+    void createRequestsNdjson_withEndlessStream_shouldStopReadingPastMaxBatchSize() {
+        byte[] line = "{}\n".getBytes(StandardCharsets.UTF_8);
+        InputStream endless = new InputStream() {
+            private long position;
+
+            @Override
+            public int read() {
+                return line[(int) (position++ % line.length)];
+            }
+        };
+
+        assertThatThrownBy(() -> controller.createRequestsNdjson(endless))
+                .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void createRequests_withGzippedSmile_shouldDecodeBatch() throws Exception {
+        CreateApiRequestDto valid = CreateApiRequestDto.builder()
+                .projectId("test-batch")
+                .method("GET")
+                .path("/api/batch")
+                .responseStatus(200)
+                .responseTime(100L)
+                .createdAt(LocalDateTime.now())
+                .build();
+        byte[] smile = Jackson2ObjectMapperBuilder.smile().build().writeValueAsBytes(List.of(valid, valid));
+
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .contentType(WireFormatConfig.SMILE_VALUE)
+                        .content(gzip(smile)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.accepted").value(2));
+    }
+
+    @Test
+    void createRequests_withUnsupportedContentEncoding_shouldReturn415() throws Exception {
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .header(HttpHeaders.CONTENT_ENCODING, "zstd")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(new byte[]{1, 2, 3}))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
     @Test
     void getListView_shouldReturnLatestRequests() throws Exception {
         CreateApiRequestDto dto = CreateApiRequestDto.builder()
@@ -119,6 +340,229 @@ class ApiRequestControllerIntegrationTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    void createRequest_shouldUpdateEndpointHealthMetrics() throws Exception {
+        for (long responseTime : new long[]{100L, 300L}) {
+            CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                    .projectId("test-metrics")
+                    .method("GET")
+                    .path("/api/metrics-test")
+                    .responseStatus(200)
+                    .responseTime(responseTime)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+
+            mockMvc.perform(post("/api/requests")
+                    .header("X-API-Key", API_KEY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto)));
+        }
+
+        // Read before the scheduled flush: pending in-memory deltas are merged in
+        mockMvc.perform(get("/api/health-metrics/endpoint")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-metrics")
+                        .param("endpoint", "/api/metrics-test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRequests").value(2))
+                .andExpect(jsonPath("$.avgResponseTime").value(200.0))
+                .andExpect(jsonPath("$.minResponseTime").value(100))
+                .andExpect(jsonPath("$.maxResponseTime").value(300))
+                .andExpect(jsonPath("$.p99ResponseTime").value(closeTo(300.0, 3.0)));
+    }
+
+    @Test
+    void createRequests_withSampleRate_shouldReweightEndpointHealthMetrics() throws Exception {
+        List<CreateApiRequestDto> batch = List.of(
+                CreateApiRequestDto.builder()
+                        .projectId("test-sampled").method("GET").path("/api/sampled")
+                        .responseStatus(200).responseTime(100L).sampleRate(0.25)
+                        .createdAt(LocalDateTime.now()).build(),
+                CreateApiRequestDto.builder()
+                        .projectId("test-sampled").method("GET").path("/api/sampled")
+                        .responseStatus(500).responseTime(300L)
+                        .createdAt(LocalDateTime.now()).build());
+
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accepted").value(2));
+
+        mockMvc.perform(get("/api/health-metrics/endpoint")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-sampled")
+                        .param("endpoint", "/api/sampled"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRequests").value(5))
+                .andExpect(jsonPath("$.successCount").value(4))
+                .andExpect(jsonPath("$.errorCount").value(1))
+                .andExpect(jsonPath("$.avgResponseTime").value(140.0));
+
+        // Rebuilding from the stored rows applies the same weights
+        metricsFlusher.flush();
+        healthMetricsService.updateMetricsForEndpoint("test-sampled", "/api/sampled");
+
+        mockMvc.perform(get("/api/health-metrics/endpoint")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-sampled")
+                        .param("endpoint", "/api/sampled"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRequests").value(5))
+                .andExpect(jsonPath("$.avgResponseTime").value(140.0))
+                .andExpect(jsonPath("$.p50ResponseTime").value(closeTo(100.0, 1.0)));
+    }
+
+    @Test
+    void createRequest_withSampleRateAboveOne_shouldReturn400() throws Exception {
+        CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path("/api/test")
+                .responseTime(100L)
+                .sampleRate(1.5)
+                .build();
+
+        mockMvc.perform(post("/api/requests")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createRequest_withRouteTemplate_shouldAggregateOnTemplate() throws Exception {
+        for (String id : new String[]{"1", "2"}) {
+            CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                    .projectId("test-route")
+                    .method("GET")
+                    .path("/api/items/" + id)
+                    .routeTemplate("/api/items/{id}")
+                    .responseStatus(200)
+                    .responseTime(100L)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+
+            mockMvc.perform(post("/api/requests")
+                    .header("X-API-Key", API_KEY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto)));
+        }
+
+        mockMvc.perform(get("/api/health-metrics/list")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-route"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].endpoint").value("/api/items/{id}"))
+                .andExpect(jsonPath("$[0].totalRequests").value(2));
+
+        mockMvc.perform(get("/api/requests/list")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-route"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].routeTemplate").value("/api/items/{id}"));
+    }
+
+    @Test
+    void createRequest_withBlankRouteTemplate_shouldAggregateOnPath() throws Exception {
+        repository.save(ApiRequest.builder()
+                .projectId("test-blank-route")
+                .method("GET")
+                .path("/api/blank")
+                .routeTemplate("")
+                .responseStatus(200)
+                .responseTime(100L)
+                .createdAt(LocalDateTime.now().minusMinutes(1))
+                .build());
+        CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                .projectId("test-blank-route")
+                .method("GET")
+                .path("/api/blank")
+                .routeTemplate("  ")
+                .responseStatus(200)
+                .responseTime(100L)
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        mockMvc.perform(post("/api/requests")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.routeTemplate").doesNotExist());
+        metricsFlusher.recalculate("test-blank-route");
+
+        mockMvc.perform(get("/api/health-metrics/list")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-blank-route"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].endpoint").value("/api/blank"))
+                .andExpect(jsonPath("$[0].totalRequests").value(2));
+
+        mockMvc.perform(get("/api/requests/list")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-blank-route"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void getTimeseries_shouldServeFlushedRollups() throws Exception {
+        LocalDateTime minute = LocalDateTime.now().withSecond(0).withNano(0).minusMinutes(5);
+        int[][] requests = {{200, 100}, {200, 300}, {503, 50}};
+        for (int[] request : requests) {
+            CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                    .projectId("test-timeseries")
+                    .method("GET")
+                    .path("/api/series")
+                    .responseStatus(request[0])
+                    .responseTime((long) request[1])
+                    .createdAt(minute.plusSeconds(10))
+                    .build();
+
+            mockMvc.perform(post("/api/requests")
+                    .header("X-API-Key", API_KEY)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(dto)));
+        }
+        metricsFlusher.flush();
+
+        mockMvc.perform(get("/api/health-metrics/timeseries")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-timeseries")
+                        .param("endpoint", "/api/series")
+                        .param("from", minute.minusMinutes(10).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.granularity").value("MINUTE"))
+                .andExpect(jsonPath("$.points.length()").value(1))
+                .andExpect(jsonPath("$.points[0].requestCount").value(3))
+                .andExpect(jsonPath("$.points[0].errorCount").value(1))
+                .andExpect(jsonPath("$.points[0].minResponseTime").value(50))
+                .andExpect(jsonPath("$.points[0].maxResponseTime").value(300));
+
+        mockMvc.perform(get("/api/health-metrics/timeseries")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-timeseries")
+                        .param("granularity", "DAY")
+                        .param("from", minute.minusDays(2).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.points[-1].requestCount").value(3));
+    }
+
+    @Test
+    void getTimeseries_withInvertedRange_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/health-metrics/timeseries")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-timeseries")
+                        .param("from", "2025-01-02T00:00:00")
+                        .param("to", "2025-01-01T00:00:00"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void getTableView_shouldReturnPagedResults() throws Exception {
         mockMvc.perform(get("/api/requests/table")
@@ -131,4 +575,97 @@ class ApiRequestControllerIntegrationTest {
                 .andExpect(jsonPath("$.page").value(0))
                 .andExpect(jsonPath("$.size").value(10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTableSlice_shouldPageByCursorWithoutGapsOrRepeats() throws Exception {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (LocalDateTime createdAt : List.of(now, now, now.minusMinutes(1))) {
+            CreateApiRequestDto dto = CreateApiRequestDto.builder()
+                    .projectId("test-cursor")
+                    .method("GET")
+                    .path("/api/cursor")
+                    .responseStatus(200)
+                    .responseTime(5L)
+                    .createdAt(createdAt)
+                    .build();
+            mockMvc.perform(post("/api/requests")
+                            .header("X-API-Key", API_KEY)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(dto)))
+                    .andExpect(status().isCreated());
+        }
+
+        String first = mockMvc.perform(get("/api/requests/table/cursor")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-cursor")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist())
+                .andReturn().getResponse().getContentAsString();
+        String cursor = objectMapper.readTree(first).get("nextCursor").asText();
+
+        mockMvc.perform(get("/api/requests/table/cursor")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-cursor")
+                        .param("size", "2")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].createdAt").value(now.minusMinutes(1).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void getTableSlice_withInvalidCursor_shouldReturn400() throws Exception {
+        mockMvc.perform(get("/api/requests/table/cursor")
+                        .header("X-API-Key", API_KEY)
+                        .param("projectId", "test-cursor")
+                        .param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createRequests_withUnsupportedContentType_shouldReturn415() throws Exception {
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.TEXT_PLAIN)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void createRequests_withUnreadableBody_shouldReturn400() throws Exception {
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{"))
+                .andExpect(status().isBadRequest());
+
+        byte[] corrupt = gzip("[]".getBytes());
+        corrupt[corrupt.length / 2] ^= 0x5a;
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corrupt))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("not gzip at all".getBytes()))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+}
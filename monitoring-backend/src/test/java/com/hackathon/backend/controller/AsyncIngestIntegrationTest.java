@@ -0,0 +1,102 @@
+package com.hackathon.backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.backend.dto.request.CreateApiRequestDto;
+import com.hackathon.backend.repository.ApiRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"ingest.queue.enabled=true", "ingest.queue.capacity=2"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AsyncIngestIntegrationTest {
+
+    private static final String API_KEY = "hackathon-2025-super-secret-key";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApiRequestRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void createRequest_shouldAnswer202AndStoreInBackground() throws Exception {
+        mockMvc.perform(post("/api/requests")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto("/api/async"))))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string(""));
+
+        awaitStored(1);
+        assertThat(repository.findAll()).extracting("path").containsExactly("/api/async");
+    }
+
+    @Test
+    void createRequests_shouldQueueValidItemsAndReportInvalidOnes() throws Exception {
+        CreateApiRequestDto invalid = CreateApiRequestDto.builder().projectId("test-async").method("GET").build();
+
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(dto("/api/a"), invalid))))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.accepted").value(1))
+                .andExpect(jsonPath("$.errors[0].index").value(1));
+
+        awaitStored(1);
+    }
+
+    @Test
+    void createRequests_whenQueueCannotTakeBatch_shouldAnswer429WithRetryAfter() throws Exception {
+        mockMvc.perform(post("/api/requests/batch")
+                        .header("X-API-Key", API_KEY)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(dto("/a"), dto("/b"), dto("/c")))))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+        assertThat(repository.count()).isZero();
+    }
+
+    private void awaitStored(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (repository.count() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(repository.count()).isEqualTo(expected);
+    }
+
+    private static CreateApiRequestDto dto(String path) {
+        return CreateApiRequestDto.builder()
+                .projectId("test-async")
+                .method("GET")
+                .path(path)
+                .responseStatus(200)
+                .responseTime(10L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.hackathon.backend.filter;
+
+import com.hackathon.backend.config.IngestProperties;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GzipRequestFilterTest {
+
+    private final GzipRequestFilter filter = new GzipRequestFilter(new IngestProperties());
+
+    @Test
+    void setReadListener_shouldSignalTheWholeInflatedBody() throws Exception {
+        ServletInputStream input = filterAndGetInputStream(gzip("{\"path\":\"/api/users\"}"));
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                byte[] buffer = new byte[8];
+                int n;
+                while (input.isReady() && (n = input.read(buffer)) != -1) {
+                    body.write(buffer, 0, n);
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("end");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertThat(events).containsExactly("data", "end");
+        assertThat(body.toString(StandardCharsets.UTF_8)).isEqualTo("{\"path\":\"/api/users\"}");
+    }
+
+    @Test
+    void setReadListener_withCorruptBody_shouldSignalError() throws Exception {
+        byte[] corrupt = gzip("{\"path\":\"/api/users\"}");
+        corrupt[corrupt.length - 5] ^= 0x7f;
+        ServletInputStream input = filterAndGetInputStream(corrupt);
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                while (input.read() != -1) {
+                    // drain
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("end");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertThat(events).containsExactly("data", "error");
+    }
+
+    private ServletInputStream filterAndGetInputStream(byte[] body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/requests");
+        request.addHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        request.setContent(body);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletRequest filtered = chain.getRequest();
+        assertThat(filtered).isNotSameAs(request);
+        return filtered.getInputStream();
+    }
+
+    private static byte[] gzip(String body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
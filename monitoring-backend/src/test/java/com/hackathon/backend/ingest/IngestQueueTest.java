@@ -0,0 +1,75 @@
+package com.hackathon.backend.ingest;
+
+import com.hackathon.backend.config.IngestProperties;
+import com.hackathon.backend.dto.request.CreateApiRequestDto;
+import com.hackathon.backend.exception.IngestQueueFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IngestQueueTest {
+
+    private final IngestProperties properties = new IngestProperties();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void offer_shouldAdmitWholeBatchesUpToCapacity() {
+        properties.getQueue().setCapacity(3);
+        properties.getQueue().setRetryAfter(Duration.ofSeconds(2));
+        IngestQueue queue = new IngestQueue(properties, registry);
+
+        queue.offer(List.of(dto("/a"), dto("/b")));
+
+        assertThatThrownBy(() -> queue.offer(List.of(dto("/c"), dto("/d"))))
+                .isInstanceOf(IngestQueueFullException.class)
+                .extracting("retryAfter").isEqualTo(Duration.ofSeconds(2));
+        queue.offer(dto("/c"));
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(registry.get("ingest.queue.depth").gauge().value()).isEqualTo(3.0);
+        assertThat(registry.get("ingest.queue.rejected").counter().count()).isEqualTo(2.0);
+    }
+
+    @Test
+    void poll_shouldDrainInOrderUpToMaxAndFreeCapacity() throws InterruptedException {
+        properties.getQueue().setCapacity(3);
+        IngestQueue queue = new IngestQueue(properties, registry);
+        queue.offer(List.of(dto("/a"), dto("/b"), dto("/c")));
+
+        List<QueuedRequest> batch = queue.poll(2, 10);
+
+        assertThat(batch).extracting(request -> request.dto().getPath()).containsExactly("/a", "/b");
+        assertThat(queue.size()).isEqualTo(1);
+        queue.offer(dto("/d"));
+        assertThat(queue.poll(10, 10)).extracting(request -> request.dto().getPath()).containsExactly("/c", "/d");
+        assertThat(queue.poll(10, 10)).isEmpty();
+    }
+
+    @Test
+    void offer_afterClose_shouldRefuseButKeepQueuedRequests() throws InterruptedException {
+        IngestQueue queue = new IngestQueue(properties, registry);
+        queue.offer(dto("/a"));
+
+        queue.close();
+
+        assertThatThrownBy(() -> queue.offer(dto("/b")))
+                .isInstanceOf(IngestQueueFullException.class)
+                .hasMessageContaining("shutting down");
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.poll(10, 10)).extracting(request -> request.dto().getPath()).containsExactly("/a");
+        assertThat(registry.get("ingest.queue.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    private static CreateApiRequestDto dto(String path) {
+        return CreateApiRequestDto.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path(path)
+                .responseTime(10L)
+                .build();
+    }
+}
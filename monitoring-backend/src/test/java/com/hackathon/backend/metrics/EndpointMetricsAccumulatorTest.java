@@ -0,0 +1,187 @@
+package com.hackathon.backend.metrics;
+
+import com.hackathon.backend.entity.ApiRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class EndpointMetricsAccumulatorTest {
+
+    private static final EndpointKey USERS = new EndpointKey("test-project", "/api/users");
+
+    private final EndpointMetricsAccumulator accumulator = new EndpointMetricsAccumulator();
+
+    @Test
+    void drain_shouldReturnMergedDeltaPerEndpointAndReset() {
+        LocalDateTime first = LocalDateTime.of(2025, 1, 1, 10, 0, 0, 123_456_000);
+        accumulator.record(createApiRequest("/api/users", 200, 100L, first.plusMinutes(1)));
+        accumulator.record(createApiRequest("/api/users", 500, 300L, first));
+        accumulator.record(createApiRequest("/api/orders", 201, 50L, first));
+
+        Map<EndpointKey, MetricsDelta> deltas = accumulator.drain();
+
+        assertThat(deltas).hasSize(2);
+        MetricsDelta users = deltas.get(USERS);
+        assertThat(users.getCount()).isEqualTo(2L);
+        assertThat(users.getTotalResponseTime()).isEqualTo(400L);
+        assertThat(users.getMinResponseTime()).isEqualTo(100L);
+        assertThat(users.getMaxResponseTime()).isEqualTo(300L);
+        assertThat(users.getSuccessCount()).isEqualTo(1L);
+        assertThat(users.getErrorCount()).isEqualTo(1L);
+        assertThat(users.getFirstSeen()).isEqualTo(first);
+        assertThat(accumulator.drain()).isEmpty();
+    }
+
+    @Test
+    void drain_shouldRemoveCellsIdleForAnInterval() {
+        accumulator.record(createApiRequest("/api/users", 200, 100L, LocalDateTime.now()));
+        accumulator.drain();
+
+        assertThat(accumulator.drain()).isEmpty();
+        assertThat(accumulator.cellCount()).isZero();
+
+        accumulator.record(createApiRequest("/api/users", 200, 100L, LocalDateTime.now()));
+        assertThat(accumulator.drain().get(USERS).getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void drain_shouldKeepLatencyBucketsFarApart() {
+        accumulator.record(createApiRequest("/api/users", 200, 0L, LocalDateTime.now()));
+        accumulator.record(createApiRequest("/api/users", 200, 100L, LocalDateTime.now()));
+        accumulator.record(createApiRequest("/api/users", 200, 600_000L, LocalDateTime.now()));
+
+        LatencySketch latency = accumulator.drain().get(USERS).getLatency();
+
+        assertThat(latency.count()).isEqualTo(3L);
+        assertThat(latency.quantile(0.0)).isEqualTo(0.0);
+        assertThat(latency.quantile(0.5)).isCloseTo(100.0, within(1.0));
+        assertThat(latency.quantile(1.0)).isCloseTo(600_000.0, within(6_000.0));
+    }
+
+    @Test
+    void record_shouldCountSampledRequestsByTheirWeight() {
+        ApiRequest sampled = createApiRequest("/api/users", 200, 100L, LocalDateTime.now());
+        sampled.setSampleWeight(10L);
+        accumulator.record(sampled);
+        accumulator.record(createApiRequest("/api/users", 500, 1000L, LocalDateTime.now()));
+
+        MetricsDelta users = accumulator.drain().get(USERS);
+
+        assertThat(users.getCount()).isEqualTo(11L);
+        assertThat(users.getTotalResponseTime()).isEqualTo(2000L);
+        assertThat(users.getSuccessCount()).isEqualTo(10L);
+        assertThat(users.getErrorCount()).isEqualTo(1L);
+        assertThat(users.getLatency().count()).isEqualTo(11L);
+        assertThat(users.getLatency().quantile(0.9)).isCloseTo(100.0, within(1.0));
+    }
+
+    @Test
+    void record_shouldGroupByRouteTemplateWhenPresent() {
+        ApiRequest first = createApiRequest("/api/users/1", 200, 100L, LocalDateTime.now());
+        first.setRouteTemplate("/api/users/{id}");
+        ApiRequest second = createApiRequest("/api/users/2", 200, 100L, LocalDateTime.now());
+        second.setRouteTemplate("/api/users/{id}");
+        accumulator.record(first);
+        accumulator.record(second);
+        accumulator.record(createApiRequest("/api/users/3", 200, 100L, LocalDateTime.now()));
+
+        Map<EndpointKey, MetricsDelta> deltas = accumulator.drain();
+
+        assertThat(deltas.get(new EndpointKey("test-project", "/api/users/{id}")).getCount()).isEqualTo(2L);
+        assertThat(deltas.get(new EndpointKey("test-project", "/api/users/3")).getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void pending_shouldNotResetCells() {
+        accumulator.record(createApiRequest("/api/users", 200, 100L, LocalDateTime.now()));
+
+        assertThat(accumulator.pending("test-project")).containsOnlyKeys("/api/users");
+        assertThat(accumulator.pending("other-project")).isEmpty();
+        assertThat(accumulator.drain().get(USERS).getCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void restore_shouldAddDeltasBackForNextDrain() {
+        accumulator.record(createApiRequest("/api/users", 200, 100L, LocalDateTime.now()));
+        Map<EndpointKey, MetricsDelta> failed = accumulator.drain();
+        accumulator.record(createApiRequest("/api/users", 200, 20L, LocalDateTime.now()));
+
+        accumulator.restore(failed);
+
+        MetricsDelta users = accumulator.drain().get(USERS);
+        assertThat(users.getCount()).isEqualTo(2L);
+        assertThat(users.getMinResponseTime()).isEqualTo(20L);
+        assertThat(users.getMaxResponseTime()).isEqualTo(100L);
+    }
+
+    @Test
+    void discard_shouldDropOnlyThatProject() {
+        accumulator.record(createApiRequest("/api/users", 200, 100L, LocalDateTime.now()));
+        ApiRequest other = createApiRequest("/api/users", 200, 100L, LocalDateTime.now());
+        other.setProjectId("other-project");
+        accumulator.record(other);
+
+        accumulator.discard("test-project");
+
+        assertThat(accumulator.drain()).containsOnlyKeys(new EndpointKey("other-project", "/api/users"));
+    }
+
+    @Test
+    void concurrentRecordAndDrain_shouldNotLoseRequests() throws Exception {
+        int threads = 4;
+        int perThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            producers.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < perThread; i++) {
+                    accumulator.record(createApiRequest("/api/users", 200, 10L, LocalDateTime.now()));
+                }
+                return null;
+            }));
+        }
+
+        MetricsDelta total = new MetricsDelta(0L, 0L, null, null, 0L, 0L, null);
+        start.countDown();
+        while (producers.stream().anyMatch(f -> !f.isDone())) {
+            MetricsDelta drained = accumulator.drain().get(USERS);
+            if (drained != null) {
+                total = total.merge(drained);
+            }
+        }
+        MetricsDelta rest = accumulator.drain().get(USERS);
+        if (rest != null) {
+            total = total.merge(rest);
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(total.getCount()).isEqualTo((long) threads * perThread);
+        assertThat(total.getTotalResponseTime()).isEqualTo(10L * threads * perThread);
+        assertThat(total.getSuccessCount()).isEqualTo((long) threads * perThread);
+    }
+
+    private static ApiRequest createApiRequest(String path, int status, long responseTime, LocalDateTime createdAt) {
+        return ApiRequest.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path(path)
+                .responseStatus(status)
+                .responseTime(responseTime)
+                .createdAt(createdAt)
+                .build();
+    }
+}
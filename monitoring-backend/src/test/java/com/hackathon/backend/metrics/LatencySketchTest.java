@@ -0,0 +1,80 @@
+package com.hackathon.backend.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencySketchTest {
+
+    @Test
+    void quantile_shouldStayWithinRelativeAccuracy() {
+        Random random = new Random(42);
+        long[] values = new long[10_000];
+        LatencySketch sketch = new LatencySketch();
+        for (int i = 0; i < values.length; i++) {
+            // Long tailed, like real response times
+            values[i] = 1 + (long) Math.exp(random.nextGaussian() * 1.5 + 4);
+            sketch.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double q : new double[]{0.5, 0.9, 0.95, 0.99}) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            assertThat(sketch.quantile(q)).isCloseTo(exact, within(exact * LatencySketch.RELATIVE_ACCURACY + 1e-9));
+        }
+        assertThat(sketch.count()).isEqualTo(values.length);
+    }
+
+    @Test
+    void merge_shouldEqualSketchOfAllValues() {
+        LatencySketch all = new LatencySketch();
+        LatencySketch first = new LatencySketch();
+        LatencySketch second = new LatencySketch();
+        for (long value = 0; value < 5_000; value += 7) {
+            all.record(value);
+            (value % 2 == 0 ? first : second).record(value);
+        }
+
+        LatencySketch merged = new LatencySketch().merge(second).merge(first);
+
+        assertThat(merged.toBytes()).isEqualTo(all.toBytes());
+        assertThat(merged.quantile(0.99)).isEqualTo(all.quantile(0.99));
+    }
+
+    @Test
+    void toBytes_shouldRoundTrip() {
+        LatencySketch sketch = new LatencySketch();
+        sketch.record(0);
+        sketch.record(3);
+        sketch.record(250);
+        sketch.record(Long.MAX_VALUE);
+
+        LatencySketch restored = LatencySketch.fromBytes(sketch.toBytes());
+
+        assertThat(restored.count()).isEqualTo(4);
+        assertThat(restored.toBytes()).isEqualTo(sketch.toBytes());
+        assertThat(restored.quantile(0.0)).isEqualTo(0.0);
+        assertThat(restored.quantile(0.5)).isCloseTo(3.0, within(0.03));
+    }
+
+    @Test
+    void emptySketch_shouldHaveNoQuantilesAndCompactEncoding() {
+        LatencySketch sketch = LatencySketch.fromBytes(null);
+
+        assertThat(sketch.isEmpty()).isTrue();
+        assertThat(sketch.quantile(0.5)).isNull();
+        assertThat(sketch.toBytes()).hasSize(2);
+    }
+
+    @Test
+    void fromBytes_withUnknownVersion_shouldThrow() {
+        assertThatThrownBy(() -> LatencySketch.fromBytes(new byte[]{9, 0}))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported latency sketch format");
+    }
+}
@@ -0,0 +1,62 @@
+package com.hackathon.backend.metrics;
+
+import com.hackathon.backend.entity.ApiRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RollupAccumulatorTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2025, 1, 1, 10, 0);
+
+    private final RollupAccumulator accumulator = new RollupAccumulator();
+
+    @Test
+    void drain_shouldMergeRequestsOfTheSameMinuteAndRemoveThem() {
+        accumulator.record(createApiRequest(200, 100L, MINUTE.plusSeconds(5)));
+        accumulator.record(createApiRequest(201, 600_000L, MINUTE.plusSeconds(50)));
+        accumulator.record(createApiRequest(200, 100L, MINUTE.plusMinutes(1)));
+
+        Map<RollupKey, MetricsDelta> deltas = accumulator.drain();
+
+        assertThat(deltas).hasSize(2);
+        MetricsDelta first = deltas.get(RollupKey.minuteOf(createApiRequest(200, 0L, MINUTE)));
+        assertThat(first.getCount()).isEqualTo(2L);
+        assertThat(first.getTotalResponseTime()).isEqualTo(600_100L);
+        assertThat(first.getMinResponseTime()).isEqualTo(100L);
+        assertThat(first.getMaxResponseTime()).isEqualTo(600_000L);
+        assertThat(first.getFirstSeen()).isEqualTo(MINUTE.plusSeconds(5));
+        assertThat(first.getLatency().count()).isEqualTo(2L);
+        assertThat(first.getLatency().quantile(1.0)).isCloseTo(600_000.0, within(6_000.0));
+        assertThat(accumulator.drain()).isEmpty();
+    }
+
+    @Test
+    void restore_shouldAddDeltasBackForNextDrain() {
+        accumulator.record(createApiRequest(200, 100L, MINUTE));
+        Map<RollupKey, MetricsDelta> failed = accumulator.drain();
+        accumulator.record(createApiRequest(200, 20L, MINUTE));
+
+        accumulator.restore(failed);
+
+        MetricsDelta delta = accumulator.drain().values().iterator().next();
+        assertThat(delta.getCount()).isEqualTo(2L);
+        assertThat(delta.getMinResponseTime()).isEqualTo(20L);
+        assertThat(delta.getLatency().count()).isEqualTo(2L);
+    }
+
+    private static ApiRequest createApiRequest(int status, long responseTime, LocalDateTime createdAt) {
+        return ApiRequest.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path("/api/users")
+                .responseStatus(status)
+                .responseTime(responseTime)
+                .createdAt(createdAt)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.hackathon.backend.migration;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations on a real Postgres, which H2 cannot stand in for since they partition tables.
+ */
+class FlywayMigrationTest {
+
+    private static EmbeddedPostgres postgres;
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeAll
+    static void startPostgres() throws IOException {
+        postgres = EmbeddedPostgres.start();
+    }
+
+    @AfterAll
+    static void stopPostgres() throws IOException {
+        postgres.close();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dataSource = postgres.getPostgresDatabase();
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP SCHEMA public CASCADE");
+        jdbc.execute("CREATE SCHEMA public");
+    }
+
+    @Test
+    void migrate_emptyDatabase_shouldCreateTheSchema() {
+        Flyway flyway = flyway();
+
+        flyway.migrate();
+
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("4");
+        assertThat(isPartitioned("api_requests")).isTrue();
+        assertThat(isPartitioned("api_request_payloads")).isTrue();
+        assertThat(columnsOf("endpoint_metrics_rollups")).contains("latency_sketch", "bucket_start");
+    }
+
+    @Test
+    void migrate_fromReleasedSchema_shouldBringItUpToDateAndKeepTheRows() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource("db/released-schema.sql"));
+        }
+        jdbc.update("""
+                INSERT INTO api_requests (id, project_id, method, path, response_status, response_time,
+                        created_at, request_headers, request_body)
+                VALUES (gen_random_uuid(), 'released', 'POST', '/api/orders', 201, 42,
+                        TIMESTAMP '2025-01-15 10:00:00', '{"Accept": "application/json"}', '{"id": 1}')
+                """);
+        jdbc.update("""
+                INSERT INTO endpoint_health_metrics (id, project_id, endpoint, avg_response_time,
+                        total_requests, success_count, error_count, last_updated)
+                VALUES (gen_random_uuid(), 'released', '/api/orders', 42.0, 1, 1, 0, now())
+                """);
+        Flyway flyway = flyway();
+
+        flyway.migrate();
+
+        assertThat(jdbc.queryForObject("SELECT min(version) FROM flyway_schema_history", String.class))
+                .isEqualTo("0");
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("4");
+        assertThat(columnsOf("api_requests")).contains("route_template", "duration_us", "time_to_first_byte_us",
+                "handler_us", "capture_overhead_us", "response_write_us", "sample_weight");
+        assertThat(columnsOf("api_requests")).doesNotContain("request_body", "response_body", "request_headers");
+        assertThat(columnsOf("endpoint_health_metrics")).contains("total_response_time", "p50_response_time",
+                "p90_response_time", "p95_response_time", "p99_response_time", "latency_sketch");
+        assertThat(columnsOf("endpoint_metrics_rollups")).isNotEmpty();
+
+        assertThat(isPartitioned("api_requests")).isTrue();
+        assertThat(jdbc.queryForList("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = 'api_requests'::regclass
+                """, String.class))
+                .containsExactlyInAnyOrder("api_requests_p20250115", "api_requests_default");
+        assertThat(jdbc.queryForObject("SELECT response_time FROM api_requests WHERE project_id = 'released'",
+                Long.class)).isEqualTo(42L);
+        assertThat(jdbc.queryForObject("SELECT request_body FROM api_request_payloads", String.class))
+                .isEqualTo("{\"id\": 1}");
+        assertThat(jdbc.queryForObject("SELECT total_requests FROM endpoint_health_metrics", Long.class))
+                .isEqualTo(1L);
+    }
+
+    /**
+     * Configured like {@code spring.flyway} in application.yml.
+     */
+    private Flyway flyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .load();
+    }
+
+    private boolean isPartitioned(String table) {
+        return Boolean.TRUE.equals(jdbc.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = ?::regclass)",
+                Boolean.class, table));
+    }
+
+    private List<String> columnsOf(String table) {
+        return jdbc.queryForList(
+                "SELECT column_name FROM information_schema.columns WHERE table_schema = 'public' AND table_name = ?",
+                String.class, table);
+    }
+}
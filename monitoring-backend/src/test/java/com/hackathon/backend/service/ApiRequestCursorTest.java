@@ -0,0 +1,36 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApiRequestCursorTest {
+
+    @Test
+    void encode_shouldRoundTripWithMicroseconds() {
+        ApiRequestCursor cursor = new ApiRequestCursor(
+                LocalDateTime.of(2025, 3, 10, 12, 30, 15, 123_456_000), UUID.randomUUID());
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(ApiRequestCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_withMalformedToken_shouldFail() {
+        String noSeparator = Base64.getUrlEncoder().encodeToString("2025-03-10T12:30".getBytes(StandardCharsets.UTF_8));
+        String badId = Base64.getUrlEncoder().encodeToString("2025-03-10T12:30|x".getBytes(StandardCharsets.UTF_8));
+
+        assertThatThrownBy(() -> ApiRequestCursor.decode("%%%")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> ApiRequestCursor.decode(noSeparator)).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> ApiRequestCursor.decode(badId)).isInstanceOf(InvalidRequestException.class);
+    }
+}
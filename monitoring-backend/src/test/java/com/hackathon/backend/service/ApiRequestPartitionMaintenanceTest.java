@@ -0,0 +1,52 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.config.PartitionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ApiRequestPartitionMaintenanceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 10);
+
+    @Test
+    void partitionsToCreate_shouldFillMissingDaysFromToday() {
+        Set<LocalDate> existing = Set.of(TODAY.minusDays(1), TODAY, TODAY.plusDays(2));
+
+        assertThat(ApiRequestPartitionMaintenance.partitionsToCreate(existing, TODAY, 4))
+                .containsExactly(TODAY.plusDays(1), TODAY.plusDays(3));
+    }
+
+    @Test
+    void partitionsToDrop_shouldOnlyDropDaysEntirelyBeforeCutoff() {
+        Set<LocalDate> existing = Set.of(TODAY.minusDays(31), TODAY.minusDays(30), TODAY.minusDays(29), TODAY);
+        LocalDateTime cutoff = TODAY.atTime(12, 0).minusDays(30);
+
+        assertThat(ApiRequestPartitionMaintenance.partitionsToDrop(existing, cutoff))
+                .containsExactly(TODAY.minusDays(31));
+        assertThat(ApiRequestPartitionMaintenance.partitionsToDrop(existing, TODAY.minusDays(29).atStartOfDay()))
+                .containsExactlyInAnyOrder(TODAY.minusDays(31), TODAY.minusDays(30));
+    }
+
+    @Test
+    void partitionName_shouldUseTheDay() {
+        assertThat(ApiRequestPartitionMaintenance.partitionName(TODAY)).isEqualTo("api_requests_p20250310");
+        assertThat(ApiRequestPartitionMaintenance.partitionName("api_request_payloads", TODAY))
+                .isEqualTo("api_request_payloads_p20250310");
+    }
+
+    @Test
+    void maxRetention_shouldBeTheLongestOfDefaultAndProjects() {
+        PartitionProperties properties = new PartitionProperties();
+        assertThat(properties.getMaxRetention()).isEqualTo(Duration.ofDays(30));
+
+        properties.setProjectRetention(Map.of("short", Duration.ofDays(7), "long", Duration.ofDays(90)));
+        assertThat(properties.getMaxRetention()).isEqualTo(Duration.ofDays(90));
+    }
+}
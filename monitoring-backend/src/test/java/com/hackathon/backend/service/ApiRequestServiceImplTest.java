@@ -1,25 +1,38 @@
 package com.hackathon.backend.service;
 
+import com.hackathon.backend.config.IngestProperties;
 import com.hackathon.backend.dto.request.ApiRequestFilterDto;
 import com.hackathon.backend.dto.request.CreateApiRequestDto;
 import com.hackathon.backend.dto.response.ApiRequestListItemDto;
 import com.hackathon.backend.dto.response.ApiRequestResponseDto;
+import com.hackathon.backend.dto.response.BatchIngestResponseDto;
 import com.hackathon.backend.dto.response.PagedResponseDto;
 import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.entity.ApiRequestPayload;
+import com.hackathon.backend.exception.InvalidRequestException;
 import com.hackathon.backend.exception.ResourceNotFoundException;
+import com.hackathon.backend.ingest.IngestQueue;
 import com.hackathon.backend.mapper.ApiRequestMapper;
+import com.hackathon.backend.repository.ApiRequestPayloadRepository;
+import com.hackathon.backend.repository.ApiRequestListItemView;
 import com.hackathon.backend.repository.ApiRequestRepository;
+import com.hackathon.backend.repository.ApiRequestSummary;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -28,6 +41,7 @@ import java.util.UUID;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,17 +50,30 @@ class ApiRequestServiceImplTest {
     @Mock
     private ApiRequestRepository repository;
 
+    @Mock
+    private ApiRequestPayloadRepository payloadRepository;
+
     @Mock
     private ApiRequestMapper mapper;
 
     @Mock
     private HealthMetricsService healthMetricsService;
 
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private IngestProperties ingestProperties = new IngestProperties();
+
+    @Mock
+    private IngestQueue ingestQueue;
+
     @InjectMocks
     private ApiRequestServiceImpl service;
 
     private CreateApiRequestDto createDto;
     private ApiRequest entity;
+    private ApiRequestSummary row;
     private ApiRequestResponseDto responseDto;
     private UUID testId;
 
@@ -73,6 +100,9 @@ class ApiRequestServiceImplTest {
                 .createdAt(LocalDateTime.now())
                 .build();
 
+        row = new ApiRequestSummary(testId, "test-project", "GET", "/api/users", null, null, 200, 100L,
+                null, null, null, null, null, LocalDateTime.now());
+
         responseDto = ApiRequestResponseDto.builder()
                 .id(testId)
                 .projectId("test-project")
@@ -93,7 +123,124 @@ class ApiRequestServiceImplTest {
 
         assertThat(result).isEqualTo(responseDto);
         verify(repository).save(entity);
-        verify(healthMetricsService).updateMetricsForEndpoint("test-project", "/api/users");
+        verify(healthMetricsService).recordRequests(List.of(entity));
+    }
+
+    @Test
+    void createRequest_withBody_shouldStorePayloadUnderTheRequestId() {
+        ApiRequestPayload payload = ApiRequestPayload.builder().responseBody("{}").build();
+        entity.setPayload(payload);
+        when(mapper.toEntity(createDto)).thenReturn(entity);
+        when(repository.save(entity)).thenReturn(entity);
+
+        service.createRequest(createDto);
+
+        verify(payloadRepository).saveAll(List.of(payload));
+        assertThat(payload.getId()).isEqualTo(testId);
+        assertThat(payload.getCreatedAt()).isEqualTo(entity.getCreatedAt());
+    }
+
+    @Test
+    void createRequest_withoutPayload_shouldOnlyStoreTheRequest() {
+        when(mapper.toEntity(createDto)).thenReturn(entity);
+        when(repository.save(entity)).thenReturn(entity);
+
+        service.createRequest(createDto);
+
+        verifyNoInteractions(payloadRepository);
+    }
+
+    @Test
+    void storeRequests_whenPayloadsFail_shouldKeepTheRequests() {
+        entity.setPayload(ApiRequestPayload.builder().requestBody("body").build());
+        when(mapper.toEntity(createDto)).thenReturn(entity);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(payloadRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("payload"));
+
+        int stored = service.storeRequests(List.of(createDto));
+
+        assertThat(stored).isEqualTo(1);
+        verify(healthMetricsService).recordRequests(List.of(entity));
+    }
+
+    @Test
+    void createRequests_shouldSaveValidItemsAndReportInvalidOnes() {
+        CreateApiRequestDto invalid = CreateApiRequestDto.builder()
+                .projectId("test-project")
+                .method("GET")
+                .build();
+        when(mapper.toEntity(createDto)).thenReturn(entity);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BatchIngestResponseDto result = service.createRequests(Arrays.asList(createDto, invalid, null, createDto));
+
+        assertThat(result.getReceived()).isEqualTo(4);
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting("index").containsExactly(1, 2);
+        assertThat(result.getErrors().get(0).getValidationErrors()).containsKeys("path", "responseTime");
+        verify(repository).saveAll(anyList());
+        verify(healthMetricsService).recordRequests(List.of(entity, entity));
+    }
+
+    @Test
+    void createRequests_whenBatchInsertFails_shouldRetryItemsIndividually() {
+        ApiRequest other = ApiRequest.builder().projectId("test-project").path("/api/orders").build();
+        CreateApiRequestDto otherDto = CreateApiRequestDto.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path("/api/orders")
+                .responseTime(10L)
+                .build();
+        when(mapper.toEntity(createDto)).thenReturn(entity);
+        when(mapper.toEntity(otherDto)).thenReturn(other);
+        when(repository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("bad row"));
+        when(repository.save(entity)).thenReturn(entity);
+        when(repository.save(other)).thenThrow(new DataIntegrityViolationException("bad row"));
+
+        BatchIngestResponseDto result = service.createRequests(new ArrayList<>(List.of(createDto, otherDto)));
+
+        assertThat(result.getAccepted()).isEqualTo(1);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting("index").containsExactly(1);
+        verify(healthMetricsService).recordRequests(List.of(entity));
+    }
+
+    @Test
+    void createRequests_whenBatchTooLarge_shouldThrowException() {
+        ingestProperties.setMaxBatchSize(1);
+
+        assertThatThrownBy(() -> service.createRequests(List.of(createDto, createDto)))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("exceeds the maximum");
+        verify(repository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void enqueueRequests_shouldQueueOnlyValidItemsWithoutStoring() {
+        CreateApiRequestDto invalid = CreateApiRequestDto.builder()
+                .projectId("test-project")
+                .method("GET")
+                .build();
+
+        BatchIngestResponseDto result = service.enqueueRequests(Arrays.asList(createDto, invalid, createDto));
+
+        assertThat(result.getAccepted()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting("index").containsExactly(1);
+        verify(ingestQueue).offer(List.of(createDto, createDto));
+        verifyNoInteractions(repository, healthMetricsService);
+    }
+
+    @Test
+    void storeRequests_shouldReturnNumberStored() {
+        when(mapper.toEntity(createDto)).thenReturn(entity);
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        int stored = service.storeRequests(List.of(createDto, createDto));
+
+        assertThat(stored).isEqualTo(2);
+        verify(healthMetricsService).recordRequests(List.of(entity, entity));
     }
 
     @Test
@@ -106,6 +253,17 @@ class ApiRequestServiceImplTest {
         assertThat(result).isEqualTo(responseDto);
     }
 
+    @Test
+    void getRequestById_shouldLoadThePayload() {
+        ApiRequestPayload payload = ApiRequestPayload.builder().id(testId).responseBody("{}").build();
+        when(repository.findById(testId)).thenReturn(Optional.of(entity));
+        when(payloadRepository.findByIdAndCreatedAt(testId, entity.getCreatedAt())).thenReturn(Optional.of(payload));
+
+        service.getRequestById(testId);
+
+        assertThat(entity.getPayload()).isSameAs(payload);
+    }
+
     @Test
     void getRequestById_whenNotExists_shouldThrowException() {
         when(repository.findById(testId)).thenReturn(Optional.empty());
@@ -117,7 +275,7 @@ class ApiRequestServiceImplTest {
 
     @Test
     void getListView_shouldReturnLatestPerPath() {
-        List<ApiRequest> requests = Arrays.asList(entity);
+        List<ApiRequestListItemView> requests = List.of(mock(ApiRequestListItemView.class));
         List<ApiRequestListItemDto> dtos = Arrays.asList(
                 ApiRequestListItemDto.builder()
                         .id(testId)
@@ -147,24 +305,70 @@ class ApiRequestServiceImplTest {
                 .sortDirection("DESC")
                 .build();
 
-        Page<ApiRequest> page = new PageImpl<>(Arrays.asList(entity));
+        Page<ApiRequestSummary> page = new PageImpl<>(Arrays.asList(row));
+        ApiRequestPayload payload = ApiRequestPayload.builder().id(testId).responseBody("{}").build();
         when(repository.findByProjectId(eq("test-project"), any(Pageable.class))).thenReturn(page);
-        when(mapper.toResponseDtoList(any())).thenReturn(Arrays.asList(responseDto));
+        when(payloadRepository.findByIdInAndCreatedAtBetween(List.of(testId), row.createdAt(), row.createdAt()))
+                .thenReturn(List.of(payload));
+        when(mapper.toResponseDto(row, payload)).thenReturn(responseDto);
 
         PagedResponseDto<ApiRequestResponseDto> result = service.getTableView(filter);
 
 
-        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getContent()).containsExactly(responseDto);
         assertThat(result.getTotalElements()).isEqualTo(1);
         assertThat(result.getPage()).isEqualTo(0);
     }
 
+    @Test
+    void getTableView_withoutBodies_shouldNotLoadPayloads() {
+        ApiRequestFilterDto filter = ApiRequestFilterDto.builder()
+                .projectId("test-project")
+                .page(0)
+                .size(10)
+                .sortBy("createdAt")
+                .sortDirection("DESC")
+                .includeBodies(false)
+                .build();
+
+        when(repository.findByProjectId(eq("test-project"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row)));
+        when(mapper.toResponseDto(row, null)).thenReturn(responseDto);
+
+        assertThat(service.getTableView(filter).getContent()).containsExactly(responseDto);
+        verifyNoInteractions(payloadRepository);
+    }
+
+    @Test
+    void getTableView_withStatusAndDates_shouldBoundQueryByDates() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 0, 0);
+        LocalDateTime end = start.plusDays(1);
+        ApiRequestFilterDto filter = ApiRequestFilterDto.builder()
+                .projectId("test-project")
+                .responseStatus(500)
+                .startDate(start)
+                .endDate(end)
+                .page(0)
+                .size(10)
+                .sortBy("createdAt")
+                .sortDirection("DESC")
+                .build();
+
+        when(repository.findByProjectIdAndResponseStatusAndCreatedAtBetween(
+                eq("test-project"), eq(500), eq(start), eq(end), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(row)));
+        when(mapper.toResponseDto(row, null)).thenReturn(responseDto);
+
+        assertThat(service.getTableView(filter).getContent()).hasSize(1);
+        verify(repository, never()).findByProjectIdAndResponseStatus(any(), any(), any());
+    }
+
     @Test
     void searchRequests_shouldReturnFilteredResults() {
-        Page<ApiRequest> page = new PageImpl<>(Arrays.asList(entity));
+        Page<ApiRequestSummary> page = new PageImpl<>(Arrays.asList(row));
         when(repository.searchByPath(eq("test-project"), eq("users"), any(Pageable.class)))
                 .thenReturn(page);
-        when(mapper.toResponseDtoList(any())).thenReturn(Arrays.asList(responseDto));
+        when(mapper.toResponseDto(row, null)).thenReturn(responseDto);
 
         PagedResponseDto<ApiRequestResponseDto> result = service.searchRequests("test-project", "users", 0, 10);
 
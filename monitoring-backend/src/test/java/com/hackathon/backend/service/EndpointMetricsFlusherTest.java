@@ -0,0 +1,76 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.metrics.EndpointMetricsAccumulator;
+import com.hackathon.backend.metrics.RollupAccumulator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EndpointMetricsFlusherTest {
+
+    @Mock
+    private HealthMetricsService healthMetricsService;
+
+    @Mock
+    private RollupService rollupService;
+
+    private final EndpointMetricsAccumulator accumulator = new EndpointMetricsAccumulator();
+    private final RollupAccumulator rollupAccumulator = new RollupAccumulator();
+
+    @Test
+    void recalculate_shouldFlushFirstAndHoldOffConcurrentFlushes() throws InterruptedException {
+        EndpointMetricsFlusher flusher =
+                new EndpointMetricsFlusher(accumulator, rollupAccumulator, healthMetricsService, rollupService);
+        CountDownLatch rebuilding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            rebuilding.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(healthMetricsService).recalculateAllMetrics("test-project");
+        accumulator.record(createApiRequest());
+
+        Thread recalculation = new Thread(() -> flusher.recalculate("test-project"));
+        recalculation.start();
+        assertThat(rebuilding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        accumulator.record(createApiRequest());
+        Thread flush = new Thread(flusher::flush);
+        flush.start();
+        flush.join(200);
+        assertThat(flush.isAlive()).as("flush waits for the rebuild").isTrue();
+        verify(healthMetricsService, times(1)).applyDeltas(anyMap());
+
+        release.countDown();
+        recalculation.join(5000);
+        flush.join(5000);
+
+        InOrder inOrder = inOrder(healthMetricsService);
+        inOrder.verify(healthMetricsService).applyDeltas(anyMap());
+        inOrder.verify(healthMetricsService).recalculateAllMetrics("test-project");
+        inOrder.verify(healthMetricsService).applyDeltas(anyMap());
+    }
+
+    private ApiRequest createApiRequest() {
+        return ApiRequest.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path("/api/users")
+                .responseStatus(200)
+                .responseTime(100L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+}
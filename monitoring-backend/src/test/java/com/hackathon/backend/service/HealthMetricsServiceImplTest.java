@@ -8,14 +8,24 @@ import com.hackathon.backend.entity.ApiRequest;
 import com.hackathon.backend.entity.EndpointHealthMetrics;
 import com.hackathon.backend.exception.ResourceNotFoundException;
 import com.hackathon.backend.mapper.HealthMetricsMapper;
+import com.hackathon.backend.metrics.EndpointKey;
+import com.hackathon.backend.metrics.EndpointMetricsAccumulator;
+import com.hackathon.backend.metrics.LatencySketch;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.ResponseTimeCount;
+import com.hackathon.backend.metrics.RollupAccumulator;
 import com.hackathon.backend.repository.ApiRequestRepository;
 import com.hackathon.backend.repository.EndpointHealthMetricsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -23,11 +33,13 @@ import org.springframework.data.domain.Pageable;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -35,6 +47,8 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class HealthMetricsServiceImplTest {
 
+    private static final EndpointKey USERS = new EndpointKey("test-project", "/api/users");
+
     @Mock
     private EndpointHealthMetricsRepository metricsRepository;
 
@@ -44,6 +58,15 @@ class HealthMetricsServiceImplTest {
     @Mock
     private HealthMetricsMapper mapper;
 
+    @Mock
+    private EndpointMetricsRowCreator rowCreator;
+
+    @Spy
+    private EndpointMetricsAccumulator accumulator = new EndpointMetricsAccumulator();
+
+    @Spy
+    private RollupAccumulator rollupAccumulator = new RollupAccumulator();
+
     @InjectMocks
     private HealthMetricsServiceImpl service;
 
@@ -83,43 +106,143 @@ class HealthMetricsServiceImplTest {
     }
 
     @Test
-    void updateMetricsForEndpoint_withExistingMetrics_shouldUpdate() {
-        List<ApiRequest> requests = Arrays.asList(
-                createApiRequest(200, 100L),
-                createApiRequest(200, 150L),
-                createApiRequest(500, 200L)
-        );
+    void recordRequests_shouldOnlyAccumulateInMemory() {
+        service.recordRequests(Arrays.asList(
+                createApiRequest(200, 20L),
+                createApiRequest(500, 400L)
+        ));
+
+        verifyNoInteractions(metricsRepository, rowCreator);
+        MetricsDelta pending = accumulator.pending("test-project").get("/api/users");
+        assertThat(pending.getCount()).isEqualTo(2L);
+        assertThat(pending.getErrorCount()).isEqualTo(1L);
+        assertThat(rollupAccumulator.drain()).hasSize(2);
+    }
 
-        when(requestRepository.findByProjectIdAndPath("test-project", "/api/users"))
-                .thenReturn(requests);
-        when(metricsRepository.findByProjectIdAndEndpoint("test-project", "/api/users"))
+    @Test
+    void applyDeltas_shouldFoldDeltaIntoExistingMetrics() {
+        metrics.setTotalResponseTime(15000L);
+        when(metricsRepository.findForUpdate("test-project", "/api/users"))
                 .thenReturn(Optional.of(metrics));
-        when(metricsRepository.save(any(EndpointHealthMetrics.class))).thenReturn(metrics);
 
-        service.updateMetricsForEndpoint("test-project", "/api/users");
+        service.applyDeltas(Map.of(USERS, deltaOf(
+                createApiRequest(200, 20L),
+                createApiRequest(500, 400L)
+        )));
+
+        verify(rowCreator, never()).createIfAbsent(any(), any());
+        verify(metricsRepository).saveAll(List.of(metrics));
+        assertThat(metrics.getTotalRequests()).isEqualTo(102L);
+        assertThat(metrics.getTotalResponseTime()).isEqualTo(15420L);
+        assertThat(metrics.getMinResponseTime()).isEqualTo(20L);
+        assertThat(metrics.getMaxResponseTime()).isEqualTo(400L);
+        assertThat(metrics.getSuccessCount()).isEqualTo(96L);
+        assertThat(metrics.getErrorCount()).isEqualTo(6L);
+        assertThat(metrics.getAvgResponseTime()).isEqualTo(15420.0 / 102);
+        assertThat(metrics.getP50ResponseTime()).isCloseTo(20.0, within(0.2));
+        assertThat(metrics.getP99ResponseTime()).isCloseTo(400.0, within(4.0));
+        assertThat(LatencySketch.fromBytes(metrics.getLatencySketch()).count()).isEqualTo(2L);
+        verify(requestRepository, never()).aggregateByProjectIdAndEndpoint(any(), any());
+    }
+
+    @Test
+    void applyDeltas_withNewEndpoint_shouldInitializeFromFirstRequest() {
+        EndpointHealthMetrics empty = EndpointHealthMetrics.builder()
+                .projectId("test-project")
+                .endpoint("/api/new")
+                .totalRequests(0L)
+                .totalResponseTime(0L)
+                .successCount(0L)
+                .errorCount(0L)
+                .build();
+        ApiRequest request = createApiRequest(200, 100L);
+        request.setPath("/api/new");
+        when(metricsRepository.findForUpdate("test-project", "/api/new"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(empty));
+
+        service.applyDeltas(Map.of(new EndpointKey("test-project", "/api/new"), MetricsDelta.of(request)));
+
+        verify(rowCreator).createIfAbsent("test-project", "/api/new");
+        verify(metricsRepository).saveAll(List.of(empty));
+        assertThat(empty.getTotalRequests()).isEqualTo(1L);
+        assertThat(empty.getMinResponseTime()).isEqualTo(100L);
+        assertThat(empty.getSuccessRate()).isEqualTo(100.0);
+        assertThat(empty.getHealthScore()).isEqualTo(95);
+        assertThat(empty.getFirstSeen()).isEqualTo(request.getCreatedAt());
+    }
+
+    @Test
+    void applyDeltas_whenRowCreatedConcurrently_shouldUseExistingRow() {
+        when(metricsRepository.findForUpdate("test-project", "/api/users"))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(metrics));
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(rowCreator).createIfAbsent("test-project", "/api/users");
+
+        service.applyDeltas(Map.of(USERS, deltaOf(createApiRequest(200, 100L))));
 
-        verify(metricsRepository).save(any(EndpointHealthMetrics.class));
+        verify(metricsRepository).saveAll(List.of(metrics));
+        assertThat(metrics.getTotalRequests()).isEqualTo(101L);
     }
 
     @Test
-    void updateMetricsForEndpoint_withNewEndpoint_shouldCreate() {
-        List<ApiRequest> requests = Arrays.asList(createApiRequest(200, 100L));
+    void applyDeltas_withLegacyRowWithoutRunningSum_shouldDeriveSumFromAverage() {
+        metrics.setTotalResponseTime(null);
+        when(metricsRepository.findForUpdate("test-project", "/api/users"))
+                .thenReturn(Optional.of(metrics));
 
-        when(requestRepository.findByProjectIdAndPath("test-project", "/api/new"))
-                .thenReturn(requests);
-        when(metricsRepository.findByProjectIdAndEndpoint("test-project", "/api/new"))
-                .thenReturn(Optional.empty());
-        when(metricsRepository.save(any(EndpointHealthMetrics.class))).thenReturn(metrics);
+        service.applyDeltas(Map.of(USERS, deltaOf(createApiRequest(200, 150L))));
+
+        assertThat(metrics.getTotalResponseTime()).isEqualTo(15150L);
+        assertThat(metrics.getAvgResponseTime()).isEqualTo(150.0);
+    }
 
-        service.updateMetricsForEndpoint("test-project", "/api/new");
+    @Test
+    void applyDeltas_shouldLockRowsInSortedOrder() {
+        EndpointHealthMetrics orders = metrics.toBuilder().endpoint("/api/orders").build();
+        when(metricsRepository.findForUpdate(eq("test-project"), any()))
+                .thenAnswer(invocation -> Optional.of("/api/orders".equals(invocation.getArgument(1))
+                        ? orders : metrics));
+
+        service.applyDeltas(Map.of(
+                USERS, deltaOf(createApiRequest(200, 100L)),
+                new EndpointKey("test-project", "/api/orders"), deltaOf(createApiRequest(200, 100L))
+        ));
+
+        InOrder inOrder = inOrder(metricsRepository);
+        inOrder.verify(metricsRepository).findForUpdate("test-project", "/api/orders");
+        inOrder.verify(metricsRepository).findForUpdate("test-project", "/api/users");
+    }
+
+    @Test
+    void updateMetricsForEndpoint_shouldRebuildFromAggregate() {
+        MetricsDelta aggregate = new MetricsDelta(3L, 450L, 100L, 200L, 2L, 1L,
+                LocalDateTime.now().minusDays(1));
+        when(requestRepository.aggregateByProjectIdAndEndpoint("test-project", "/api/users"))
+                .thenReturn(aggregate);
+        when(requestRepository.countResponseTimesByProjectIdAndEndpoint("test-project", "/api/users"))
+                .thenReturn(List.of(new ResponseTimeCount(100L, 1L), new ResponseTimeCount(150L, 1L),
+                        new ResponseTimeCount(200L, 1L)));
+        when(metricsRepository.findForUpdate("test-project", "/api/users"))
+                .thenReturn(Optional.of(metrics));
+
+        service.updateMetricsForEndpoint("test-project", "/api/users");
 
-        verify(metricsRepository).save(any(EndpointHealthMetrics.class));
+        verify(metricsRepository).save(metrics);
+        assertThat(metrics.getTotalRequests()).isEqualTo(3L);
+        assertThat(metrics.getAvgResponseTime()).isEqualTo(150.0);
+        assertThat(metrics.getMinResponseTime()).isEqualTo(100L);
+        assertThat(metrics.getErrorCount()).isEqualTo(1L);
+        assertThat(metrics.getFirstSeen()).isEqualTo(aggregate.getFirstSeen());
+        assertThat(metrics.getP50ResponseTime()).isCloseTo(150.0, within(1.5));
+        assertThat(LatencySketch.fromBytes(metrics.getLatencySketch()).count()).isEqualTo(3L);
     }
 
     @Test
     void updateMetricsForEndpoint_withNoRequests_shouldNotSave() {
-        when(requestRepository.findByProjectIdAndPath("test-project", "/api/empty"))
-                .thenReturn(Arrays.asList());
+        when(requestRepository.aggregateByProjectIdAndEndpoint("test-project", "/api/empty"))
+                .thenReturn(new MetricsDelta(0L, null, null, null, null, null, null));
 
         service.updateMetricsForEndpoint("test-project", "/api/empty");
 
@@ -179,6 +302,55 @@ class HealthMetricsServiceImplTest {
         assertThat(result.get(0).getEndpoint()).isEqualTo("/api/users");
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void getListView_shouldMergePendingDeltas() {
+        metrics.setTotalResponseTime(15000L);
+        when(metricsRepository.findLatestMetricsPerEndpoint("test-project")).thenReturn(List.of(metrics));
+        ApiRequest newEndpoint = createApiRequest(500, 50L);
+        newEndpoint.setPath("/api/new");
+        service.recordRequests(List.of(createApiRequest(200, 250L), newEndpoint));
+
+        service.getListView("test-project");
+
+        ArgumentCaptor<List<EndpointHealthMetrics>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mapper).toListItemDtoList(captor.capture());
+        assertThat(captor.getValue()).hasSize(2);
+        EndpointHealthMetrics merged = captor.getValue().get(0);
+        assertThat(merged.getTotalRequests()).isEqualTo(101L);
+        assertThat(merged.getAvgResponseTime()).isEqualTo(15250.0 / 101);
+        assertThat(merged.getId()).isEqualTo(testId);
+        assertThat(metrics.getTotalRequests()).as("stored row is left untouched").isEqualTo(100L);
+        EndpointHealthMetrics pendingOnly = captor.getValue().get(1);
+        assertThat(pendingOnly.getEndpoint()).isEqualTo("/api/new");
+        assertThat(pendingOnly.getTotalRequests()).isEqualTo(1L);
+        assertThat(pendingOnly.getErrorCount()).isEqualTo(1L);
+    }
+
+    @Test
+    void getMetricsByEndpoint_withOnlyPendingDelta_shouldBuildMetricsFromIt() {
+        when(metricsRepository.findByProjectIdAndEndpoint("test-project", "/api/users"))
+                .thenReturn(Optional.empty());
+        service.recordRequests(List.of(createApiRequest(200, 120L)));
+
+        service.getMetricsByEndpoint("test-project", "/api/users");
+
+        ArgumentCaptor<EndpointHealthMetrics> captor = ArgumentCaptor.forClass(EndpointHealthMetrics.class);
+        verify(mapper).toResponseDto(captor.capture());
+        assertThat(captor.getValue().getTotalRequests()).isEqualTo(1L);
+        assertThat(captor.getValue().getAvgResponseTime()).isEqualTo(120.0);
+    }
+
+    @Test
+    void recalculateAllMetrics_shouldDiscardPendingDeltas() {
+        service.recordRequests(List.of(createApiRequest(200, 120L)));
+        when(requestRepository.findDistinctEndpointsByProjectId("test-project")).thenReturn(List.of());
+
+        service.recalculateAllMetrics("test-project");
+
+        assertThat(accumulator.pending("test-project")).isEmpty();
+    }
+
     @Test
     void getTableView_shouldReturnPagedResults() {
         HealthMetricsFilterDto filter = HealthMetricsFilterDto.builder()
@@ -208,6 +380,10 @@ class HealthMetricsServiceImplTest {
         assertThat(result).isEqualTo(15L);
     }
 
+    private static MetricsDelta deltaOf(ApiRequest... requests) {
+        return Arrays.stream(requests).map(MetricsDelta::of).reduce(MetricsDelta::merge).orElseThrow();
+    }
+
     private ApiRequest createApiRequest(int status, long responseTime) {
         return ApiRequest.builder()
                 .projectId("test-project")
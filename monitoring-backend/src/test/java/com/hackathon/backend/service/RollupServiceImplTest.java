@@ -0,0 +1,215 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.config.MetricsProperties;
+import com.hackathon.backend.dto.request.TimeseriesFilterDto;
+import com.hackathon.backend.dto.response.TimeseriesPointDto;
+import com.hackathon.backend.dto.response.TimeseriesResponseDto;
+import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.entity.EndpointMetricsRollup;
+import com.hackathon.backend.entity.RollupGranularity;
+import com.hackathon.backend.exception.InvalidRequestException;
+import com.hackathon.backend.metrics.LatencySketch;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.RollupKey;
+import com.hackathon.backend.repository.EndpointMetricsRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RollupServiceImplTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2025, 3, 10, 14, 37);
+
+    @Mock
+    private EndpointMetricsRollupRepository rollupRepository;
+
+    @Mock
+    private RollupRowCreator rowCreator;
+
+    @Spy
+    private MetricsProperties metricsProperties = new MetricsProperties();
+
+    @InjectMocks
+    private RollupServiceImpl service;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyMinuteDeltas_shouldFoldMinuteIntoHourAndDayBuckets() {
+        EndpointMetricsRollup existingHour = rollup(RollupGranularity.HOUR, MINUTE.withMinute(0), 2, 40L, 10L, 30L);
+        when(rollupRepository.findForUpdate(eq("test-project"), any(), any()))
+                .thenAnswer(invocation -> {
+                    RollupGranularity granularity = invocation.getArgument(1);
+                    return granularity == RollupGranularity.HOUR
+                            ? List.of(existingHour)
+                            : List.of(emptyRollup(granularity, granularity.bucketStart(MINUTE)));
+                });
+        ApiRequest request = createApiRequest(200, 100L);
+
+        service.applyMinuteDeltas(Map.of(RollupKey.minuteOf(request), MetricsDelta.of(request)));
+
+        ArgumentCaptor<List<EndpointMetricsRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).saveAll(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(EndpointMetricsRollup::getGranularity, EndpointMetricsRollup::getBucketStart,
+                        EndpointMetricsRollup::getRequestCount)
+                .containsExactlyInAnyOrder(
+                        tuple(RollupGranularity.MINUTE, MINUTE, 1L),
+                        tuple(RollupGranularity.HOUR, MINUTE.withMinute(0), 3L),
+                        tuple(RollupGranularity.DAY, MINUTE.toLocalDate().atStartOfDay(), 1L));
+        assertThat(existingHour.getTotalResponseTime()).isEqualTo(140L);
+        assertThat(existingHour.getMinResponseTime()).isEqualTo(10L);
+        assertThat(existingHour.getMaxResponseTime()).isEqualTo(100L);
+        assertThat(LatencySketch.fromBytes(existingHour.getLatencySketch()).count()).isEqualTo(1L);
+        verify(rowCreator).createIfAbsent("test-project", RollupGranularity.MINUTE,
+                List.of(RollupKey.minuteOf(request)));
+    }
+
+    @Test
+    void applyMinuteDeltas_whenRowsWereCreatedConcurrently_shouldCreateTheRestOneByOne() {
+        ApiRequest request = createApiRequest(200, 100L);
+        RollupKey minute = RollupKey.minuteOf(request);
+        doThrow(new DataIntegrityViolationException("duplicate key"))
+                .when(rowCreator).createIfAbsent("test-project", RollupGranularity.MINUTE, List.of(minute));
+        when(rollupRepository.findForUpdate(eq("test-project"), any(), any()))
+                .thenAnswer(invocation -> {
+                    RollupGranularity granularity = invocation.getArgument(1);
+                    return List.of(emptyRollup(granularity, granularity.bucketStart(MINUTE)));
+                });
+
+        service.applyMinuteDeltas(Map.of(minute, MetricsDelta.of(request)));
+
+        verify(rowCreator, times(2)).createIfAbsent("test-project", RollupGranularity.MINUTE, List.of(minute));
+        verify(rollupRepository).saveAll(argThat(rollups -> rollups.spliterator().getExactSizeIfKnown() == 3));
+    }
+
+    @Test
+    void getTimeseries_shouldMergeRollupsPerBucket() {
+        LocalDateTime from = MINUTE.minusMinutes(10);
+        LocalDateTime to = MINUTE.plusMinutes(5);
+        EndpointMetricsRollup ok = rollup(RollupGranularity.MINUTE, MINUTE, 3, 300L, 50L, 150L);
+        ok.setLatencySketch(sketchOf(50, 100, 150));
+        EndpointMetricsRollup failed = rollup(RollupGranularity.MINUTE, MINUTE, 1, 900L, 900L, 900L);
+        failed.setStatusClass(5);
+        failed.setLatencySketch(sketchOf(900));
+        when(rollupRepository.findForTimeseries("test-project", RollupGranularity.MINUTE, from, to, null, null))
+                .thenReturn(List.of(ok, failed));
+
+        TimeseriesResponseDto result = service.getTimeseries(TimeseriesFilterDto.builder()
+                .projectId("test-project")
+                .endpoint(" ")
+                .granularity(RollupGranularity.MINUTE)
+                .from(from)
+                .to(to)
+                .build());
+
+        assertThat(result.getGranularity()).isEqualTo(RollupGranularity.MINUTE);
+        assertThat(result.getPoints()).hasSize(1);
+        TimeseriesPointDto point = result.getPoints().get(0);
+        assertThat(point.getRequestCount()).isEqualTo(4L);
+        assertThat(point.getSuccessCount()).isEqualTo(3L);
+        assertThat(point.getErrorCount()).isEqualTo(1L);
+        assertThat(point.getErrorRate()).isEqualTo(25.0);
+        assertThat(point.getAvgResponseTime()).isEqualTo(300.0);
+        assertThat(point.getMinResponseTime()).isEqualTo(50L);
+        assertThat(point.getMaxResponseTime()).isEqualTo(900L);
+        assertThat(point.getP99ResponseTime()).isBetween(891.0, 909.0);
+    }
+
+    @Test
+    void getTimeseries_withLongOldRange_shouldPickCoarserGranularity() {
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minusDays(3);
+        when(rollupRepository.findForTimeseries(eq("test-project"), eq(RollupGranularity.HOUR), any(), eq(to),
+                any(), any())).thenReturn(List.of());
+
+        TimeseriesResponseDto result = service.getTimeseries(TimeseriesFilterDto.builder()
+                .projectId("test-project")
+                .from(from)
+                .to(to)
+                .build());
+
+        assertThat(result.getGranularity()).isEqualTo(RollupGranularity.HOUR);
+        assertThat(result.getPoints()).isEmpty();
+    }
+
+    @Test
+    void getTimeseries_withTooManyPoints_shouldThrow() {
+        assertThatThrownBy(() -> service.getTimeseries(TimeseriesFilterDto.builder()
+                .projectId("test-project")
+                .granularity(RollupGranularity.MINUTE)
+                .from(MINUTE.minusDays(30))
+                .to(MINUTE)
+                .build()))
+                .isInstanceOf(InvalidRequestException.class)
+                .hasMessageContaining("maximum is 1500");
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void purgeExpired_shouldDeleteEachGranularityByItsRetention() {
+        service.purgeExpired();
+
+        verify(rollupRepository).deleteByGranularityAndBucketStartBefore(eq(RollupGranularity.MINUTE), any());
+        verify(rollupRepository).deleteByGranularityAndBucketStartBefore(eq(RollupGranularity.HOUR), any());
+        verify(rollupRepository).deleteByGranularityAndBucketStartBefore(eq(RollupGranularity.DAY), any());
+    }
+
+    private static EndpointMetricsRollup emptyRollup(RollupGranularity granularity, LocalDateTime bucketStart) {
+        EndpointMetricsRollup rollup = rollup(granularity, bucketStart, 0, 0L, 0L, 0L);
+        rollup.setMinResponseTime(null);
+        rollup.setMaxResponseTime(null);
+        return rollup;
+    }
+
+    private static EndpointMetricsRollup rollup(RollupGranularity granularity, LocalDateTime bucketStart,
+                                                long count, long totalResponseTime, long min, long max) {
+        return EndpointMetricsRollup.builder()
+                .projectId("test-project")
+                .endpoint("/api/users")
+                .method("GET")
+                .statusClass(2)
+                .granularity(granularity)
+                .bucketStart(bucketStart)
+                .requestCount(count)
+                .totalResponseTime(totalResponseTime)
+                .minResponseTime(min)
+                .maxResponseTime(max)
+                .build();
+    }
+
+    private static byte[] sketchOf(long... values) {
+        LatencySketch sketch = new LatencySketch();
+        for (long value : values) {
+            sketch.record(value);
+        }
+        return sketch.toBytes();
+    }
+
+    private static ApiRequest createApiRequest(int status, long responseTime) {
+        return ApiRequest.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path("/api/users")
+                .responseStatus(status)
+                .responseTime(responseTime)
+                .createdAt(MINUTE.plusSeconds(42))
+                .build();
+    }
+}
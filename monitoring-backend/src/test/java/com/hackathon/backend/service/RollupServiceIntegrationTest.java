@@ -0,0 +1,84 @@
+package com.hackathon.backend.service;
+
+import com.hackathon.backend.entity.ApiRequest;
+import com.hackathon.backend.entity.EndpointMetricsRollup;
+import com.hackathon.backend.entity.RollupGranularity;
+import com.hackathon.backend.metrics.MetricsDelta;
+import com.hackathon.backend.metrics.RollupKey;
+import com.hackathon.backend.repository.EndpointMetricsRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RollupServiceIntegrationTest {
+
+    private static final LocalDateTime MINUTE = LocalDateTime.of(2025, 3, 10, 14, 37);
+
+    @Autowired
+    private RollupService rollupService;
+
+    @Autowired
+    private EndpointMetricsRollupRepository rollupRepository;
+
+    @BeforeEach
+    void setUp() {
+        rollupRepository.deleteAll();
+    }
+
+    @Test
+    void applyMinuteDeltas_fromConcurrentFlushes_shouldNotLoseCounts() throws Exception {
+        int flushers = 4;
+        int flushesEach = 10;
+        ApiRequest request = ApiRequest.builder()
+                .projectId("test-rollup")
+                .method("GET")
+                .path("/api/users")
+                .responseStatus(200)
+                .responseTime(100L)
+                .createdAt(MINUTE)
+                .build();
+        ExecutorService executor = Executors.newFixedThreadPool(flushers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        for (int t = 0; t < flushers; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < flushesEach; i++) {
+                    rollupService.applyMinuteDeltas(Map.of(RollupKey.minuteOf(request), MetricsDelta.of(request)));
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        long expected = (long) flushers * flushesEach;
+        assertThat(rollupRepository.findAll())
+                .extracting(EndpointMetricsRollup::getGranularity, EndpointMetricsRollup::getRequestCount)
+                .containsExactlyInAnyOrder(
+                        tuple(RollupGranularity.MINUTE, expected),
+                        tuple(RollupGranularity.HOUR, expected),
+                        tuple(RollupGranularity.DAY, expected));
+    }
+}
@@ -0,0 +1,46 @@
+-- Schema of the first release, as Hibernate auto-DDL created it (ddl-auto: update) before
+-- Flyway took over. Hibernate names unique constraints with a hash; a readable name stands in.
+
+create table api_requests (
+    created_at timestamp(6) not null,
+    id uuid not null,
+    method varchar(10) not null,
+    path varchar(500) not null,
+    project_id varchar(100) not null,
+    query_string varchar(1000),
+    request_body TEXT,
+    request_headers jsonb,
+    response_body TEXT,
+    response_status integer,
+    response_time bigint not null,
+    primary key (id)
+);
+
+create table endpoint_health_metrics (
+    avg_response_time float(53),
+    error_count bigint,
+    first_seen timestamp(6),
+    health_score integer,
+    last_updated timestamp(6) not null,
+    max_response_time bigint,
+    min_response_time bigint,
+    success_count bigint,
+    success_rate float(53),
+    total_requests bigint,
+    id uuid not null,
+    project_id varchar(100) not null,
+    endpoint varchar(500) not null,
+    primary key (id)
+);
+
+create index idx_project_id on api_requests (project_id);
+create index idx_path on api_requests (path);
+create index idx_method on api_requests (method);
+create index idx_created_at on api_requests (created_at);
+create index idx_response_time on api_requests (response_time);
+create index idx_health_project_id on endpoint_health_metrics (project_id);
+create index idx_health_score on endpoint_health_metrics (health_score);
+create index idx_last_updated on endpoint_health_metrics (last_updated);
+
+alter table if exists endpoint_health_metrics
+    add constraint UK_endpoint_health_metrics_project_endpoint unique (project_id, endpoint);
@@ -0,0 +1,54 @@
+package com.hackathon.benchmarks;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * Response whose body goes nowhere, so benchmarks measure the wrappers and not buffer growth.
+ * Writes are copied into a fixed 8 KB scratch buffer, roughly what a container's output
+ * buffer costs, and counted so the JIT cannot eliminate them.
+ */
+public class DiscardingHttpServletResponse extends MockHttpServletResponse {
+
+    private final ServletOutputStream outputStream = new ServletOutputStream() {
+
+        @Override
+        public void write(int b) {
+            scratch[(int) (bytesWritten++ % scratch.length)] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            while (len > 0) {
+                int position = (int) (bytesWritten % scratch.length);
+                int chunk = Math.min(len, scratch.length - position);
+                System.arraycopy(b, off, scratch, position, chunk);
+                bytesWritten += chunk;
+                off += chunk;
+                len -= chunk;
+            }
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    };
+
+    private final byte[] scratch = new byte[8192];
+    private long bytesWritten;
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        return outputStream;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+}
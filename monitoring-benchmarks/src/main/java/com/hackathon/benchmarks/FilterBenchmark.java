@@ -0,0 +1,115 @@
+package com.hackathon.benchmarks;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.filter.HeaderExtractor;
+import com.hackathon.sdk.filter.MonitoringFilter;
+import com.hackathon.sdk.filter.PathRules;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import com.hackathon.sdk.sampling.RequestSampler;
+import com.hackathon.sdk.service.MonitoringService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full per-request cost of {@link MonitoringFilter}: wrapping, body capture, header extraction and
+ * payload building, against the same handler called without the filter. The handler echoes the
+ * request body back, and the captured payload is handed to a blackhole instead of the backend.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"0", "1024", "65536"})
+    private int bodySize;
+
+    @Param({"10000"})
+    private int maxBodySize;
+
+    private byte[] body;
+    private MockHttpServletRequest request;
+    private DiscardingHttpServletResponse response;
+    private MonitoringFilter filter;
+    private BlackholeMonitoringService monitoringService;
+    private FilterChain echoHandler;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        body = BenchmarkFixtures.body(bodySize);
+        request = BenchmarkFixtures.request(8);
+        response = new DiscardingHttpServletResponse();
+
+        MonitoringProperties properties = new MonitoringProperties();
+        properties.setProjectId("demo-project-001");
+        properties.setMaxBodySize(maxBodySize);
+        properties.setMaxResponseSize(maxBodySize);
+        monitoringService = new BlackholeMonitoringService(properties, blackhole);
+        MonitoringMetrics metrics = new MonitoringMetrics();
+        filter = new MonitoringFilter(monitoringService, properties, new PathRules(properties.getPaths(), metrics),
+                new RequestSampler(properties, metrics), new HeaderExtractor(properties.getHeaders()));
+
+        byte[] readBuffer = new byte[CHUNK_SIZE];
+        echoHandler = (req, res) -> {
+            InputStream in = req.getInputStream();
+            ServletOutputStream out = res.getOutputStream();
+            int read;
+            while ((read = in.read(readBuffer)) != -1) {
+                out.write(readBuffer, 0, read);
+            }
+            out.flush();
+        };
+    }
+
+    @Benchmark
+    public long withoutFilter() throws ServletException, IOException {
+        request.setContent(body);
+        echoHandler.doFilter(request, response);
+        return response.getBytesWritten();
+    }
+
+    @Benchmark
+    public long withFilter() throws ServletException, IOException {
+        request.setContent(body);
+        filter.doFilter(request, response, echoHandler);
+        return response.getBytesWritten();
+    }
+
+    private static class BlackholeMonitoringService extends MonitoringService {
+
+        private final Blackhole blackhole;
+
+        BlackholeMonitoringService(MonitoringProperties properties, Blackhole blackhole) {
+            super(null, properties, null);
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public void captureRequest(ApiRequestPayload payload) {
+            blackhole.consume(payload);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hackathon.benchmarks;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.filter.HeaderExtractor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HeaderExtractor} for typical and header-heavy requests, with the default settings
+ * (every header, credentials redacted) and with a short allowlist, against copying every
+ * header into a fresh map as the filter used to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HeaderExtractionBenchmark {
+
+    @Param({"4", "16", "48"})
+    private int headerCount;
+
+    @Param({"all", "allowlist"})
+    private String headers;
+
+    private HeaderExtractor extractor;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        MonitoringProperties.Headers config = new MonitoringProperties.Headers();
+        if (headers.equals("allowlist")) {
+            config.setAllow(List.of("Content-Type", "User-Agent", "X-Request-Id", "Traceparent"));
+        }
+        extractor = new HeaderExtractor(config);
+        request = BenchmarkFixtures.request(headerCount);
+    }
+
+    @Benchmark
+    public Map<String, String> extract() {
+        return extractor.extract(request);
+    }
+
+    @Benchmark
+    public Map<String, String> copyAll() {
+        Map<String, String> copy = new HashMap<>();
+        Collections.list(request.getHeaderNames()).forEach(name -> copy.put(name, request.getHeader(name)));
+        return copy;
+    }
+}
@@ -0,0 +1,62 @@
+package com.hackathon.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of {@link ApiRequestPayload} with the object mapper {@code RestTemplate} uses,
+ * one payload at a time (sync mode) and as a batch (async mode).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadSerializationBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"0", "1024", "10000"})
+    private int bodySize;
+
+    private ObjectMapper objectMapper;
+    private ApiRequestPayload payload;
+    private List<ApiRequestPayload> batch;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        payload = BenchmarkFixtures.payload(bodySize, 8);
+        batch = Collections.nCopies(BATCH_SIZE, payload);
+    }
+
+    @Benchmark
+    public byte[] single() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] batch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(batch);
+    }
+}
@@ -0,0 +1,81 @@
+package com.hackathon.benchmarks;
+
+import com.hackathon.sdk.buffer.ByteArrayPool;
+import com.hackathon.sdk.filter.CachedBodyHttpServletRequest;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a request body straight from the servlet stream versus through {@link CachedBodyHttpServletRequest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestCaptureBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"256", "8192", "262144"})
+    private int bodySize;
+
+    @Param({"10000"})
+    private int maxBodySize;
+
+    private byte[] body;
+    private byte[] readBuffer;
+    private ByteArrayPool pool;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        body = BenchmarkFixtures.body(bodySize);
+        readBuffer = new byte[CHUNK_SIZE];
+        pool = new ByteArrayPool(4);
+        request = BenchmarkFixtures.request(0);
+    }
+
+    @Benchmark
+    public long unwrapped() throws IOException {
+        request.setContent(body);
+        return readBody(request);
+    }
+
+    @Benchmark
+    public long captured() throws IOException {
+        request.setContent(body);
+        CachedBodyHttpServletRequest wrapper = new CachedBodyHttpServletRequest(request, pool, maxBodySize);
+        try {
+            return readBody(wrapper);
+        } finally {
+            wrapper.getCapture().release(true);
+        }
+    }
+
+    private long readBody(HttpServletRequest target) throws IOException {
+        InputStream in = target.getInputStream();
+        long total = 0;
+        int read;
+        while ((read = in.read(readBuffer)) != -1) {
+            total += read;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,146 @@
+package com.hackathon.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fills {@code api_requests} and {@code api_request_payloads} with synthetic requests spread evenly
+ * over the last days, for {@link RequestQueryBenchmark} and {@link RequestQueryPlans}.
+ * The schema must already exist: start the backend once against the database so Flyway creates it.
+ * The rows are generated by Postgres itself, in chunks, so 10M rows take minutes rather than hours.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.hackathon.benchmarks.RequestDataGenerator [url] [user] [password]
+ *         [rows=10000000] [days=7] [projects=10] [bodySize=1024]
+ * </pre>
+ */
+public final class RequestDataGenerator {
+
+    private static final int CHUNK_SIZE = 250_000;
+    private static final int ROUTES = 200;
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    /**
+     * One chunk of requests and their payloads. Bodies are random hex, which TOAST cannot compress
+     * away the way it would a repeated string.
+     */
+    private static final String INSERT_CHUNK = """
+            WITH requests AS (
+                INSERT INTO api_requests (id, project_id, method, path, route_template, query_string,
+                        response_status, response_time, duration_us, time_to_first_byte_us, handler_us,
+                        capture_overhead_us, response_write_us, created_at)
+                SELECT gen_random_uuid(),
+                       'project-' || (g % ?),
+                       (ARRAY['GET', 'GET', 'GET', 'POST', 'PUT', 'DELETE'])[1 + g % 6],
+                       '/api/resource-' || (g % ?) || '/' || g,
+                       '/api/resource-' || (g % ?) || '/{id}',
+                       CASE WHEN g % 4 = 0 THEN 'page=' || (g % 50) || '&size=20' END,
+                       (ARRAY[200, 200, 200, 200, 201, 204, 400, 404, 500])[1 + g % 9],
+                       5 + g % 500,
+                       5000 + g % 500000,
+                       4000 + g % 400000,
+                       3000 + g % 300000,
+                       20 + g % 80,
+                       100 + g % 1000,
+                       ?::timestamp + random() * (?::timestamp - ?::timestamp)
+                FROM generate_series(?::bigint, ?::bigint) g
+                RETURNING id, created_at, method
+            )
+            INSERT INTO api_request_payloads (id, created_at, request_headers, request_body, response_body)
+            SELECT id, created_at,
+                   jsonb_build_object(
+                           'Host', 'api.example.com',
+                           'User-Agent', 'Mozilla/5.0 (X11; Linux x86_64) Chrome/120.0 Safari/537.36',
+                           'Accept', 'application/json',
+                           'Content-Type', 'application/json',
+                           'X-Request-Id', id::text,
+                           'X-Forwarded-For', '203.0.113.42'),
+                   CASE WHEN method IN ('POST', 'PUT') THEN
+                       (SELECT left(string_agg(md5(random()::text || id::text || n), ''), ?)
+                        FROM generate_series(1, ? / 32 + 1) n)
+                   END,
+                   (SELECT left(string_agg(md5(random()::text || id::text || n), ''), ?)
+                    FROM generate_series(1, ? / 32 + 1) n)
+            FROM requests
+            """;
+
+    private RequestDataGenerator() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        long rows = args.length > 3 ? Long.parseLong(args[3]) : 10_000_000L;
+        int days = args.length > 4 ? Integer.parseInt(args[4]) : 7;
+        int projects = args.length > 5 ? Integer.parseInt(args[5]) : 10;
+        int bodySize = args.length > 6 ? Integer.parseInt(args[6]) : 1024;
+
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDateTime from = today.minusDays(days - 1).atStartOfDay();
+        LocalDateTime to = LocalDateTime.now(ZoneOffset.UTC);
+
+        try (Connection connection = RequestQueries.connect(args)) {
+            checkSchema(connection);
+            for (LocalDate day = from.toLocalDate(); !day.isAfter(today); day = day.plusDays(1)) {
+                createPartition(connection, "api_requests", day);
+                createPartition(connection, "api_request_payloads", day);
+            }
+
+            long started = System.nanoTime();
+            try (PreparedStatement insert = connection.prepareStatement(INSERT_CHUNK)) {
+                for (long first = 1; first <= rows; first += CHUNK_SIZE) {
+                    long last = Math.min(first + CHUNK_SIZE - 1, rows);
+                    int i = 1;
+                    insert.setInt(i++, projects);
+                    insert.setInt(i++, ROUTES);
+                    insert.setInt(i++, ROUTES);
+                    insert.setTimestamp(i++, Timestamp.valueOf(from));
+                    insert.setTimestamp(i++, Timestamp.valueOf(to));
+                    insert.setTimestamp(i++, Timestamp.valueOf(from));
+                    insert.setLong(i++, first);
+                    insert.setLong(i++, last);
+                    insert.setInt(i++, bodySize);
+                    insert.setInt(i++, bodySize);
+                    insert.setInt(i++, bodySize);
+                    insert.setInt(i, bodySize);
+                    insert.executeUpdate();
+                    System.out.printf("Inserted %,d of %,d requests%n", last, rows);
+                }
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE api_requests");
+                statement.execute("ANALYZE api_request_payloads");
+            }
+            System.out.printf("Done in %d s%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - started));
+        }
+    }
+
+    private static void checkSchema(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT to_regclass('api_request_payloads') IS NOT NULL")) {
+            result.next();
+            if (!result.getBoolean(1)) {
+                throw new IllegalStateException("No api_request_payloads table, start the backend once against "
+                        + "this database so Flyway creates the schema");
+            }
+        }
+    }
+
+    /**
+     * Same daily partitions the backend's partition maintenance creates ahead of time.
+     */
+    private static void createPartition(Connection connection, String table, LocalDate day) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS " + table + "_p" + PARTITION_SUFFIX.format(day)
+                    + " PARTITION OF " + table
+                    + " FOR VALUES FROM ('" + day.atStartOfDay() + "') TO ('" + day.plusDays(1).atStartOfDay() + "')");
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.hackathon.benchmarks;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Collections;
+
+/**
+ * The SQL the backend runs for the request table and list views, written out as Hibernate generates it,
+ * once loading whole {@code ApiRequest} entities and once selecting only the columns the views show.
+ */
+public final class RequestQueries {
+
+    public static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/monitoring_db";
+    public static final String DEFAULT_USER = "postgres";
+    public static final String DEFAULT_PASSWORD = "postgres";
+
+    /** {@code findByProjectId} returning {@code ApiRequest} entities */
+    public static final String TABLE_PAGE_ENTITIES = """
+            SELECT id, project_id, method, path, route_template, query_string, response_status,
+                   response_time, duration_us, time_to_first_byte_us, handler_us, capture_overhead_us,
+                   response_write_us, created_at, sample_weight
+            FROM api_requests
+            WHERE project_id = ?
+            ORDER BY created_at DESC
+            OFFSET ? ROWS FETCH FIRST ? ROWS ONLY
+            """;
+
+    /** {@code findByProjectId} returning {@code ApiRequestSummary} records */
+    public static final String TABLE_PAGE_SUMMARIES = """
+            SELECT id, project_id, method, path, route_template, query_string, response_status,
+                   response_time, duration_us, time_to_first_byte_us, handler_us, capture_overhead_us,
+                   response_write_us, created_at
+            FROM api_requests
+            WHERE project_id = ?
+            ORDER BY created_at DESC
+            OFFSET ? ROWS FETCH FIRST ? ROWS ONLY
+            """;
+
+    /** {@code findLatestRequestPerPath} returning {@code ApiRequest} entities */
+    public static final String LIST_VIEW_ENTITIES = """
+            SELECT DISTINCT ON (COALESCE(route_template, path)) *
+            FROM api_requests
+            WHERE project_id = ?
+            ORDER BY COALESCE(route_template, path), created_at DESC
+            """;
+
+    /** {@code findLatestRequestPerPath} returning {@code ApiRequestListItemView} */
+    public static final String LIST_VIEW_PROJECTION = """
+            SELECT DISTINCT ON (COALESCE(route_template, path))
+                CAST(id AS varchar) AS "id", method AS "method", path AS "path",
+                route_template AS "routeTemplate", response_status AS "responseStatus",
+                response_time AS "responseTime", created_at AS "createdAt"
+            FROM api_requests
+            WHERE project_id = ?
+            ORDER BY COALESCE(route_template, path), created_at DESC
+            """;
+
+    private RequestQueries() {
+    }
+
+    /**
+     * {@code findByIdInAndCreatedAtBetween} for a page of {@code pageSize} rows.
+     */
+    public static String payloadsOfPage(int pageSize) {
+        return "SELECT id, created_at, request_headers, request_body, response_body"
+                + " FROM api_request_payloads"
+                + " WHERE id IN (" + String.join(", ", Collections.nCopies(pageSize, "?")) + ")"
+                + " AND created_at BETWEEN ? AND ?";
+    }
+
+    /**
+     * Connection from {@code url user password} arguments, each falling back to the docker-compose database.
+     */
+    public static Connection connect(String[] args) throws SQLException {
+        return DriverManager.getConnection(
+                args.length > 0 ? args[0] : DEFAULT_URL,
+                args.length > 1 ? args[1] : DEFAULT_USER,
+                args.length > 2 ? args[2] : DEFAULT_PASSWORD);
+    }
+}
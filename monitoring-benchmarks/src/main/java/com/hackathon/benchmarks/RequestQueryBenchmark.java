@@ -0,0 +1,180 @@
+package com.hackathon.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request table and list views against a Postgres database filled by {@link RequestDataGenerator},
+ * loading every column of {@code api_requests} the way entity hydration does against selecting only
+ * the columns the views show. Pass the database with {@code -p url=... -p user=... -p password=...}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestQueryBenchmark {
+
+    private static final int ENTITY_COLUMNS = 15;
+    private static final int SUMMARY_COLUMNS = 14;
+    private static final int LIST_ITEM_COLUMNS = 7;
+
+    @Param(RequestQueries.DEFAULT_URL)
+    private String url;
+
+    @Param(RequestQueries.DEFAULT_USER)
+    private String user;
+
+    @Param(RequestQueries.DEFAULT_PASSWORD)
+    private String password;
+
+    @Param("project-1")
+    private String projectId;
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Connection connection;
+    private PreparedStatement tablePageEntities;
+    private PreparedStatement tablePageSummaries;
+    private PreparedStatement payloadsOfPage;
+    private PreparedStatement listViewEntities;
+    private PreparedStatement listViewProjection;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = RequestQueries.connect(new String[]{url, user, password});
+        connection.setReadOnly(true);
+        tablePageEntities = pageStatement(RequestQueries.TABLE_PAGE_ENTITIES);
+        tablePageSummaries = pageStatement(RequestQueries.TABLE_PAGE_SUMMARIES);
+        payloadsOfPage = connection.prepareStatement(RequestQueries.payloadsOfPage(pageSize));
+        listViewEntities = connection.prepareStatement(RequestQueries.LIST_VIEW_ENTITIES);
+        listViewEntities.setString(1, projectId);
+        listViewProjection = connection.prepareStatement(RequestQueries.LIST_VIEW_PROJECTION);
+        listViewProjection.setString(1, projectId);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * Table page as it was loaded before the projections: whole entities, then their payloads.
+     */
+    @Benchmark
+    public int tablePageEntities() throws SQLException, IOException {
+        List<Object[]> rows = read(tablePageEntities, ENTITY_COLUMNS);
+        return rows.size() + readPayloads(rows);
+    }
+
+    /**
+     * Table page with {@code includeBodies=false}.
+     */
+    @Benchmark
+    public List<Object[]> tablePageSummaries() throws SQLException {
+        return read(tablePageSummaries, SUMMARY_COLUMNS);
+    }
+
+    /**
+     * Table page with the default {@code includeBodies=true}.
+     */
+    @Benchmark
+    public int tablePageSummariesWithBodies() throws SQLException, IOException {
+        List<Object[]> rows = read(tablePageSummaries, SUMMARY_COLUMNS);
+        return rows.size() + readPayloads(rows);
+    }
+
+    @Benchmark
+    public List<Object[]> listViewEntities() throws SQLException {
+        return read(listViewEntities, ENTITY_COLUMNS);
+    }
+
+    @Benchmark
+    public List<Object[]> listViewProjection() throws SQLException {
+        return read(listViewProjection, LIST_ITEM_COLUMNS);
+    }
+
+    private PreparedStatement pageStatement(String sql) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(sql);
+        statement.setString(1, projectId);
+        statement.setInt(2, 0);
+        statement.setInt(3, pageSize);
+        return statement;
+    }
+
+    private static List<Object[]> read(PreparedStatement statement, int columns) throws SQLException {
+        List<Object[]> rows = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                Object[] row = new Object[columns];
+                for (int i = 0; i < columns; i++) {
+                    row[i] = resultSet.getObject(i + 1);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * One lookup for the payloads of the whole page, with the headers parsed as the jsonb column type does.
+     */
+    private int readPayloads(List<Object[]> rows) throws SQLException, IOException {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        Timestamp oldest = (Timestamp) rows.get(0)[13];
+        Timestamp newest = oldest;
+        // A short last page repeats its last id, so the statement keeps the page size
+        for (int i = 0; i < pageSize; i++) {
+            Object[] row = rows.get(Math.min(i, rows.size() - 1));
+            Timestamp createdAt = (Timestamp) row[13];
+            oldest = createdAt.before(oldest) ? createdAt : oldest;
+            newest = createdAt.after(newest) ? createdAt : newest;
+            payloadsOfPage.setObject(i + 1, (UUID) row[0]);
+        }
+        payloadsOfPage.setTimestamp(pageSize + 1, oldest);
+        payloadsOfPage.setTimestamp(pageSize + 2, newest);
+
+        int consumed = 0;
+        try (ResultSet resultSet = payloadsOfPage.executeQuery()) {
+            while (resultSet.next()) {
+                String headers = resultSet.getString(3);
+                if (headers != null) {
+                    consumed += objectMapper.readValue(headers, Map.class).size();
+                }
+                String requestBody = resultSet.getString(4);
+                String responseBody = resultSet.getString(5);
+                consumed += (requestBody != null ? requestBody.length() : 0)
+                        + (responseBody != null ? responseBody.length() : 0);
+            }
+        }
+        return consumed;
+    }
+}
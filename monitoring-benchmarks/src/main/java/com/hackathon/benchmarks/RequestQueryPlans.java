@@ -0,0 +1,81 @@
+package com.hackathon.benchmarks;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Prints {@code EXPLAIN (ANALYZE, BUFFERS)} for each query of {@link RequestQueryBenchmark}, to keep next
+ * to its timings.
+ *
+ * <pre>
+ * java -cp benchmarks.jar com.hackathon.benchmarks.RequestQueryPlans [url] [user] [password]
+ *         [projectId=project-1] [pageSize=20]
+ * </pre>
+ */
+public final class RequestQueryPlans {
+
+    private static final String EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS) ";
+
+    private RequestQueryPlans() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        String projectId = args.length > 3 ? args[3] : "project-1";
+        int pageSize = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        try (Connection connection = RequestQueries.connect(args)) {
+            List<Object> ids = new ArrayList<>();
+            Object oldest = null;
+            Object newest = null;
+            try (PreparedStatement page = connection.prepareStatement(RequestQueries.TABLE_PAGE_SUMMARIES)) {
+                page.setString(1, projectId);
+                page.setInt(2, 0);
+                page.setInt(3, pageSize);
+                try (ResultSet rows = page.executeQuery()) {
+                    while (rows.next()) {
+                        ids.add(rows.getObject("id"));
+                        // Newest first
+                        newest = newest == null ? rows.getTimestamp("created_at") : newest;
+                        oldest = rows.getTimestamp("created_at");
+                    }
+                }
+            }
+            if (ids.isEmpty()) {
+                throw new IllegalStateException("No requests for " + projectId + ", run RequestDataGenerator first");
+            }
+            while (ids.size() < pageSize) {
+                ids.add(ids.get(ids.size() - 1));
+            }
+
+            explain(connection, "Table page, entities", RequestQueries.TABLE_PAGE_ENTITIES, projectId, 0, pageSize);
+            explain(connection, "Table page, summaries", RequestQueries.TABLE_PAGE_SUMMARIES, projectId, 0, pageSize);
+            List<Object> payloadParameters = new ArrayList<>(ids);
+            payloadParameters.add(oldest);
+            payloadParameters.add(newest);
+            explain(connection, "Payloads of the page", RequestQueries.payloadsOfPage(pageSize),
+                    payloadParameters.toArray());
+            explain(connection, "List view, entities", RequestQueries.LIST_VIEW_ENTITIES, projectId);
+            explain(connection, "List view, projection", RequestQueries.LIST_VIEW_PROJECTION, projectId);
+        }
+    }
+
+    private static void explain(Connection connection, String title, String sql, Object... parameters)
+            throws SQLException {
+        System.out.println("== " + title);
+        try (PreparedStatement statement = connection.prepareStatement(EXPLAIN + sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                while (plan.next()) {
+                    System.out.println(plan.getString(1));
+                }
+            }
+        }
+        System.out.println();
+    }
+}
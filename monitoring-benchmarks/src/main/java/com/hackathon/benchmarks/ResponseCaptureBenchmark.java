@@ -0,0 +1,79 @@
+package com.hackathon.benchmarks;
+
+import com.hackathon.sdk.buffer.ByteArrayPool;
+import com.hackathon.sdk.filter.CachedBodyHttpServletResponse;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a response body straight to the servlet stream versus through {@link CachedBodyHttpServletResponse}.
+ * The body is written in 8 KB chunks, the way Jackson and Tomcat hand it over.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseCaptureBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({"256", "8192", "262144"})
+    private int bodySize;
+
+    @Param({"10000"})
+    private int maxResponseSize;
+
+    private byte[] body;
+    private ByteArrayPool pool;
+    private DiscardingHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        body = new byte[bodySize];
+        ThreadLocalRandom.current().nextBytes(body);
+        pool = new ByteArrayPool(4);
+        response = new DiscardingHttpServletResponse();
+    }
+
+    @Benchmark
+    public long unwrapped() throws IOException {
+        writeBody(response);
+        return response.getBytesWritten();
+    }
+
+    @Benchmark
+    public long captured() throws IOException {
+        CachedBodyHttpServletResponse wrapper = new CachedBodyHttpServletResponse(response, pool, maxResponseSize);
+        try {
+            writeBody(wrapper);
+            return wrapper.getCapture().getTotalBytes();
+        } finally {
+            wrapper.getCapture().release(true);
+        }
+    }
+
+    private void writeBody(HttpServletResponse target) throws IOException {
+        ServletOutputStream out = target.getOutputStream();
+        for (int offset = 0; offset < body.length; offset += CHUNK_SIZE) {
+            out.write(body, offset, Math.min(CHUNK_SIZE, body.length - offset));
+        }
+        out.flush();
+    }
+}
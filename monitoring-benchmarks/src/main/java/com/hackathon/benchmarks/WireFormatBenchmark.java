@@ -0,0 +1,94 @@
+package com.hackathon.benchmarks;
+
+import com.hackathon.sdk.client.BatchEncoder;
+import com.hackathon.sdk.client.WireCompression;
+import com.hackathon.sdk.client.WireFormat;
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU per request of each batch encoding; the bytes per request on the wire are reported as the
+ * {@code encode:bytesPerRequest} secondary result.
+ * Payloads differ in path, status, latency, request id and body content, as real traffic does,
+ * so compression is not flattered by identical items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Param({"JSON", "SMILE"})
+    private WireFormat format;
+
+    @Param({"NONE", "GZIP"})
+    private WireCompression compression;
+
+    @Param({"0", "1024"})
+    private int bodySize;
+
+    private BatchEncoder encoder;
+    private List<ApiRequestPayload> batch;
+
+    @Setup
+    public void setUp() {
+        MonitoringProperties properties = new MonitoringProperties();
+        properties.getWire().setFormat(format);
+        properties.getWire().setCompression(compression);
+        encoder = new BatchEncoder(properties);
+
+        Random random = new Random(42);
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            ApiRequestPayload payload = BenchmarkFixtures.payload(0, 8);
+            payload.setPath("/api/users/" + random.nextInt(100_000) + "/orders");
+            payload.setResponseStatus(random.nextInt(20) == 0 ? 500 : 200);
+            payload.setResponseTime(5L + random.nextInt(400));
+            payload.getRequestHeaders().put("X-Request-Id", UUID.randomUUID().toString());
+            payload.setRequestBody(bodySize > 0 ? BenchmarkFixtures.variedBody(bodySize, random) : null);
+            payload.setResponseBody(bodySize > 0 ? BenchmarkFixtures.variedBody(bodySize, random) : null);
+            batch.add(payload);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public BatchEncoder.EncodedBatch encode(WireSize size) {
+        BatchEncoder.EncodedBatch encoded = encoder.encode(batch, false);
+        size.bytesPerRequest = encoded.body().length / BATCH_SIZE;
+        return encoded;
+    }
+
+    /**
+     * Size of the last encoded batch per request, the same for every invocation of a trial.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        public long bytesPerRequest;
+    }
+}
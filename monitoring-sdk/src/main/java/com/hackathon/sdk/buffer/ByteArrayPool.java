@@ -0,0 +1,33 @@
+package com.hackathon.sdk.buffer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Small bounded pool of byte arrays so request and response capture does not
+ * allocate a fresh buffer for every request. Arrays that are too small for the
+ * caller, or returned while the pool is full, are simply left to the garbage collector.
+ */
+public class ByteArrayPool {
+
+    private final ArrayBlockingQueue<byte[]> arrays;
+
+    public ByteArrayPool(int maxPooled) {
+        this.arrays = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    /**
+     * Take an array of at least {@code minLength} bytes; its content is undefined.
+     */
+    public byte[] acquire(int minLength) {
+        byte[] array = arrays.poll();
+        return array != null && array.length >= minLength ? array : new byte[minLength];
+    }
+
+    public void release(byte[] array) {
+        arrays.offer(array);
+    }
+
+    public int pooled() {
+        return arrays.size();
+    }
+}
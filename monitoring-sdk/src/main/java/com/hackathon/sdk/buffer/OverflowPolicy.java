@@ -0,0 +1,23 @@
+package com.hackathon.sdk.buffer;
+
+/**
+ * What to do with a payload when the in-memory buffer is full.
+ */
+public enum OverflowPolicy {
+
+    /**
+     * Evict the oldest buffered payload to make room for the new one.
+     */
+    DROP_OLDEST,
+
+    /**
+     * Discard the incoming payload and keep the buffer as is.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Admit a random fraction of the overflow (by evicting the oldest payload)
+     * and discard the rest, so a thinned sample of the burst survives.
+     */
+    SAMPLE
+}
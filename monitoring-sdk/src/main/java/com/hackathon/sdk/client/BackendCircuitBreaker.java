@@ -0,0 +1,160 @@
+package com.hackathon.sdk.client;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker around calls to the monitoring backend.
+ * After {@code failureThreshold} consecutive failures (connection errors, timeouts, 5xx or 429)
+ * the circuit opens and calls fail fast with {@link CircuitOpenException} for a backoff that doubles,
+ * with jitter, each time a probe fails. Once the backoff ends a single probe call is let through
+ * and its outcome closes or reopens the circuit.
+ * The closed state is lock-free; transitions are rare and synchronized.
+ */
+@Slf4j
+@Component
+public class BackendCircuitBreaker {
+
+    private final MonitoringProperties.CircuitBreaker config;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private final LongAdder rejected;
+    private final LongAdder opened;
+    private final LongAdder halfOpened;
+    private final LongAdder closed;
+
+    private volatile CircuitState state = CircuitState.CLOSED;
+
+    /** Guarded by {@code this} */
+    private long openUntilNanos;
+    /** Guarded by {@code this}; how long the circuit stays open the next time it opens */
+    private long backoffNanos;
+
+    public BackendCircuitBreaker(MonitoringProperties properties, MonitoringMetrics metrics) {
+        this.config = properties.getCircuitBreaker();
+        this.backoffNanos = config.getInitialBackoff().toNanos();
+        this.rejected = metrics.counter("circuit.rejected");
+        this.opened = metrics.counter("circuit.opened");
+        this.halfOpened = metrics.counter("circuit.half-opened");
+        this.closed = metrics.counter("circuit.closed");
+        metrics.gauge("circuit.state", () -> state.ordinal());
+    }
+
+    /**
+     * Run a backend call through the breaker.
+     *
+     * @throws CircuitOpenException without running the call when the circuit is not letting calls through
+     */
+    public void run(Runnable call) {
+        if (!config.isEnabled()) {
+            call.run();
+            return;
+        }
+        if (!tryAcquire()) {
+            rejected.increment();
+            throw new CircuitOpenException(state);
+        }
+        try {
+            call.run();
+        } catch (RuntimeException e) {
+            if (isBackendFailure(e)) {
+                onFailure();
+            } else {
+                // The backend answered, it just did not like this particular call
+                onSuccess();
+            }
+            throw e;
+        } catch (Error e) {
+            // Still settle the state, or a failed probe would leave the circuit half-open for good
+            onFailure();
+            throw e;
+        }
+        onSuccess();
+    }
+
+    public CircuitState getState() {
+        return state;
+    }
+
+    private boolean tryAcquire() {
+        if (state == CircuitState.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == CircuitState.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+                state = CircuitState.HALF_OPEN;
+                halfOpened.increment();
+                log.debug("Monitoring backend circuit half-open, sending a probe");
+                return true;
+            }
+            return state == CircuitState.CLOSED;
+        }
+    }
+
+    private void onSuccess() {
+        if (state == CircuitState.CLOSED) {
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            return;
+        }
+        synchronized (this) {
+            if (state == CircuitState.HALF_OPEN) {
+                consecutiveFailures.set(0);
+                backoffNanos = config.getInitialBackoff().toNanos();
+                state = CircuitState.CLOSED;
+                closed.increment();
+                log.info("Monitoring backend is reachable again, circuit closed");
+            }
+        }
+    }
+
+    private void onFailure() {
+        if (state == CircuitState.CLOSED
+                && consecutiveFailures.incrementAndGet() < config.getFailureThreshold()) {
+            return;
+        }
+        synchronized (this) {
+            boolean thresholdReached = state == CircuitState.CLOSED
+                    && consecutiveFailures.get() >= config.getFailureThreshold();
+            if (thresholdReached || state == CircuitState.HALF_OPEN) {
+                open();
+            }
+        }
+    }
+
+    private void open() {
+        // Jitter keeps many instances from probing in lockstep after an outage
+        long openNanos = ThreadLocalRandom.current().nextLong(backoffNanos / 2, backoffNanos + 1);
+        openUntilNanos = System.nanoTime() + openNanos;
+        backoffNanos = Math.min(backoffNanos * 2, config.getMaxBackoff().toNanos());
+        state = CircuitState.OPEN;
+        opened.increment();
+        log.warn("Monitoring backend circuit opened, calls are short-circuited for the next {} ms",
+                TimeUnit.NANOSECONDS.toMillis(openNanos));
+    }
+
+    /**
+     * Whether a failed call is worth retrying later: the backend was unreachable, overloaded or
+     * short-circuited, rather than turning down the call itself.
+     */
+    public static boolean isRetryable(Exception e) {
+        return e instanceof CircuitOpenException || isBackendFailure(e);
+    }
+
+    private static boolean isBackendFailure(Exception e) {
+        return e instanceof ResourceAccessException
+                || e instanceof HttpServerErrorException
+                || e instanceof HttpClientErrorException.TooManyRequests;
+    }
+}
@@ -0,0 +1,69 @@
+package com.hackathon.sdk.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serializes batches in the configured {@link WireFormat} and compresses them when they are
+ * large enough for it to pay off.
+ */
+@Component
+public class BatchEncoder {
+
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final MonitoringProperties.Wire config;
+
+    public BatchEncoder(MonitoringProperties properties) {
+        this.config = properties.getWire();
+    }
+
+    /**
+     * Encode with the configured format and compression, or as plain JSON when {@code plain} is set.
+     */
+    public EncodedBatch encode(List<ApiRequestPayload> payloads, boolean plain) {
+        WireFormat format = plain ? WireFormat.JSON : config.getFormat();
+        ObjectMapper mapper = format == WireFormat.SMILE ? smileMapper : jsonMapper;
+        MediaType contentType = format == WireFormat.SMILE ? SMILE : MediaType.APPLICATION_JSON;
+        try {
+            byte[] body = mapper.writeValueAsBytes(payloads);
+            if (plain || config.getCompression() != WireCompression.GZIP || body.length < config.getCompressionThreshold()) {
+                return new EncodedBatch(body, contentType, null);
+            }
+            return new EncodedBatch(gzip(body), contentType, "gzip");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode monitoring batch", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (OutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(body);
+        }
+        return compressed.toByteArray();
+    }
+
+    /**
+     * @param contentEncoding {@code gzip}, or {@code null} when the body is not compressed
+     */
+    public record EncodedBatch(byte[] body, MediaType contentType, String contentEncoding) {
+
+        public boolean isPlainJson() {
+            return contentEncoding == null && MediaType.APPLICATION_JSON.equals(contentType);
+        }
+    }
+}
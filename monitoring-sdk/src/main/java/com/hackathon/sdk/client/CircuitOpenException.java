@@ -0,0 +1,11 @@
+package com.hackathon.sdk.client;
+
+/**
+ * Thrown instead of calling the backend while the {@link BackendCircuitBreaker} is not letting calls through.
+ */
+public class CircuitOpenException extends RuntimeException {
+
+    public CircuitOpenException(CircuitState state) {
+        super("Monitoring backend circuit is " + state);
+    }
+}
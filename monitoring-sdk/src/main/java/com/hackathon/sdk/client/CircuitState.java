@@ -0,0 +1,22 @@
+package com.hackathon.sdk.client;
+
+/**
+ * State of the {@link BackendCircuitBreaker}.
+ */
+public enum CircuitState {
+
+    /**
+     * The backend is healthy and every call goes through.
+     */
+    CLOSED,
+
+    /**
+     * The backend kept failing; calls are refused without touching the network until the backoff ends.
+     */
+    OPEN,
+
+    /**
+     * The backoff ended and a single probe call is deciding whether to close or reopen the circuit.
+     */
+    HALF_OPEN
+}
@@ -0,0 +1,43 @@
+package com.hackathon.sdk.client;
+
+import com.hackathon.sdk.dispatch.VirtualThreads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Builds the {@link MonitoringTransport#JDK_HTTP_CLIENT} request factory.
+ */
+@Slf4j
+public final class JdkHttpTransport {
+
+    private static final String THREAD_NAME_PREFIX = "monitoring-http-";
+
+    private JdkHttpTransport() {
+    }
+
+    public static ClientHttpRequestFactory requestFactory(Duration connectTimeout, Duration readTimeout, boolean http2) {
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient(connectTimeout, http2));
+        requestFactory.setReadTimeout(readTimeout);
+        return requestFactory;
+    }
+
+    static HttpClient httpClient(Duration connectTimeout, boolean http2) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout);
+
+        ThreadFactory virtualThreads = VirtualThreads.factory(THREAD_NAME_PREFIX);
+        if (virtualThreads != null) {
+            builder.executor(task -> virtualThreads.newThread(task).start());
+            log.debug("Monitoring HTTP client runs on virtual threads");
+        } else {
+            log.debug("Virtual threads not available, monitoring HTTP client uses its default executor");
+        }
+        return builder.build();
+    }
+}
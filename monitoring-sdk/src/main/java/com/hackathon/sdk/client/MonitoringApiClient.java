@@ -1,5 +1,6 @@
 package com.hackathon.sdk.client;
 
+import com.hackathon.sdk.client.BatchEncoder.EncodedBatch;
 import com.hackathon.sdk.config.MonitoringProperties;
 import com.hackathon.sdk.model.ApiRequestPayload;
 import lombok.RequiredArgsConstructor;
@@ -8,10 +9,15 @@ import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
 /**
  * HTTP client for communicating with the monitoring backend API.
+ * Every call goes through the {@link BackendCircuitBreaker}, so while the backend is down
+ * calls fail fast with {@link CircuitOpenException}.
  */
 @Slf4j
 @Component
@@ -20,6 +26,13 @@ public class MonitoringApiClient {
 
     private final RestTemplate restTemplate;
     private final MonitoringProperties properties;
+    private final BatchEncoder batchEncoder;
+    private final BackendCircuitBreaker circuitBreaker;
+
+    /**
+     * Set once the backend turned down a compact batch, after which batches go out as plain JSON
+     */
+    private volatile boolean plainBatchesOnly;
 
     /**
      * Send captured request data to the backend API.
@@ -27,14 +40,53 @@ public class MonitoringApiClient {
     public void sendRequest(ApiRequestPayload payload) {
         String url = properties.getBackendUrl() + "/requests";
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("X-API-Key", properties.getApiKey());
+        HttpEntity<ApiRequestPayload> request = new HttpEntity<>(payload, createHeaders());
 
-        HttpEntity<ApiRequestPayload> request = new HttpEntity<>(payload, headers);
-
-        restTemplate.postForEntity(url, request, Void.class);
+        circuitBreaker.run(() -> restTemplate.postForEntity(url, request, Void.class));
 
         log.trace("Sent monitoring data to: {}", url);
     }
+
+    /**
+     * Send a batch of captured request data to the backend API in a single call,
+     * encoded as configured under {@code monitoring.wire}.
+     */
+    public void sendBatch(List<ApiRequestPayload> payloads) {
+        String url = properties.getBackendUrl() + "/requests/batch";
+
+        EncodedBatch encoded = batchEncoder.encode(payloads, plainBatchesOnly);
+        try {
+            postBatch(url, encoded);
+        } catch (HttpClientErrorException.UnsupportedMediaType e) {
+            if (encoded.isPlainJson()) {
+                throw e;
+            }
+            // Older backends only read plain JSON. Only 415 says so: a 400 is about the batch itself
+            log.info("Backend does not accept {} batches, sending plain JSON from now on", encoded.contentType());
+            plainBatchesOnly = true;
+            postBatch(url, batchEncoder.encode(payloads, true));
+        }
+
+        log.trace("Sent batch of {} monitoring payloads to: {}", payloads.size(), url);
+    }
+
+    private void postBatch(String url, EncodedBatch encoded) {
+        HttpHeaders headers = createHeaders(encoded.contentType());
+        if (encoded.contentEncoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoded.contentEncoding());
+        }
+        HttpEntity<byte[]> request = new HttpEntity<>(encoded.body(), headers);
+        circuitBreaker.run(() -> restTemplate.postForEntity(url, request, Void.class));
+    }
+
+    private HttpHeaders createHeaders() {
+        return createHeaders(MediaType.APPLICATION_JSON);
+    }
+
+    private HttpHeaders createHeaders(MediaType contentType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.set("X-API-Key", properties.getApiKey());
+        return headers;
+    }
 }
\ No newline at end of file
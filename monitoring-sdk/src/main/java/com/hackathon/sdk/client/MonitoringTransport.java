@@ -0,0 +1,24 @@
+package com.hackathon.sdk.client;
+
+/**
+ * HTTP stack used to talk to the monitoring backend.
+ */
+public enum MonitoringTransport {
+
+    /**
+     * Apache HttpClient 5 with a bounded pool of keep-alive connections, see {@code monitoring.connection.*}.
+     */
+    POOLED,
+
+    /**
+     * {@code java.net.http.HttpClient}: keep-alive connections and, with {@code monitoring.connection.http2},
+     * HTTP/2 (h2c upgrade on plain http) multiplexing. Its internal work runs on virtual threads when
+     * the runtime has them (Java 21+).
+     */
+    JDK_HTTP_CLIENT,
+
+    /**
+     * Plain {@code HttpURLConnection}, relying on the JDK's keep-alive cache.
+     */
+    SIMPLE
+}
@@ -0,0 +1,70 @@
+package com.hackathon.sdk.client;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import java.time.Duration;
+
+/**
+ * The {@link MonitoringTransport#POOLED} connection layer: a bounded pool of persistent
+ * HTTP/1.1 connections to the backend with idle eviction. Pool usage is published as
+ * {@code http.pool.*} gauges.
+ */
+public class PooledHttpTransport implements DisposableBean {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public PooledHttpTransport(MonitoringProperties.Connection config,
+                               Duration connectTimeout,
+                               Duration readTimeout,
+                               MonitoringMetrics metrics) {
+        this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(config.getMaxTotal())
+                .setMaxConnPerRoute(config.getMaxPerRoute())
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(readTimeout))
+                        .setValidateAfterInactivity(TimeValue.of(config.getValidateAfterInactivity()))
+                        .build())
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Time to wait for a free pooled connection
+                        .setConnectionRequestTimeout(Timeout.of(connectTimeout))
+                        // Used when the backend does not send a Keep-Alive header
+                        .setConnectionKeepAlive(TimeValue.of(config.getKeepAlive()))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(config.getIdleTimeout()))
+                .build();
+
+        metrics.gauge("http.pool.leased", () -> connectionManager.getTotalStats().getLeased());
+        metrics.gauge("http.pool.available", () -> connectionManager.getTotalStats().getAvailable());
+        metrics.gauge("http.pool.pending", () -> connectionManager.getTotalStats().getPending());
+        metrics.gauge("http.pool.max", () -> connectionManager.getTotalStats().getMax());
+    }
+
+    public ClientHttpRequestFactory requestFactory() {
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
+    @Override
+    public void destroy() {
+        httpClient.close(CloseMode.GRACEFUL);
+    }
+}
@@ -0,0 +1,11 @@
+package com.hackathon.sdk.client;
+
+/**
+ * Content encoding applied to batch bodies.
+ */
+public enum WireCompression {
+
+    NONE,
+
+    GZIP
+}
@@ -0,0 +1,17 @@
+package com.hackathon.sdk.client;
+
+/**
+ * Body encoding used for batches sent to the backend.
+ */
+public enum WireFormat {
+
+    /**
+     * Plain JSON, understood by every backend version.
+     */
+    JSON,
+
+    /**
+     * Jackson Smile, a binary JSON with back-references for repeated keys and values.
+     */
+    SMILE
+}
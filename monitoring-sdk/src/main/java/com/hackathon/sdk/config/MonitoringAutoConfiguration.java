@@ -1,8 +1,17 @@
 package com.hackathon.sdk.config;
 
+import com.hackathon.sdk.client.JdkHttpTransport;
+import com.hackathon.sdk.client.MonitoringTransport;
+import com.hackathon.sdk.client.PooledHttpTransport;
+import com.hackathon.sdk.filter.HeaderExtractor;
 import com.hackathon.sdk.filter.MonitoringFilter;
+import com.hackathon.sdk.filter.PathRules;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.sampling.RequestSampler;
 import com.hackathon.sdk.service.MonitoringService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -10,7 +19,7 @@ import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
@@ -21,32 +30,80 @@ import java.time.Duration;
  */
 @Slf4j
 @Configuration
-@EnableAsync
 @EnableConfigurationProperties(MonitoringProperties.class)
 @ComponentScan(basePackages = "com.hackathon.sdk")
 @ConditionalOnProperty(prefix = "monitoring", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class MonitoringAutoConfiguration {
 
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(5);
+
+    /**
+     * The pooled transport needs Apache HttpClient 5, an optional dependency of the SDK.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(name = "org.apache.hc.client5.http.impl.classic.HttpClients")
+    @ConditionalOnProperty(prefix = "monitoring", name = "transport", havingValue = "pooled", matchIfMissing = true)
+    static class PooledTransportConfiguration {
+
+        @Bean
+        public PooledHttpTransport monitoringPooledHttpTransport(MonitoringProperties properties,
+                                                                 MonitoringMetrics metrics) {
+            return new PooledHttpTransport(properties.getConnection(), CONNECT_TIMEOUT, READ_TIMEOUT, metrics);
+        }
+    }
+
+    @Bean
+    public RestTemplate monitoringRestTemplate(RestTemplateBuilder builder,
+                                               MonitoringProperties properties,
+                                               ObjectProvider<PooledHttpTransport> pooledTransport) {
+        MonitoringTransport transport = properties.getTransport();
+        if (transport == MonitoringTransport.POOLED && pooledTransport.getIfAvailable() == null) {
+            log.warn("monitoring.transport is pooled but Apache HttpClient 5 is not on the classpath, "
+                    + "using jdk-http-client instead");
+            transport = MonitoringTransport.JDK_HTTP_CLIENT;
+        }
+        return switch (transport) {
+            case POOLED -> builder
+                    .requestFactory(() -> pooledTransport.getObject().requestFactory())
+                    .build();
+            case JDK_HTTP_CLIENT -> builder
+                    .requestFactory(() -> JdkHttpTransport.requestFactory(
+                            CONNECT_TIMEOUT, READ_TIMEOUT, properties.getConnection().isHttp2()))
+                    .build();
+            case SIMPLE -> builder
+                    .requestFactory(SimpleClientHttpRequestFactory.class)
+                    .setConnectTimeout(CONNECT_TIMEOUT)
+                    .setReadTimeout(READ_TIMEOUT)
+                    .build();
+        };
+    }
+
+    /**
+     * Include and exclude patterns compiled once, so the filter checks each path in a single pass.
+     */
     @Bean
-    public RestTemplate monitoringRestTemplate(RestTemplateBuilder builder) {
-        return builder
-                .setConnectTimeout(Duration.ofSeconds(5))
-                .setReadTimeout(Duration.ofSeconds(5))
-                .build();
+    public PathRules monitoringPathRules(MonitoringProperties properties, MonitoringMetrics metrics) {
+        return new PathRules(properties.getPaths(), metrics);
     }
 
     @Bean
     public FilterRegistrationBean<MonitoringFilter> monitoringFilterRegistration(
             MonitoringService monitoringService,
-            MonitoringProperties properties) {
+            MonitoringProperties properties,
+            PathRules pathRules,
+            RequestSampler requestSampler) {
 
         log.info("API Monitoring SDK Initialized");
         log.info("Project ID: {:<44} ", properties.getProjectId());
         log.info("Backend URL: {:<43} ", properties.getBackendUrl());
         log.info("Async Mode: {:<44} ", properties.isAsync());
+        log.info("Transport: {:<45} ", properties.getTransport());
+        log.info("Excluded paths: {:<40} ", pathRules.getExcludePatterns());
 
         FilterRegistrationBean<MonitoringFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(new MonitoringFilter(monitoringService, properties));
+        registration.setFilter(new MonitoringFilter(monitoringService, properties, pathRules, requestSampler,
+                new HeaderExtractor(properties.getHeaders())));
         registration.addUrlPatterns("/*");
         registration.setOrder(1);
         registration.setName("monitoringFilter");
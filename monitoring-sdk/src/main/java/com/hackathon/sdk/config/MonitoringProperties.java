@@ -1,7 +1,17 @@
 package com.hackathon.sdk.config;
 
+import com.hackathon.sdk.buffer.OverflowPolicy;
+import com.hackathon.sdk.client.MonitoringTransport;
+import com.hackathon.sdk.client.WireCompression;
+import com.hackathon.sdk.client.WireFormat;
+import com.hackathon.sdk.dispatch.DispatchThreadType;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Data
 @ConfigurationProperties(prefix = "monitoring")
@@ -33,12 +43,304 @@ public class MonitoringProperties {
     private boolean async = true;
 
     /**
-     * Maximum request body size to capture (in bytes)
+     * HTTP stack used to send payloads to the backend
+     */
+    private MonitoringTransport transport = MonitoringTransport.POOLED;
+
+    /**
+     * Connections to the backend
+     */
+    private final Connection connection = new Connection();
+
+    /**
+     * Encoding of batches sent to the backend
+     */
+    private final Wire wire = new Wire();
+
+    /**
+     * Local disk queue for batches the backend could not take
+     */
+    private final Spill spill = new Spill();
+
+    /**
+     * Fail fast instead of waiting on a backend that keeps failing
+     */
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * Maximum request body size to capture (in bytes), 0 disables request body capture
      */
     private int maxBodySize = 10000;
 
     /**
-     * Maximum response body size to capture (in bytes)
+     * Maximum response body size to capture (in bytes), 0 disables response body capture
      */
     private int maxResponseSize = 10000;
-}
\ No newline at end of file
+
+    /**
+     * Which request paths are monitored
+     */
+    private final Paths paths = new Paths();
+
+    /**
+     * Which request headers are captured
+     */
+    private final Headers headers = new Headers();
+
+    /**
+     * Which requests are captured
+     */
+    private final Sampling sampling = new Sampling();
+
+    /**
+     * In-memory buffering used in async mode
+     */
+    private final Buffer buffer = new Buffer();
+
+    /**
+     * Threads that send batches to the backend in async mode
+     */
+    private final Dispatch dispatch = new Dispatch();
+
+    @Data
+    public static class Paths {
+
+        /**
+         * Only monitor paths matching one of these Ant-style patterns; empty monitors every path not excluded
+         */
+        private List<String> include = new ArrayList<>();
+
+        /**
+         * Never monitor paths matching these Ant-style patterns, e.g. /actuator/** or /static/**
+         */
+        private List<String> exclude = new ArrayList<>(List.of(
+                "/actuator/**", "/monitoring/**", "/swagger-ui/**", "/swagger-ui.html", "/v3/api-docs/**"));
+    }
+
+    @Data
+    public static class Headers {
+
+        /**
+         * Only capture these request headers (case-insensitive); empty captures every header not denied
+         */
+        private List<String> allow = new ArrayList<>();
+
+        /**
+         * Never capture these request headers
+         */
+        private List<String> deny = new ArrayList<>();
+
+        /**
+         * Capture these request headers with their value replaced by [redacted]
+         */
+        private List<String> redact = new ArrayList<>(
+                List.of("Authorization", "Proxy-Authorization", "Cookie", "Set-Cookie", "X-API-Key"));
+    }
+
+    @Data
+    public static class Sampling {
+
+        /**
+         * Fraction of requests captured on routes without a matching rule, 1.0 captures everything
+         */
+        private double rate = 1.0;
+
+        /**
+         * Most requests captured per second on each route without a matching rule, 0 for no limit
+         */
+        private double maxPerSecond = 0;
+
+        /**
+         * Always capture requests answered with 4xx or 5xx
+         */
+        private boolean keepErrors = true;
+
+        /**
+         * Always capture requests at least this slow, 0 disables
+         */
+        private Duration slowThreshold = Duration.ofSeconds(1);
+
+        /**
+         * Per-route settings, the first rule whose pattern matches wins
+         */
+        private List<SamplingRule> rules = new ArrayList<>();
+    }
+
+    @Data
+    public static class SamplingRule {
+
+        /**
+         * Ant-style pattern matched against the path with identifiers collapsed, e.g. /api/products/**
+         */
+        private String pattern;
+
+        /**
+         * Fraction of matching requests captured
+         */
+        private double rate = 1.0;
+
+        /**
+         * Most matching requests captured per second on each route, 0 for no limit
+         */
+        private double maxPerSecond = 0;
+    }
+
+    @Data
+    public static class Buffer {
+
+        /**
+         * Maximum number of payloads held in memory (rounded up to a power of two)
+         */
+        private int capacity = 8192;
+
+        /**
+         * Maximum number of payloads sent in a single batch
+         */
+        private int batchSize = 500;
+
+        /**
+         * Maximum time a payload waits in the buffer before its batch is sent
+         */
+        private Duration flushInterval = Duration.ofMillis(200);
+
+        /**
+         * What to do with new payloads when the buffer is full
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+        /**
+         * Fraction of overflowing payloads admitted when using the SAMPLE policy
+         */
+        private double overflowSampleRate = 0.1;
+    }
+
+    @Data
+    public static class Dispatch {
+
+        /**
+         * Number of concurrent sends to the backend
+         */
+        private int threads = 2;
+
+        /**
+         * Batches waiting for a free thread before new ones are rejected
+         */
+        private int queueCapacity = 16;
+
+        /**
+         * Platform threads, or virtual threads on Java 21+
+         */
+        private DispatchThreadType threadType = DispatchThreadType.PLATFORM;
+    }
+
+    @Data
+    public static class Connection {
+
+        /**
+         * Maximum open connections to the backend (pooled transport)
+         */
+        private int maxTotal = 20;
+
+        /**
+         * Maximum open connections per backend host (pooled transport)
+         */
+        private int maxPerRoute = 10;
+
+        /**
+         * Idle connections are closed after this long (pooled transport)
+         */
+        private Duration idleTimeout = Duration.ofSeconds(30);
+
+        /**
+         * How long a connection is kept alive when the backend does not say (pooled transport)
+         */
+        private Duration keepAlive = Duration.ofMinutes(1);
+
+        /**
+         * Pooled connections idle for longer than this are checked before reuse (pooled transport)
+         */
+        private Duration validateAfterInactivity = Duration.ofSeconds(2);
+
+        /**
+         * Negotiate HTTP/2, via h2c upgrade on plain http (jdk-http-client transport)
+         */
+        private boolean http2 = true;
+    }
+
+    @Data
+    public static class Wire {
+
+        /**
+         * Body format of batches; falls back to JSON if the backend does not accept it
+         */
+        private WireFormat format = WireFormat.SMILE;
+
+        /**
+         * Compression of batch bodies
+         */
+        private WireCompression compression = WireCompression.GZIP;
+
+        /**
+         * Batches smaller than this many bytes are sent uncompressed
+         */
+        private int compressionThreshold = 1024;
+    }
+
+    @Data
+    public static class Spill {
+
+        /**
+         * Write batches that fail to send to disk and replay them when the backend is back
+         */
+        private boolean enabled = false;
+
+        /**
+         * Directory holding the spill segment files
+         */
+        private String directory = System.getProperty("java.io.tmpdir") + "/monitoring-spill";
+
+        /**
+         * Total disk space the spill files may use; batches beyond it are dropped
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(256);
+
+        /**
+         * Size of each memory-mapped segment file, also the largest batch that can be spilled
+         */
+        private DataSize segmentSize = DataSize.ofMegabytes(16);
+
+        /**
+         * Wait before retrying a failed replay, doubled on each failure
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Upper bound for the replay backoff
+         */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Stop calling the backend for a while after repeated failures
+         */
+        private boolean enabled = true;
+
+        /**
+         * Consecutive failed calls (connection errors, timeouts, 5xx, 429) that open the circuit
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long the circuit first stays open, doubled each time the probe call fails
+         */
+        private Duration initialBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Upper bound for how long the circuit stays open
+         */
+        private Duration maxBackoff = Duration.ofMinutes(1);
+    }
+}
@@ -0,0 +1,92 @@
+package com.hackathon.sdk.dispatch;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, named executor that performs the blocking backend calls, so neither request
+ * threads nor the batch flusher ever wait on the network.
+ * When all threads are busy and the queue is full, work is rejected and counted instead of queued.
+ */
+@Slf4j
+@Component
+public class DispatchExecutor {
+
+    private static final String THREAD_NAME_PREFIX = "monitoring-dispatch-";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final ThreadPoolExecutor executor;
+    private final LongAdder submitted;
+    private final LongAdder rejected;
+
+    public DispatchExecutor(MonitoringProperties properties, MonitoringMetrics metrics) {
+        MonitoringProperties.Dispatch config = properties.getDispatch();
+        int threads = Math.max(1, config.getThreads());
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, config.getQueueCapacity())),
+                threadFactory(config.getThreadType()),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.submitted = metrics.counter("dispatch.submitted");
+        this.rejected = metrics.counter("dispatch.rejected");
+        metrics.gauge("dispatch.queue.size", () -> executor.getQueue().size());
+        metrics.gauge("dispatch.active", executor::getActiveCount);
+    }
+
+    /**
+     * Run {@code task} on a dispatch thread.
+     *
+     * @return false when the executor is saturated or shut down and the task was dropped
+     */
+    public boolean submit(Runnable task) {
+        try {
+            executor.execute(task);
+            submitted.increment();
+            return true;
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                log.warn("Monitoring dispatch did not finish within {} ms, abandoning {} queued tasks",
+                        SHUTDOWN_TIMEOUT_MILLIS, executor.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory threadFactory(DispatchThreadType threadType) {
+        if (threadType == DispatchThreadType.VIRTUAL) {
+            ThreadFactory virtual = VirtualThreads.factory(THREAD_NAME_PREFIX);
+            if (virtual != null) {
+                return virtual;
+            }
+            log.warn("Virtual threads need Java 21+, using platform threads for monitoring dispatch");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package com.hackathon.sdk.dispatch;
+
+/**
+ * Kind of threads that send batches to the backend.
+ */
+public enum DispatchThreadType {
+
+    /**
+     * Daemon platform threads, available on every supported Java version.
+     */
+    PLATFORM,
+
+    /**
+     * Virtual threads (Java 21+). Falls back to platform threads on older runtimes.
+     */
+    VIRTUAL
+}
@@ -1,72 +1,111 @@
 package com.hackathon.sdk.filter;
 
+import com.hackathon.sdk.buffer.ByteArrayPool;
 import jakarta.servlet.ReadListener;
 import jakarta.servlet.ServletInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
-import org.springframework.util.StreamUtils;
 
-import java.io.*;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Wrapper to cache the request body for multiple reads.
- * Standard HttpServletRequest can only be read once.
+ * Wrapper that captures the request body while the application reads it.
+ * The body streams through untouched; only the first {@code maxBodySize} bytes are kept,
+ * and only the part the application actually consumed.
  */
 public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
 
-    private final byte[] cachedBody;
+    private final CaptureBuffer capture;
+    private ServletInputStream inputStream;
+    private BufferedReader reader;
 
-    public CachedBodyHttpServletRequest(HttpServletRequest request) throws IOException {
+    public CachedBodyHttpServletRequest(HttpServletRequest request, ByteArrayPool pool, int maxBodySize) {
         super(request);
-        InputStream requestInputStream = request.getInputStream();
-        this.cachedBody = StreamUtils.copyToByteArray(requestInputStream);
+        this.capture = new CaptureBuffer(pool, maxBodySize);
     }
 
     @Override
-    public ServletInputStream getInputStream() {
-        return new CachedBodyServletInputStream(this.cachedBody);
+    public ServletInputStream getInputStream() throws IOException {
+        if (inputStream == null) {
+            inputStream = new CachedBodyServletInputStream(super.getInputStream(), capture);
+        }
+        return inputStream;
     }
 
     @Override
-    public BufferedReader getReader() {
-        ByteArrayInputStream byteArrayInputStream = new ByteArrayInputStream(this.cachedBody);
-        return new BufferedReader(new InputStreamReader(byteArrayInputStream));
+    public BufferedReader getReader() throws IOException {
+        if (reader == null) {
+            reader = new BufferedReader(new InputStreamReader(getInputStream(), resolveCharset()));
+        }
+        return reader;
     }
 
+    /**
+     * The captured part of the body, at most {@code maxBodySize} bytes.
+     */
     public byte[] getCachedBody() {
-        return cachedBody;
+        return capture.toByteArray();
+    }
+
+    public CaptureBuffer getCapture() {
+        return capture;
+    }
+
+    private Charset resolveCharset() throws UnsupportedEncodingException {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
     }
 
     private static class CachedBodyServletInputStream extends ServletInputStream {
 
-        private final InputStream cachedBodyInputStream;
+        private final ServletInputStream delegate;
+        private final CaptureBuffer capture;
 
-        public CachedBodyServletInputStream(byte[] cachedBody) {
-            this.cachedBodyInputStream = new ByteArrayInputStream(cachedBody);
+        CachedBodyServletInputStream(ServletInputStream delegate, CaptureBuffer capture) {
+            this.delegate = delegate;
+            this.capture = capture;
         }
 
         @Override
-        public boolean isFinished() {
-            try {
-                return cachedBodyInputStream.available() == 0;
-            } catch (IOException e) {
-                return false;
+        public int read() throws IOException {
+            int b = delegate.read();
+            if (b != -1) {
+                capture.write(b);
             }
+            return b;
         }
 
         @Override
-        public boolean isReady() {
-            return true;
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = delegate.read(b, off, len);
+            if (read > 0) {
+                capture.write(b, off, read);
+            }
+            return read;
         }
 
         @Override
-        public void setReadListener(ReadListener readListener) {
-            throw new UnsupportedOperationException();
+        public boolean isFinished() {
+            return delegate.isFinished();
         }
 
         @Override
-        public int read() throws IOException {
-            return cachedBodyInputStream.read();
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener readListener) {
+            delegate.setReadListener(readListener);
         }
     }
-}
\ No newline at end of file
+}
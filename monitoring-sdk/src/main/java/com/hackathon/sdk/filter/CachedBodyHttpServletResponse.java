@@ -1,58 +1,176 @@
 package com.hackathon.sdk.filter;
 
+import com.hackathon.sdk.buffer.ByteArrayPool;
 import jakarta.servlet.ServletOutputStream;
 import jakarta.servlet.WriteListener;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpServletResponseWrapper;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Wrapper to cache the response body while still sending it to the client.
+ * Wrapper that captures the response body while still sending it to the client.
+ * Only the first {@code maxResponseSize} bytes are kept; the real output stream is
+ * looked up the first time the application asks for it, and the writer encodes into
+ * that same stream so both paths reach the client.
+ * <p>
+ * Writes and flushes to the real stream are timed: the first one marks when the response
+ * started reaching the container, and their total is the time spent handing the body over.
+ * Single-byte writes only land in the container's buffer, so they mark the first write but
+ * are not timed themselves; the flush that sends them is.
  */
 public class CachedBodyHttpServletResponse extends HttpServletResponseWrapper {
 
-    private final ByteArrayOutputStream cachedBody = new ByteArrayOutputStream();
-    private final ServletOutputStream outputStream;
-    private final PrintWriter writer;
+    private final CaptureBuffer capture;
+    private final WriteTiming timing = new WriteTiming();
+    private CachedBodyServletOutputStream outputStream;
+    private PrintWriter writer;
 
-    public CachedBodyHttpServletResponse(HttpServletResponse response) throws IOException {
+    public CachedBodyHttpServletResponse(HttpServletResponse response, ByteArrayPool pool, int maxResponseSize) {
         super(response);
-        this.outputStream = new CachedBodyServletOutputStream(cachedBody, response.getOutputStream());
-        this.writer = new PrintWriter(new OutputStreamWriter(cachedBody, response.getCharacterEncoding()));
+        this.capture = new CaptureBuffer(pool, maxResponseSize);
     }
 
     @Override
-    public ServletOutputStream getOutputStream() {
-        return outputStream;
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        return teeStream();
     }
 
     @Override
-    public PrintWriter getWriter() {
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(teeStream(), resolveCharset()));
+        }
         return writer;
     }
 
+    @Override
+    public void flushBuffer() throws IOException {
+        flushWriter();
+        long start = System.nanoTime();
+        super.flushBuffer();
+        timing.record(start, System.nanoTime());
+    }
+
+    /**
+     * The captured part of the body, at most {@code maxResponseSize} bytes.
+     */
     public byte[] getCachedBody() {
-        return cachedBody.toByteArray();
+        flushWriter();
+        return capture.toByteArray();
+    }
+
+    public CaptureBuffer getCapture() {
+        flushWriter();
+        return capture;
+    }
+
+    /**
+     * {@link System#nanoTime()} of the first write or flush that reached the real response, or
+     * {@code null} when the application sent no body.
+     */
+    public Long getFirstWriteNanos() {
+        return timing.written ? timing.firstWriteNanos : null;
+    }
+
+    /**
+     * Time spent in writes and flushes of the real response, not counting the capture copy.
+     */
+    public long getWriteNanos() {
+        return timing.writeNanos;
+    }
+
+    private CachedBodyServletOutputStream teeStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CachedBodyServletOutputStream(capture, timing, super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    private void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    private Charset resolveCharset() throws UnsupportedEncodingException {
+        String encoding = getCharacterEncoding();
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.ISO_8859_1;
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedEncodingException(encoding);
+        }
+    }
+
+    private static class WriteTiming {
+
+        private boolean written;
+        private long firstWriteNanos;
+        private long writeNanos;
+
+        void record(long start, long end) {
+            markFirstWrite(start);
+            writeNanos += end - start;
+        }
+
+        void markFirstWrite(long now) {
+            if (!written) {
+                written = true;
+                firstWriteNanos = now;
+            }
+        }
     }
 
     private static class CachedBodyServletOutputStream extends ServletOutputStream {
 
-        private final ByteArrayOutputStream cachedBody;
+        private final CaptureBuffer capture;
+        private final WriteTiming timing;
         private final ServletOutputStream delegate;
 
-        public CachedBodyServletOutputStream(ByteArrayOutputStream cachedBody, ServletOutputStream delegate) {
-            this.cachedBody = cachedBody;
+        CachedBodyServletOutputStream(CaptureBuffer capture, WriteTiming timing, ServletOutputStream delegate) {
+            this.capture = capture;
+            this.timing = timing;
             this.delegate = delegate;
         }
 
         @Override
         public void write(int b) throws IOException {
-            cachedBody.write(b);
+            if (!timing.written) {
+                timing.markFirstWrite(System.nanoTime());
+            }
             delegate.write(b);
+            capture.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            long start = System.nanoTime();
+            delegate.write(b, off, len);
+            timing.record(start, System.nanoTime());
+            capture.write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            long start = System.nanoTime();
+            delegate.flush();
+            timing.record(start, System.nanoTime());
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
         }
 
         @Override
@@ -65,4 +183,4 @@ public class CachedBodyHttpServletResponse extends HttpServletResponseWrapper {
             delegate.setWriteListener(writeListener);
         }
     }
-}
\ No newline at end of file
+}
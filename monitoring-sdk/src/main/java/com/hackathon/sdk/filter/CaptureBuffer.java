@@ -0,0 +1,99 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.buffer.ByteArrayPool;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Keeps the first {@code limit} bytes of a body that streams past it and counts the rest.
+ * The backing array is taken from a {@link ByteArrayPool} on the first write, so bodies
+ * that are never read or written cost nothing, and is handed back by {@link #release(boolean)}.
+ */
+public class CaptureBuffer {
+
+    private final ByteArrayPool pool;
+    private final int limit;
+    private byte[] buffer;
+    private int captured;
+    private long total;
+    private long captureNanos;
+    private boolean released;
+
+    public CaptureBuffer(ByteArrayPool pool, int limit) {
+        this.pool = pool;
+        this.limit = Math.max(limit, 0);
+    }
+
+    public void write(int b) {
+        total++;
+        if (captured < limit && ensureBuffer()) {
+            buffer[captured++] = (byte) b;
+        }
+    }
+
+    public void write(byte[] bytes, int offset, int length) {
+        total += length;
+        int toCopy = Math.min(length, limit - captured);
+        if (toCopy > 0) {
+            long start = System.nanoTime();
+            if (ensureBuffer()) {
+                System.arraycopy(bytes, offset, buffer, captured, toCopy);
+                captured += toCopy;
+            }
+            captureNanos += System.nanoTime() - start;
+        }
+    }
+
+    /**
+     * Number of bytes that went through, captured or not.
+     */
+    public long getTotalBytes() {
+        return total;
+    }
+
+    /**
+     * Time spent copying bytes into the buffer, including taking the array from the pool.
+     */
+    public long getCaptureNanos() {
+        return captureNanos;
+    }
+
+    public boolean isTruncated() {
+        return total > captured;
+    }
+
+    public byte[] toByteArray() {
+        return buffer != null ? Arrays.copyOf(buffer, captured) : new byte[0];
+    }
+
+    public String toString(Charset charset) {
+        return buffer != null ? new String(buffer, 0, captured, charset) : "";
+    }
+
+    /**
+     * Stop capturing. The array goes back to the pool only when {@code recycle} is set,
+     * i.e. when nothing can write to this buffer any more.
+     */
+    public void release(boolean recycle) {
+        if (released) {
+            return;
+        }
+        released = true;
+        if (buffer != null && recycle) {
+            pool.release(buffer);
+        }
+        buffer = null;
+        captured = 0;
+    }
+
+    private boolean ensureBuffer() {
+        if (buffer == null) {
+            if (released) {
+                return false;
+            }
+            buffer = pool.acquire(limit);
+        }
+        return true;
+    }
+}
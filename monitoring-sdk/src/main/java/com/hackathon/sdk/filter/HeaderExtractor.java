@@ -0,0 +1,107 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Copies the request headers worth keeping into the payload, following {@code monitoring.headers}.
+ * <p>
+ * The header lists are compiled once into case-insensitively sorted arrays, so matching a header
+ * allocates nothing. With an allowlist only the listed headers are looked up, without enumerating
+ * the request; otherwise every header not denied is copied. Either way the map is sized up front
+ * and sensitive values are replaced by {@value #REDACTED} before they leave the filter.
+ */
+public final class HeaderExtractor {
+
+    public static final String REDACTED = "[redacted]";
+
+    private static final int MAX_EXPECTED_HEADERS = 64;
+
+    /** Headers looked up in allowlist mode, null when every header not denied is kept */
+    private final String[] allowed;
+    private final boolean[] allowedRedacted;
+    private final String[] denied;
+    private final String[] redacted;
+
+    /** Largest header count seen so far, only a sizing hint so races do not matter */
+    private int expectedHeaders = 8;
+
+    public HeaderExtractor(MonitoringProperties.Headers config) {
+        this.denied = sorted(config.getDeny());
+        this.redacted = sorted(config.getRedact());
+
+        if (config.getAllow().isEmpty()) {
+            this.allowed = null;
+            this.allowedRedacted = null;
+        } else {
+            TreeSet<String> seen = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            List<String> names = new ArrayList<>();
+            for (String name : config.getAllow()) {
+                if (!contains(denied, name) && seen.add(name)) {
+                    names.add(name);
+                }
+            }
+            this.allowed = names.toArray(String[]::new);
+            this.allowedRedacted = new boolean[allowed.length];
+            for (int i = 0; i < allowed.length; i++) {
+                allowedRedacted[i] = contains(redacted, allowed[i]);
+            }
+        }
+    }
+
+    public Map<String, String> extract(HttpServletRequest request) {
+        return allowed != null ? extractAllowed(request) : extractAll(request);
+    }
+
+    private Map<String, String> extractAllowed(HttpServletRequest request) {
+        Map<String, String> headers = new HashMap<>(capacityFor(allowed.length));
+        for (int i = 0; i < allowed.length; i++) {
+            String value = request.getHeader(allowed[i]);
+            if (value != null) {
+                headers.put(allowed[i], allowedRedacted[i] ? REDACTED : value);
+            }
+        }
+        return headers;
+    }
+
+    private Map<String, String> extractAll(HttpServletRequest request) {
+        Map<String, String> headers = new HashMap<>(capacityFor(expectedHeaders));
+        Enumeration<String> names = request.getHeaderNames();
+        if (names == null) {
+            return headers;
+        }
+        while (names.hasMoreElements()) {
+            String name = names.nextElement();
+            if (!contains(denied, name)) {
+                headers.put(name, contains(redacted, name) ? REDACTED : request.getHeader(name));
+            }
+        }
+        if (headers.size() > expectedHeaders) {
+            expectedHeaders = Math.min(headers.size(), MAX_EXPECTED_HEADERS);
+        }
+        return headers;
+    }
+
+    private static int capacityFor(int entries) {
+        // HashMap resizes past 75% load
+        return (int) (entries / 0.75f) + 1;
+    }
+
+    private static boolean contains(String[] sortedNames, String name) {
+        return sortedNames.length > 0 && Arrays.binarySearch(sortedNames, name, String.CASE_INSENSITIVE_ORDER) >= 0;
+    }
+
+    private static String[] sorted(List<String> names) {
+        TreeSet<String> set = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        set.addAll(names);
+        return set.toArray(String[]::new);
+    }
+}
@@ -1,7 +1,10 @@
 package com.hackathon.sdk.filter;
 
+import com.hackathon.sdk.buffer.ByteArrayPool;
 import com.hackathon.sdk.config.MonitoringProperties;
 import com.hackathon.sdk.model.ApiRequestPayload;
+import com.hackathon.sdk.sampling.RequestSampler;
+import com.hackathon.sdk.sampling.SamplingDecision;
 import com.hackathon.sdk.service.MonitoringService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,13 +13,11 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Filter that intercepts all HTTP requests and captures monitoring data.
@@ -25,8 +26,17 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class MonitoringFilter extends OncePerRequestFilter {
 
+    /**
+     * Idle capture buffers kept for reuse, enough for the usual number of concurrent requests
+     */
+    private static final int BUFFER_POOL_SIZE = 64;
+
     private final MonitoringService monitoringService;
     private final MonitoringProperties properties;
+    private final PathRules pathRules;
+    private final RequestSampler sampler;
+    private final HeaderExtractor headerExtractor;
+    private final ByteArrayPool bufferPool = new ByteArrayPool(BUFFER_POOL_SIZE);
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -38,95 +48,110 @@ public class MonitoringFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Skip monitoring endpoints to avoid infinite loops
-        String requestUri = request.getRequestURI();
-        if (requestUri.contains("/actuator") ||
-                requestUri.contains("/monitoring") ||
-                requestUri.contains("/swagger") ||
-                requestUri.contains("/v3/api-docs")) {
+        // Skip excluded paths such as monitoring and health endpoints
+        if (!pathRules.isMonitored(request)) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+
+        // Requests that lose the head sampling decision are not worth copying bodies for
+        SamplingDecision sampling = sampler.decide(request);
+        boolean captureBodies = sampling.sampled();
 
-        // Wrap request and response to cache bodies
-        CachedBodyHttpServletRequest cachedRequest = new CachedBodyHttpServletRequest(request);
-        CachedBodyHttpServletResponse cachedResponse = new CachedBodyHttpServletResponse(response);
+        // Wrap request and response to capture bodies, unless capture is disabled
+        CachedBodyHttpServletRequest cachedRequest = captureBodies && properties.getMaxBodySize() > 0
+                ? new CachedBodyHttpServletRequest(request, bufferPool, properties.getMaxBodySize())
+                : null;
+        CachedBodyHttpServletResponse cachedResponse = captureBodies && properties.getMaxResponseSize() > 0
+                ? new CachedBodyHttpServletResponse(response, bufferPool, properties.getMaxResponseSize())
+                : null;
 
+        long chainStartNanos = System.nanoTime();
         try {
             // Continue filter chain
-            filterChain.doFilter(cachedRequest, cachedResponse);
+            filterChain.doFilter(cachedRequest != null ? cachedRequest : request,
+                    cachedResponse != null ? cachedResponse : response);
         } finally {
-            long endTime = System.currentTimeMillis();
-            long responseTime = endTime - startTime;
+            long chainEndNanos = System.nanoTime();
+            RequestPhases phases = RequestPhases.measure(
+                    startNanos, chainStartNanos, chainEndNanos, cachedRequest, cachedResponse);
+
+            // Errors and slow requests are kept even when they lost the head decision
+            long sampleWeight = sampler.complete(sampling, response.getStatus(), phases.durationMillis());
 
             // Build payload
-            ApiRequestPayload payload = buildPayload(
-                    cachedRequest,
-                    cachedResponse,
-                    responseTime
-            );
+            ApiRequestPayload payload = sampleWeight > 0
+                    ? buildPayload(request, response, cachedRequest, cachedResponse, phases, sampleWeight)
+                    : null;
+
+            // An async request may still be writing, so its buffers are not reused
+            boolean recycle = !request.isAsyncStarted();
+            if (cachedRequest != null) {
+                cachedRequest.getCapture().release(recycle);
+            }
+            if (cachedResponse != null) {
+                cachedResponse.getCapture().release(recycle);
+            }
 
             // Send to monitoring service
-            monitoringService.captureRequest(payload);
+            if (payload != null) {
+                monitoringService.captureRequest(payload);
+            }
         }
     }
 
-    private ApiRequestPayload buildPayload(CachedBodyHttpServletRequest request,
-                                           CachedBodyHttpServletResponse response,
-                                           long responseTime) {
+    private ApiRequestPayload buildPayload(HttpServletRequest request,
+                                           HttpServletResponse response,
+                                           CachedBodyHttpServletRequest cachedRequest,
+                                           CachedBodyHttpServletResponse cachedResponse,
+                                           RequestPhases phases,
+                                           long sampleWeight) {
         return ApiRequestPayload.builder()
                 .projectId(properties.getProjectId())
                 .method(request.getMethod())
                 .path(request.getRequestURI())
+                .routeTemplate(resolveRouteTemplate(request))
                 .queryString(request.getQueryString())
                 .responseStatus(response.getStatus())
-                .responseTime(responseTime)
+                .responseTime(phases.durationMillis())
+                .durationMicros(RequestPhases.micros(phases.durationNanos()))
+                .timeToFirstByteMicros(RequestPhases.micros(phases.firstByteNanos()))
+                .handlerMicros(RequestPhases.micros(phases.handlerNanos()))
+                .captureOverheadMicros(RequestPhases.micros(phases.captureNanos()))
+                .responseWriteMicros(RequestPhases.micros(phases.responseWriteNanos()))
                 .createdAt(LocalDateTime.now())
-                .requestHeaders(extractHeaders(request))
-                .requestBody(extractRequestBody(request))
-                .responseBody(extractResponseBody(response))
+                .requestHeaders(headerExtractor.extract(request))
+                .requestBody(cachedRequest != null ? extractBody(cachedRequest.getCapture()) : null)
+                .responseBody(cachedResponse != null ? extractBody(cachedResponse.getCapture()) : null)
+                .sampleRate(sampleWeight > 1 ? 1.0 / sampleWeight : null)
                 .build();
     }
 
-    private Map<String, String> extractHeaders(HttpServletRequest request) {
-        Map<String, String> headers = new HashMap<>();
-        Collections.list(request.getHeaderNames()).forEach(headerName ->
-                headers.put(headerName, request.getHeader(headerName))
-        );
-        return headers;
-    }
-
-    private String extractRequestBody(CachedBodyHttpServletRequest request) {
-        try {
-            byte[] body = request.getCachedBody();
-            if (body.length == 0) {
-                return null;
-            }
-            if (body.length > properties.getMaxBodySize()) {
-                return new String(body, 0, properties.getMaxBodySize(), StandardCharsets.UTF_8) + "... [truncated]";
-            }
-            return new String(body, StandardCharsets.UTF_8);
-        } catch (Exception e) {
-            log.warn("Failed to extract request body", e);
-            return null;
+    /**
+     * The handler pattern Spring MVC matched, e.g. {@code /api/users/{id}}, so all requests to one
+     * handler share an endpoint. Requests without a specific handler fall back to {@link PathNormalizer}.
+     */
+    private String resolveRouteTemplate(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        // Catch-all patterns such as the static resource "/**" would merge unrelated paths
+        if (pattern instanceof String template && !template.endsWith("/**")) {
+            return request.getContextPath() + template;
         }
+        return PathNormalizer.normalize(request.getRequestURI());
     }
 
-    private String extractResponseBody(CachedBodyHttpServletResponse response) {
+    private String extractBody(CaptureBuffer capture) {
         try {
-            byte[] body = response.getCachedBody();
-            if (body.length == 0) {
+            if (capture.getTotalBytes() == 0) {
                 return null;
             }
-            if (body.length > properties.getMaxResponseSize()) {
-                return new String(body, 0, properties.getMaxResponseSize(), StandardCharsets.UTF_8) + "... [truncated]";
-            }
-            return new String(body, StandardCharsets.UTF_8);
+            String body = capture.toString(StandardCharsets.UTF_8);
+            return capture.isTruncated() ? body + "... [truncated]" : body;
         } catch (Exception e) {
-            log.warn("Failed to extract response body", e);
+            log.warn("Failed to extract body", e);
             return null;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,83 @@
+package com.hackathon.sdk.filter;
+
+/**
+ * Collapses identifier-like path segments into {@code {id}}, so requests that did not match
+ * a Spring MVC handler pattern still group into a bounded number of endpoints.
+ * <p>
+ * A segment is treated as an identifier when it is numeric, a UUID, a hex string of at least
+ * 16 characters (hashes, object ids), or a token of at least 20 URL-safe characters containing a digit.
+ */
+public final class PathNormalizer {
+
+    public static final String ID_PLACEHOLDER = "{id}";
+
+    private static final int MIN_HEX_LENGTH = 16;
+    private static final int MIN_TOKEN_LENGTH = 20;
+
+    private PathNormalizer() {
+    }
+
+    public static String normalize(String path) {
+        if (path == null || path.isEmpty()) {
+            return path;
+        }
+        StringBuilder normalized = null;
+        int segmentStart = 0;
+        for (int i = 0; i <= path.length(); i++) {
+            if (i == path.length() || path.charAt(i) == '/') {
+                if (i > segmentStart && isIdentifier(path, segmentStart, i)) {
+                    if (normalized == null) {
+                        normalized = new StringBuilder(path.length()).append(path, 0, segmentStart);
+                    }
+                    normalized.append(ID_PLACEHOLDER);
+                } else if (normalized != null) {
+                    normalized.append(path, segmentStart, i);
+                }
+                if (normalized != null && i < path.length()) {
+                    normalized.append('/');
+                }
+                segmentStart = i + 1;
+            }
+        }
+        // Most paths have nothing to replace and are returned without copying
+        return normalized != null ? normalized.toString() : path;
+    }
+
+    static boolean isIdentifier(CharSequence path, int start, int end) {
+        int length = end - start;
+        boolean allDigits = true;
+        boolean allHex = true;
+        boolean urlSafe = true;
+        boolean hasDigit = false;
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            boolean digit = c >= '0' && c <= '9';
+            boolean hex = digit || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+            hasDigit |= digit;
+            allDigits &= digit;
+            allHex &= hex;
+            urlSafe &= hex || (c >= 'g' && c <= 'z') || (c >= 'G' && c <= 'Z') || c == '-' || c == '_';
+        }
+        return allDigits
+                || isUuid(path, start, length)
+                || (allHex && length >= MIN_HEX_LENGTH)
+                || (urlSafe && hasDigit && length >= MIN_TOKEN_LENGTH);
+    }
+
+    private static boolean isUuid(CharSequence path, int start, int length) {
+        if (length != 36) {
+            return false;
+        }
+        for (int i = 0; i < 36; i++) {
+            char c = path.charAt(start + i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') {
+                    return false;
+                }
+            } else if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
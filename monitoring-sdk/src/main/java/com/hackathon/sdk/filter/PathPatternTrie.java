@@ -0,0 +1,189 @@
+package com.hackathon.sdk.filter;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ant-style path patterns compiled into a trie of path segments, so a path is checked against
+ * all of them in one walk instead of one pattern at a time.
+ * <p>
+ * Supported segments: literals, {@code *} (one segment), {@code **} (any number of segments,
+ * including none, so {@code /actuator/**} also matches {@code /actuator}) and globs such as
+ * {@code *.css} or {@code v?}. Patterns only match whole segments, so {@code /monitoring/**}
+ * does not match {@code /monitoring-reports}. Empty segments are ignored.
+ * <p>
+ * Matching compares segments in place and allocates nothing. Immutable once built.
+ */
+final class PathPatternTrie {
+
+    private final Node root = new Node();
+    private final boolean empty;
+
+    PathPatternTrie(List<String> patterns) {
+        for (int i = 0; i < patterns.size(); i++) {
+            add(patterns.get(i), i);
+        }
+        this.empty = patterns.isEmpty();
+    }
+
+    boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * Index of a pattern matching {@code path} from {@code from} on, or -1 when none does.
+     */
+    int match(String path, int from) {
+        return empty ? -1 : match(root, path, from);
+    }
+
+    private void add(String pattern, int index) {
+        Node node = root;
+        int pos = 0;
+        while (true) {
+            int start = skipSlashes(pattern, pos);
+            if (start == pattern.length()) {
+                break;
+            }
+            int end = segmentEnd(pattern, start);
+            node = node.child(pattern.substring(start, end));
+            pos = end;
+        }
+        if (node.pattern < 0) {
+            node.pattern = index;
+        }
+    }
+
+    private static int match(Node node, String path, int pos) {
+        int start = skipSlashes(path, pos);
+        if (start == path.length()) {
+            if (node.pattern >= 0) {
+                return node.pattern;
+            }
+            return node.anyPath != null ? match(node.anyPath, path, start) : -1;
+        }
+        int end = segmentEnd(path, start);
+        int length = end - start;
+
+        for (int i = 0; i < node.literals.length; i++) {
+            String literal = node.literals[i];
+            if (literal.length() == length && path.regionMatches(start, literal, 0, length)) {
+                int result = match(node.literalChildren[i], path, end);
+                if (result >= 0) {
+                    return result;
+                }
+            }
+        }
+        for (int i = 0; i < node.globs.length; i++) {
+            if (globMatches(node.globs[i], path, start, end)) {
+                int result = match(node.globChildren[i], path, end);
+                if (result >= 0) {
+                    return result;
+                }
+            }
+        }
+        if (node.anySegment != null) {
+            int result = match(node.anySegment, path, end);
+            if (result >= 0) {
+                return result;
+            }
+        }
+        if (node.anyPath != null) {
+            // Let ** swallow zero, one, two... segments
+            int boundary = start;
+            while (true) {
+                int result = match(node.anyPath, path, boundary);
+                if (result >= 0) {
+                    return result;
+                }
+                if (boundary == path.length()) {
+                    return -1;
+                }
+                boundary = segmentEnd(path, skipSlashes(path, boundary));
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@code *} matches any run of characters and {@code ?} exactly one, within the segment.
+     */
+    private static boolean globMatches(String glob, String path, int start, int end) {
+        int g = 0;
+        int p = start;
+        int starAt = -1;
+        int starMatchedUpTo = start;
+        while (p < end) {
+            if (g < glob.length() && (glob.charAt(g) == '?' || glob.charAt(g) == path.charAt(p))) {
+                g++;
+                p++;
+            } else if (g < glob.length() && glob.charAt(g) == '*') {
+                starAt = g++;
+                starMatchedUpTo = p;
+            } else if (starAt >= 0) {
+                g = starAt + 1;
+                p = ++starMatchedUpTo;
+            } else {
+                return false;
+            }
+        }
+        while (g < glob.length() && glob.charAt(g) == '*') {
+            g++;
+        }
+        return g == glob.length();
+    }
+
+    private static int skipSlashes(String path, int pos) {
+        while (pos < path.length() && path.charAt(pos) == '/') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int segmentEnd(String path, int start) {
+        int slash = path.indexOf('/', start);
+        return slash >= 0 ? slash : path.length();
+    }
+
+    private static final class Node {
+
+        private String[] literals = new String[0];
+        private Node[] literalChildren = new Node[0];
+        private String[] globs = new String[0];
+        private Node[] globChildren = new Node[0];
+        private Node anySegment;
+        private Node anyPath;
+        /** Index of the pattern ending at this node, -1 if none */
+        private int pattern = -1;
+
+        Node child(String segment) {
+            if (segment.equals("**")) {
+                return anyPath != null ? anyPath : (anyPath = new Node());
+            }
+            if (segment.equals("*")) {
+                return anySegment != null ? anySegment : (anySegment = new Node());
+            }
+            boolean glob = segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0;
+            String[] keys = glob ? globs : literals;
+            Node[] children = glob ? globChildren : literalChildren;
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            Node child = new Node();
+            keys = Arrays.copyOf(keys, keys.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            keys[keys.length - 1] = segment;
+            children[children.length - 1] = child;
+            if (glob) {
+                globs = keys;
+                globChildren = children;
+            } else {
+                literals = keys;
+                literalChildren = children;
+            }
+            return child;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which request paths are monitored from the {@code monitoring.paths} include and exclude
+ * patterns, compiled once into {@link PathPatternTrie}s. Exclusions win; when includes are configured
+ * a path must also match one of them. Paths are matched without the servlet context path.
+ * <p>
+ * Every pattern counts the requests it decided as {@code paths.include.<pattern>} or
+ * {@code paths.exclude.<pattern>}; requests matching no include are counted as {@code paths.not-included}.
+ */
+public final class PathRules {
+
+    private final List<String> includePatterns;
+    private final List<String> excludePatterns;
+    private final PathPatternTrie includes;
+    private final PathPatternTrie excludes;
+    private final LongAdder[] includeHits;
+    private final LongAdder[] excludeHits;
+    private final LongAdder notIncluded;
+
+    public PathRules(MonitoringProperties.Paths config, MonitoringMetrics metrics) {
+        this.includePatterns = List.copyOf(config.getInclude());
+        this.excludePatterns = List.copyOf(config.getExclude());
+        this.includes = new PathPatternTrie(includePatterns);
+        this.excludes = new PathPatternTrie(excludePatterns);
+        this.includeHits = counters(metrics, "paths.include.", includePatterns);
+        this.excludeHits = counters(metrics, "paths.exclude.", excludePatterns);
+        this.notIncluded = metrics.counter("paths.not-included");
+    }
+
+    public boolean isMonitored(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int from = request.getContextPath().length();
+
+        int excluded = excludes.match(uri, from);
+        if (excluded >= 0) {
+            excludeHits[excluded].increment();
+            return false;
+        }
+        if (includes.isEmpty()) {
+            return true;
+        }
+        int included = includes.match(uri, from);
+        if (included < 0) {
+            notIncluded.increment();
+            return false;
+        }
+        includeHits[included].increment();
+        return true;
+    }
+
+    public List<String> getIncludePatterns() {
+        return includePatterns;
+    }
+
+    public List<String> getExcludePatterns() {
+        return excludePatterns;
+    }
+
+    private static LongAdder[] counters(MonitoringMetrics metrics, String prefix, List<String> patterns) {
+        LongAdder[] counters = new LongAdder[patterns.size()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = metrics.counter(prefix + patterns.get(i));
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,48 @@
+package com.hackathon.sdk.filter;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time of one request went, measured with {@link System#nanoTime()} so it is immune to
+ * wall-clock adjustments. Write-side phases are only known when the response body was captured,
+ * because only then does the filter see the writes.
+ *
+ * @param durationNanos      from entering the filter until the rest of the chain returned
+ * @param firstByteNanos     from entering the filter until the first write or flush of the response, if any
+ * @param handlerNanos       time in the application, excluding body capture and response writes
+ * @param captureNanos       time the SDK added: sampling, wrapping and copying bodies
+ * @param responseWriteNanos time spent handing the response body to the container, if it was captured
+ */
+record RequestPhases(long durationNanos,
+                     Long firstByteNanos,
+                     long handlerNanos,
+                     long captureNanos,
+                     Long responseWriteNanos) {
+
+    static RequestPhases measure(long startNanos,
+                                 long chainStartNanos,
+                                 long chainEndNanos,
+                                 CachedBodyHttpServletRequest cachedRequest,
+                                 CachedBodyHttpServletResponse cachedResponse) {
+        long copyNanos = (cachedRequest != null ? cachedRequest.getCapture().getCaptureNanos() : 0)
+                + (cachedResponse != null ? cachedResponse.getCapture().getCaptureNanos() : 0);
+        Long writeNanos = cachedResponse != null ? cachedResponse.getWriteNanos() : null;
+        Long firstWrite = cachedResponse != null ? cachedResponse.getFirstWriteNanos() : null;
+
+        long handlerNanos = chainEndNanos - chainStartNanos - copyNanos - (writeNanos != null ? writeNanos : 0);
+        return new RequestPhases(
+                chainEndNanos - startNanos,
+                firstWrite != null ? firstWrite - startNanos : null,
+                Math.max(handlerNanos, 0),
+                chainStartNanos - startNanos + copyNanos,
+                writeNanos);
+    }
+
+    long durationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    static Long micros(Long nanos) {
+        return nanos != null ? TimeUnit.NANOSECONDS.toMicros(nanos) : null;
+    }
+}
@@ -0,0 +1,44 @@
+package com.hackathon.sdk.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lightweight registry for the SDK's internal counters and gauges.
+ * Components look up their counters once and increment them on the hot path.
+ */
+@Component
+public class MonitoringMetrics {
+
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Get or create a counter with the given name.
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Register a gauge whose value is sampled when a snapshot is taken.
+     */
+    public void gauge(String name, Supplier<? extends Number> supplier) {
+        gauges.put(name, supplier);
+    }
+
+    /**
+     * Point-in-time view of all counters and gauges, sorted by name.
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> snapshot = new TreeMap<>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.get()));
+        return snapshot;
+    }
+}
@@ -21,12 +21,45 @@ public class ApiRequestPayload {
 
     private String path;
 
+    /**
+     * Matched handler pattern such as {@code /api/users/{id}}, or the path with identifiers collapsed
+     */
+    private String routeTemplate;
+
     private Integer responseStatus;
 
     private String responseBody;
 
+    /**
+     * Milliseconds, kept for clients reading it; the fields below have the microsecond breakdown
+     */
     private Long responseTime;
 
+    /**
+     * Microseconds from the SDK filter seeing the request until the application returned
+     */
+    private Long durationMicros;
+
+    /**
+     * Microseconds until the first response byte was handed to the container, null when not measured
+     */
+    private Long timeToFirstByteMicros;
+
+    /**
+     * Microseconds spent in the application itself
+     */
+    private Long handlerMicros;
+
+    /**
+     * Microseconds the SDK added to the request: sampling, wrapping and copying bodies
+     */
+    private Long captureOverheadMicros;
+
+    /**
+     * Microseconds spent writing the response body to the container, null when not measured
+     */
+    private Long responseWriteMicros;
+
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime createdAt;
 
@@ -35,4 +68,9 @@ public class ApiRequestPayload {
     private String requestBody;
 
     private String queryString;
+
+    /**
+     * Fraction of its route's requests this payload was sampled from, null when nothing was sampled away
+     */
+    private Double sampleRate;
 }
\ No newline at end of file
@@ -0,0 +1,123 @@
+package com.hackathon.sdk.sampling;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.config.MonitoringProperties.SamplingRule;
+import com.hackathon.sdk.filter.PathNormalizer;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides which requests are captured, per route.
+ * <p>
+ * The head decision is made before the request runs, from a fixed rate and an optional
+ * per-second limit, so requests that lose it skip body capture. Once the response is known,
+ * errors and slow requests are kept anyway. Every kept payload carries the number of requests
+ * it stands for (the requests skipped on its route since the previous kept one), which the
+ * backend uses to keep endpoint totals correct.
+ * <p>
+ * Routes are request paths with identifiers collapsed by {@link PathNormalizer}; past
+ * {@value #MAX_ROUTES} distinct routes the rest share the default settings.
+ */
+@Component
+public class RequestSampler {
+
+    static final int MAX_ROUTES = 1024;
+
+    private static final SamplingDecision ALWAYS = new RouteSampler(1.0, 0).decide();
+
+    private final MonitoringProperties.Sampling config;
+    private final List<SamplingRule> rules;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean sampling;
+    private final long slowThresholdMillis;
+    private final ConcurrentHashMap<String, RouteSampler> routes = new ConcurrentHashMap<>();
+    private final RouteSampler overflowRoute;
+
+    private final LongAdder kept;
+    private final LongAdder keptByTailRule;
+    private final LongAdder dropped;
+
+    public RequestSampler(MonitoringProperties properties, MonitoringMetrics metrics) {
+        this.config = properties.getSampling();
+        this.rules = List.copyOf(config.getRules());
+        this.sampling = config.getRate() < 1.0 || config.getMaxPerSecond() > 0
+                || rules.stream().anyMatch(rule -> rule.getRate() < 1.0 || rule.getMaxPerSecond() > 0);
+        this.slowThresholdMillis = config.getSlowThreshold().toMillis();
+        this.overflowRoute = new RouteSampler(config.getRate(), config.getMaxPerSecond());
+
+        this.kept = metrics.counter("sampling.kept");
+        this.keptByTailRule = metrics.counter("sampling.kept.tail");
+        this.dropped = metrics.counter("sampling.dropped");
+        metrics.gauge("sampling.routes", routes::size);
+    }
+
+    /**
+     * Head decision, taken before the request is handed to the application.
+     */
+    public SamplingDecision decide(HttpServletRequest request) {
+        if (!sampling) {
+            return ALWAYS;
+        }
+        return routeOf(request.getRequestURI()).decide();
+    }
+
+    /**
+     * Final decision once the response is known.
+     *
+     * @return how many requests the payload stands for, or 0 when it should be dropped
+     */
+    public long complete(SamplingDecision decision, int status, long responseTimeMillis) {
+        RouteSampler route = decision.route();
+        if (!route.isSampling()) {
+            kept.increment();
+            return 1;
+        }
+        if (isKeptByTailRule(status, responseTimeMillis)) {
+            // Every such request is kept, so each one stands for itself only
+            if (!decision.sampled()) {
+                keptByTailRule.increment();
+            }
+            kept.increment();
+            return 1;
+        }
+        if (!decision.sampled()) {
+            route.skip();
+            dropped.increment();
+            return 0;
+        }
+        kept.increment();
+        return route.keep();
+    }
+
+    private boolean isKeptByTailRule(int status, long responseTimeMillis) {
+        return (config.isKeepErrors() && status >= 400)
+                || (slowThresholdMillis > 0 && responseTimeMillis >= slowThresholdMillis);
+    }
+
+    private RouteSampler routeOf(String path) {
+        String route = PathNormalizer.normalize(path);
+        RouteSampler sampler = routes.get(route);
+        if (sampler != null) {
+            return sampler;
+        }
+        if (routes.size() >= MAX_ROUTES) {
+            return overflowRoute;
+        }
+        return routes.computeIfAbsent(route, this::createRouteSampler);
+    }
+
+    private RouteSampler createRouteSampler(String route) {
+        for (SamplingRule rule : rules) {
+            if (pathMatcher.match(rule.getPattern(), route)) {
+                return new RouteSampler(rule.getRate(), rule.getMaxPerSecond());
+            }
+        }
+        return new RouteSampler(config.getRate(), config.getMaxPerSecond());
+    }
+}
@@ -0,0 +1,45 @@
+package com.hackathon.sdk.sampling;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sampling state of one route: a fixed rate, an optional rate limit, and the number of
+ * requests sampled away since the last kept one, which that next kept request stands for.
+ */
+public final class RouteSampler {
+
+    private final double rate;
+    private final TokenBucket bucket;
+    private final AtomicLong skipped = new AtomicLong();
+    private final SamplingDecision sampled = new SamplingDecision(this, true);
+    private final SamplingDecision notSampled = new SamplingDecision(this, false);
+
+    RouteSampler(double rate, double maxPerSecond) {
+        this.rate = rate;
+        this.bucket = maxPerSecond > 0 ? new TokenBucket(maxPerSecond) : null;
+    }
+
+    boolean isSampling() {
+        return rate < 1.0 || bucket != null;
+    }
+
+    SamplingDecision decide() {
+        if (rate < 1.0 && ThreadLocalRandom.current().nextDouble() >= rate) {
+            return notSampled;
+        }
+        return bucket == null || bucket.tryAcquire() ? sampled : notSampled;
+    }
+
+    void skip() {
+        skipped.incrementAndGet();
+    }
+
+    /**
+     * Weight of a kept request: itself plus everything skipped since the previous one.
+     */
+    long keep() {
+        // Plain read first so a route with nothing skipped never writes the shared counter
+        return 1 + (skipped.get() == 0 ? 0 : skipped.getAndSet(0));
+    }
+}
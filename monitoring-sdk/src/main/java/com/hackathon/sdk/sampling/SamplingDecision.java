@@ -0,0 +1,10 @@
+package com.hackathon.sdk.sampling;
+
+/**
+ * Head sampling decision for one request, completed by {@link RequestSampler#complete} once the response is known.
+ *
+ * @param route   per-route sampling state the request is accounted to
+ * @param sampled whether the request won the head decision, so its bodies are worth capturing
+ */
+public record SamplingDecision(RouteSampler route, boolean sampled) {
+}
@@ -0,0 +1,38 @@
+package com.hackathon.sdk.sampling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket holding up to one second worth of tokens (at least one), refilled at {@code permitsPerSecond}.
+ * Implemented as a generic cell rate algorithm: the only state is the time at which the bucket will
+ * next be full, advanced with a CAS for every permit handed out.
+ */
+final class TokenBucket {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final long nanosPerPermit;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+
+    TokenBucket(double permitsPerSecond) {
+        this.nanosPerPermit = Math.max(1, (long) (ONE_SECOND / permitsPerSecond));
+        this.burstNanos = Math.max(ONE_SECOND, nanosPerPermit);
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    boolean tryAcquire() {
+        long now = System.nanoTime();
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, now) + nanosPerPermit;
+            if (next - now > burstNanos) {
+                return false;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.hackathon.sdk.service;
+
+import com.hackathon.sdk.buffer.BoundedRingBuffer;
+import com.hackathon.sdk.buffer.OverflowPolicy;
+import com.hackathon.sdk.client.BackendCircuitBreaker;
+import com.hackathon.sdk.client.CircuitOpenException;
+import com.hackathon.sdk.client.MonitoringApiClient;
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.dispatch.DispatchExecutor;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import com.hackathon.sdk.spill.SpillManager;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffers captured payloads in a bounded ring buffer and ships them to the
+ * backend in batches from a dedicated flusher thread.
+ * A batch is sent once it reaches the configured size or its oldest payload
+ * has waited for the configured flush interval, whichever comes first.
+ * The sends themselves run on the {@link DispatchExecutor}, so a slow backend
+ * does not stop the flusher from draining the buffer. Batches that cannot be sent
+ * for now go to the {@link SpillManager} when spilling is enabled, including those
+ * short-circuited while the backend circuit is open; batches the backend turned down
+ * are dropped, since sending them again would not change the answer.
+ */
+@Slf4j
+@Component
+public class BatchDispatcher {
+
+    private static final int MAX_EVICTION_ATTEMPTS = 4;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final MonitoringApiClient apiClient;
+    private final MonitoringProperties properties;
+    private final DispatchExecutor dispatchExecutor;
+    private final SpillManager spillManager;
+    private final BoundedRingBuffer<ApiRequestPayload> buffer;
+    private final OverflowPolicy overflowPolicy;
+    private final int batchSize;
+    private final long flushIntervalNanos;
+
+    private final LongAdder enqueued;
+    private final LongAdder droppedNewest;
+    private final LongAdder droppedOldest;
+    private final LongAdder batchesSent;
+    private final LongAdder batchesFailed;
+
+    private volatile boolean running;
+    private volatile Thread flusherThread;
+
+    public BatchDispatcher(MonitoringApiClient apiClient,
+                           MonitoringProperties properties,
+                           DispatchExecutor dispatchExecutor,
+                           SpillManager spillManager,
+                           MonitoringMetrics metrics) {
+        MonitoringProperties.Buffer config = properties.getBuffer();
+        this.apiClient = apiClient;
+        this.properties = properties;
+        this.dispatchExecutor = dispatchExecutor;
+        this.spillManager = spillManager;
+        this.buffer = new BoundedRingBuffer<>(config.getCapacity());
+        this.overflowPolicy = config.getOverflowPolicy();
+        this.batchSize = Math.max(1, config.getBatchSize());
+        this.flushIntervalNanos = config.getFlushInterval().toNanos();
+
+        this.enqueued = metrics.counter("buffer.enqueued");
+        this.droppedNewest = metrics.counter("buffer.dropped.newest");
+        this.droppedOldest = metrics.counter("buffer.dropped.oldest");
+        this.batchesSent = metrics.counter("buffer.batches.sent");
+        this.batchesFailed = metrics.counter("buffer.batches.failed");
+        metrics.gauge("buffer.size", buffer::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isAsync()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runFlushLoop, "monitoring-flusher");
+        thread.setDaemon(true);
+        flusherThread = thread;
+        thread.start();
+        log.debug("Started monitoring flusher (capacity={}, batchSize={}, overflowPolicy={})",
+                buffer.capacity(), batchSize, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = flusherThread;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flusherThread = null;
+    }
+
+    /**
+     * Add a payload to the buffer, applying the overflow policy when it is full.
+     * Never blocks the calling thread.
+     */
+    public void enqueue(ApiRequestPayload payload) {
+        if (buffer.offer(payload)) {
+            enqueued.increment();
+            wakeFlusherIfBatchReady();
+            return;
+        }
+
+        switch (overflowPolicy) {
+            case DROP_NEWEST -> droppedNewest.increment();
+            case DROP_OLDEST -> evictOldestAndOffer(payload);
+            case SAMPLE -> {
+                double sampleRate = properties.getBuffer().getOverflowSampleRate();
+                if (ThreadLocalRandom.current().nextDouble() < sampleRate) {
+                    evictOldestAndOffer(payload);
+                } else {
+                    droppedNewest.increment();
+                }
+            }
+        }
+    }
+
+    public int getBufferedCount() {
+        return buffer.size();
+    }
+
+    private void evictOldestAndOffer(ApiRequestPayload payload) {
+        for (int attempt = 0; attempt < MAX_EVICTION_ATTEMPTS; attempt++) {
+            if (buffer.poll() != null) {
+                droppedOldest.increment();
+            }
+            if (buffer.offer(payload)) {
+                enqueued.increment();
+                return;
+            }
+        }
+        droppedNewest.increment();
+    }
+
+    private void wakeFlusherIfBatchReady() {
+        Thread thread = flusherThread;
+        if (thread == null) {
+            return;
+        }
+        // Wake on the first payload so its age is measured from now, and on a full batch
+        int size = buffer.size();
+        if (size == 1 || size >= batchSize) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    private void runFlushLoop() {
+        List<ApiRequestPayload> batch = new ArrayList<>(batchSize);
+        long deadline = 0;
+
+        while (running) {
+            buffer.drainTo(batch, batchSize - batch.size());
+
+            if (batch.isEmpty()) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (deadline == 0) {
+                deadline = now + flushIntervalNanos;
+            }
+
+            if (batch.size() >= batchSize || now - deadline >= 0) {
+                dispatchBatch(batch);
+                batch = new ArrayList<>(batchSize);
+                deadline = 0;
+            } else {
+                LockSupport.parkNanos(this, deadline - now);
+            }
+        }
+
+        // Drain whatever is left so a graceful shutdown does not lose data,
+        // sending inline because the dispatch queue may be full
+        buffer.drainTo(batch, Integer.MAX_VALUE);
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            sendBatch(batch.subList(from, Math.min(from + batchSize, batch.size())));
+        }
+    }
+
+    private void dispatchBatch(List<ApiRequestPayload> batch) {
+        // Rejections are counted by the executor as dispatch.rejected
+        if (!dispatchExecutor.submit(() -> sendBatch(batch)) && !spillManager.spill(batch)) {
+            log.debug("Dropped monitoring batch of {} payloads, all dispatch threads are busy", batch.size());
+        }
+    }
+
+    private void sendBatch(List<ApiRequestPayload> batch) {
+        try {
+            apiClient.sendBatch(batch);
+            batchesSent.increment();
+            log.debug("Sent batch of {} monitoring payloads", batch.size());
+        } catch (CircuitOpenException e) {
+            // Short-circuited calls are counted by the breaker as circuit.rejected
+            if (!spillManager.spill(batch)) {
+                log.debug("Dropped monitoring batch of {} payloads, {}", batch.size(), e.getMessage());
+            }
+        } catch (Exception e) {
+            batchesFailed.increment();
+            if (BackendCircuitBreaker.isRetryable(e) && spillManager.spill(batch)) {
+                log.warn("Failed to send monitoring batch of {} payloads, spilled to disk: {}",
+                        batch.size(), e.getMessage());
+                return;
+            }
+            log.error("Failed to send monitoring batch of {} payloads: {}", batch.size(), e.getMessage());
+            // Fail silently - monitoring should never break the application
+        }
+    }
+}
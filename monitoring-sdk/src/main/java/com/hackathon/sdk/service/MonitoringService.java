@@ -1,11 +1,11 @@
 package com.hackathon.sdk.service;
 
+import com.hackathon.sdk.client.CircuitOpenException;
 import com.hackathon.sdk.client.MonitoringApiClient;
 import com.hackathon.sdk.config.MonitoringProperties;
 import com.hackathon.sdk.model.ApiRequestPayload;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
 /**
@@ -18,27 +18,21 @@ public class MonitoringService {
 
     private final MonitoringApiClient apiClient;
     private final MonitoringProperties properties;
+    private final BatchDispatcher batchDispatcher;
 
     /**
      * Capture API request data and send to backend.
-     * Uses async or sync based on configuration.
+     * In async mode the payload is buffered and shipped in batches,
+     * otherwise it is sent immediately on the calling thread.
      */
     public void captureRequest(ApiRequestPayload payload) {
         if (properties.isAsync()) {
-            captureRequestAsync(payload);
+            batchDispatcher.enqueue(payload);
         } else {
             sendRequest(payload);
         }
     }
 
-    /**
-     * Async method to send request data.
-     */
-    @Async
-    public void captureRequestAsync(ApiRequestPayload payload) {
-        sendRequest(payload);
-    }
-
     /**
      * Send request data to backend API.
      * Fails silently to avoid breaking the main application.
@@ -48,9 +42,11 @@ public class MonitoringService {
             apiClient.sendRequest(payload);
             log.debug("Successfully sent monitoring data for {} {}",
                     payload.getMethod(), payload.getPath());
+        } catch (CircuitOpenException e) {
+            log.debug("Dropped monitoring data for {} {}, {}", payload.getMethod(), payload.getPath(), e.getMessage());
         } catch (Exception e) {
             log.error("Failed to send monitoring data: {}", e.getMessage());
             // Fail silently - monitoring should never break the application
         }
     }
-}
\ No newline at end of file
+}
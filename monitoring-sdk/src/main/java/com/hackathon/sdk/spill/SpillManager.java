@@ -0,0 +1,202 @@
+package com.hackathon.sdk.spill;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hackathon.sdk.client.BackendCircuitBreaker;
+import com.hackathon.sdk.client.MonitoringApiClient;
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps batches the backend could not take in a {@link SpillStore} on local disk and replays them,
+ * oldest first, from a background thread once the backend answers again.
+ * Failed replays back off exponentially with jitter; a batch the backend turns down with a 4xx is dropped
+ * and counted as {@code spill.dropped} so it does not hold up the queue behind it.
+ * Does nothing unless {@code monitoring.spill.enabled} is set.
+ */
+@Slf4j
+@Component
+public class SpillManager {
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final MonitoringApiClient apiClient;
+    private final MonitoringProperties.Spill config;
+    private final ObjectMapper mapper = Jackson2ObjectMapperBuilder.smile().build();
+    private final JavaType batchType = mapper.getTypeFactory()
+            .constructCollectionType(List.class, ApiRequestPayload.class);
+
+    private final LongAdder written;
+    private final LongAdder dropped;
+    private final LongAdder replayed;
+    private final LongAdder replayFailures;
+
+    private volatile SpillStore store;
+    private volatile boolean running;
+    private volatile Thread replayThread;
+
+    public SpillManager(MonitoringApiClient apiClient, MonitoringProperties properties, MonitoringMetrics metrics) {
+        this.apiClient = apiClient;
+        this.config = properties.getSpill();
+        this.written = metrics.counter("spill.written");
+        this.dropped = metrics.counter("spill.dropped");
+        this.replayed = metrics.counter("spill.replayed");
+        this.replayFailures = metrics.counter("spill.replay.failed");
+        metrics.gauge("spill.pending", () -> store != null ? store.pendingRecords() : 0L);
+        metrics.gauge("spill.bytes", () -> store != null ? store.sizeBytes() : 0L);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!config.isEnabled()) {
+            return;
+        }
+        Path directory = Path.of(config.getDirectory());
+        try {
+            store = new SpillStore(directory, (int) config.getSegmentSize().toBytes(), config.getMaxSize().toBytes());
+        } catch (IOException e) {
+            log.error("Could not open monitoring spill directory {}, spilling disabled: {}", directory, e.getMessage());
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::runReplayLoop, "monitoring-spill-replay");
+        thread.setDaemon(true);
+        replayThread = thread;
+        thread.start();
+        log.debug("Monitoring spill queue at {} holds {} batches", directory, store.pendingRecords());
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = replayThread;
+        if (thread != null) {
+            running = false;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            replayThread = null;
+        }
+        SpillStore current = store;
+        if (current != null) {
+            store = null;
+            try {
+                current.close();
+            } catch (IOException e) {
+                log.warn("Failed to close monitoring spill queue: {}", e.getMessage());
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return store != null;
+    }
+
+    /**
+     * Write a batch to disk for later replay.
+     *
+     * @return false when spilling is disabled or the size budget is used up
+     */
+    public boolean spill(List<ApiRequestPayload> batch) {
+        SpillStore current = store;
+        if (current == null) {
+            return false;
+        }
+        try {
+            // An empty queue means the replay thread is idling rather than backing off
+            boolean wasEmpty = current.pendingRecords() == 0;
+            if (current.append(encode(batch))) {
+                written.increment();
+                if (wasEmpty) {
+                    LockSupport.unpark(replayThread);
+                }
+                return true;
+            }
+            log.debug("Monitoring spill queue is full, dropping batch of {} payloads", batch.size());
+        } catch (IOException e) {
+            log.warn("Failed to spill monitoring batch of {} payloads: {}", batch.size(), e.getMessage());
+        }
+        dropped.increment();
+        return false;
+    }
+
+    private void runReplayLoop() {
+        long backoffNanos = config.getInitialBackoff().toNanos();
+
+        while (running) {
+            SpillStore current = store;
+            byte[] record = current != null ? current.peek() : null;
+            if (record == null) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                continue;
+            }
+
+            List<ApiRequestPayload> batch;
+            try {
+                batch = decode(record);
+            } catch (IOException e) {
+                log.warn("Skipping unreadable spilled monitoring batch: {}", e.getMessage());
+                current.ack();
+                continue;
+            }
+
+            try {
+                apiClient.sendBatch(batch);
+                current.ack();
+                replayed.increment();
+                backoffNanos = config.getInitialBackoff().toNanos();
+            } catch (Exception e) {
+                if (!BackendCircuitBreaker.isRetryable(e)) {
+                    log.warn("Backend rejected spilled monitoring batch of {} payloads, dropping it: {}",
+                            batch.size(), e.getMessage());
+                    current.ack();
+                    dropped.increment();
+                    continue;
+                }
+                replayFailures.increment();
+                log.debug("Replay of spilled monitoring batch failed, retrying in {} ms: {}",
+                        TimeUnit.NANOSECONDS.toMillis(backoffNanos), e.getMessage());
+                // Jitter keeps many instances from retrying in lockstep after an outage
+                LockSupport.parkNanos(this, ThreadLocalRandom.current().nextLong(backoffNanos / 2, backoffNanos + 1));
+                backoffNanos = Math.min(backoffNanos * 2, config.getMaxBackoff().toNanos());
+            }
+        }
+    }
+
+    private byte[] encode(List<ApiRequestPayload> batch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, batch);
+        }
+        return bytes.toByteArray();
+    }
+
+    private List<ApiRequestPayload> decode(byte[] record) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(record))) {
+            return mapper.readValue(in, batchType);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.hackathon.sdk.spill;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * One memory-mapped, append-only spill file of fixed size.
+ * <p>
+ * Layout: an 8 byte header holding the offset of the first unacknowledged record, followed by
+ * records of {@code [int length][int crc32][length bytes]}. The length is written last, so a record
+ * torn by a crash reads as the end of the segment. Not thread safe; {@link SpillStore} serializes access.
+ */
+@Slf4j
+class SpillSegment implements Closeable {
+
+    static final int HEADER_BYTES = Long.BYTES;
+    static final int RECORD_OVERHEAD = 2 * Integer.BYTES;
+
+    private final long sequence;
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private long readOffset;
+    private int writeOffset;
+    private int pendingRecords;
+
+    private SpillSegment(long sequence, Path file, FileChannel channel, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.file = file;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    static SpillSegment create(Path file, long sequence, int size) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SpillSegment segment = new SpillSegment(sequence, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        segment.readOffset = HEADER_BYTES;
+        segment.writeOffset = HEADER_BYTES;
+        segment.buffer.putLong(0, HEADER_BYTES);
+        return segment;
+    }
+
+    /**
+     * Map an existing segment and find where its valid records end.
+     */
+    static SpillSegment open(Path file, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SpillSegment segment = new SpillSegment(sequence, file, channel,
+                channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        segment.recover();
+        return segment;
+    }
+
+    private void recover() {
+        int capacity = buffer.capacity();
+        int position = HEADER_BYTES;
+        int records = 0;
+        long acknowledged = buffer.getLong(0);
+        while (position + RECORD_OVERHEAD <= capacity) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_OVERHEAD + length > capacity
+                    || crc(position + RECORD_OVERHEAD, length) != buffer.getInt(position + Integer.BYTES)) {
+                break;
+            }
+            position += RECORD_OVERHEAD + length;
+            if (position > acknowledged) {
+                records++;
+            }
+        }
+        writeOffset = position;
+        readOffset = Math.min(Math.max(acknowledged, HEADER_BYTES), position);
+        pendingRecords = records;
+    }
+
+    /**
+     * @return false when the record does not fit in the remaining space
+     */
+    boolean append(byte[] record) {
+        if (!fits(record.length)) {
+            return false;
+        }
+        int position = writeOffset;
+        buffer.put(position + RECORD_OVERHEAD, record);
+        buffer.putInt(position + Integer.BYTES, crc(position + RECORD_OVERHEAD, record.length));
+        buffer.putInt(position, record.length);
+        buffer.force();
+        writeOffset = position + RECORD_OVERHEAD + record.length;
+        pendingRecords++;
+        return true;
+    }
+
+    boolean fits(int recordLength) {
+        return (long) writeOffset + RECORD_OVERHEAD + recordLength <= buffer.capacity();
+    }
+
+    /**
+     * The oldest unacknowledged record, or {@code null} when there is none.
+     */
+    byte[] peek() {
+        if (readOffset >= writeOffset) {
+            return null;
+        }
+        int position = (int) readOffset;
+        byte[] record = new byte[buffer.getInt(position)];
+        buffer.get(position + RECORD_OVERHEAD, record);
+        return record;
+    }
+
+    void ack() {
+        if (readOffset >= writeOffset) {
+            return;
+        }
+        readOffset += RECORD_OVERHEAD + buffer.getInt((int) readOffset);
+        buffer.putLong(0, readOffset);
+        pendingRecords--;
+    }
+
+    boolean isDrained() {
+        return readOffset >= writeOffset;
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int pendingRecords() {
+        return pendingRecords;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    void delete() {
+        try {
+            channel.close();
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete spill segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private int crc(int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+}
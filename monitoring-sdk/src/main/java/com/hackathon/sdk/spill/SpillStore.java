@@ -0,0 +1,115 @@
+package com.hackathon.sdk.spill;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * FIFO queue of byte records in a directory of {@link SpillSegment}s, bounded by a total size budget.
+ * Records are appended to the newest segment and read from the oldest; a segment is deleted as soon
+ * as all its records are acknowledged. Segments left by a previous run are picked up on open.
+ */
+class SpillStore implements Closeable {
+
+    private static final Pattern SEGMENT_NAME = Pattern.compile("segment-(\\d+)\\.spill");
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxBytes;
+    private final Deque<SpillSegment> segments = new ArrayDeque<>();
+    private long nextSequence;
+
+    SpillStore(Path directory, int segmentSize, long maxBytes) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(directory);
+        for (Path file : existingSegments()) {
+            long sequence = sequenceOf(file);
+            SpillSegment segment = SpillSegment.open(file, sequence);
+            if (segment.isDrained()) {
+                segment.delete();
+            } else {
+                segments.addLast(segment);
+            }
+            nextSequence = sequence + 1;
+        }
+    }
+
+    /**
+     * @return false when the record is larger than a segment or the size budget is used up
+     */
+    synchronized boolean append(byte[] record) throws IOException {
+        SpillSegment tail = segments.peekLast();
+        if (tail != null && tail.append(record)) {
+            return true;
+        }
+        if (SpillSegment.HEADER_BYTES + SpillSegment.RECORD_OVERHEAD + (long) record.length > segmentSize
+                || sizeBytes() + segmentSize > maxBytes) {
+            return false;
+        }
+        Path file = directory.resolve("segment-%019d.spill".formatted(nextSequence));
+        SpillSegment segment = SpillSegment.create(file, nextSequence++, segmentSize);
+        segments.addLast(segment);
+        return segment.append(record);
+    }
+
+    /**
+     * The oldest unacknowledged record, or {@code null} when the store is empty.
+     */
+    synchronized byte[] peek() {
+        SpillSegment head = segments.peekFirst();
+        return head != null ? head.peek() : null;
+    }
+
+    /**
+     * Acknowledge the record last returned by {@link #peek()}, deleting its segment once drained.
+     */
+    synchronized void ack() {
+        SpillSegment head = segments.peekFirst();
+        if (head == null) {
+            return;
+        }
+        head.ack();
+        if (head.isDrained()) {
+            segments.removeFirst().delete();
+        }
+    }
+
+    synchronized long sizeBytes() {
+        return segments.stream().mapToLong(SpillSegment::capacity).sum();
+    }
+
+    synchronized long pendingRecords() {
+        return segments.stream().mapToLong(SpillSegment::pendingRecords).sum();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (SpillSegment segment : segments) {
+            segment.close();
+        }
+        segments.clear();
+    }
+
+    private List<Path> existingSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> SEGMENT_NAME.matcher(file.getFileName().toString()).matches())
+                    .sorted(Comparator.comparingLong(SpillStore::sequenceOf))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+}
@@ -0,0 +1,102 @@
+package com.hackathon.sdk.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void capacity_shouldBeRoundedUpToPowerOfTwo() {
+        assertThat(new BoundedRingBuffer<String>(1000).capacity()).isEqualTo(1024);
+        assertThat(new BoundedRingBuffer<String>(1024).capacity()).isEqualTo(1024);
+        assertThatThrownBy(() -> new BoundedRingBuffer<String>(1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offerAndPoll_shouldPreserveFifoOrder() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+
+        buffer.offer(1);
+        buffer.offer(2);
+        buffer.offer(3);
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.poll()).isEqualTo(1);
+        assertThat(buffer.poll()).isEqualTo(2);
+        assertThat(buffer.poll()).isEqualTo(3);
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void offer_whenFull_shouldReturnFalse() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(2);
+
+        assertThat(buffer.offer(1)).isTrue();
+        assertThat(buffer.offer(2)).isTrue();
+        assertThat(buffer.offer(3)).isFalse();
+
+        buffer.poll();
+        assertThat(buffer.offer(3)).isTrue();
+    }
+
+    @Test
+    void drainTo_shouldRespectLimit() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(8);
+        for (int i = 0; i < 5; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> target = new ArrayList<>();
+
+        int drained = buffer.drainTo(target, 3);
+
+        assertThat(drained).isEqualTo(3);
+        assertThat(target).containsExactly(0, 1, 2);
+        assertThat(buffer.size()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentProducers_shouldNotLoseOrDuplicateElements() throws InterruptedException {
+        int producers = 4;
+        int perProducer = 10_000;
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(256);
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.onSpinWait();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        while (received.size() < producers * perProducer) {
+            Integer element = buffer.poll();
+            if (element != null) {
+                assertThat(received.add(element)).isTrue();
+            }
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+        assertThat(buffer.poll()).isNull();
+    }
+}
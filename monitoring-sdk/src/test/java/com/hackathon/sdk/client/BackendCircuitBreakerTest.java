@@ -0,0 +1,115 @@
+package com.hackathon.sdk.client;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BackendCircuitBreakerTest {
+
+    private final AtomicInteger calls = new AtomicInteger();
+    private MonitoringMetrics metrics;
+    private BackendCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        MonitoringProperties properties = new MonitoringProperties();
+        properties.getCircuitBreaker().setFailureThreshold(3);
+        properties.getCircuitBreaker().setInitialBackoff(Duration.ofMillis(40));
+        metrics = new MonitoringMetrics();
+        breaker = new BackendCircuitBreaker(properties, metrics);
+    }
+
+    @Test
+    void consecutiveFailures_shouldOpenCircuitAndShortCircuitCalls() {
+        failTimes(3);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThatThrownBy(() -> breaker.run(calls::incrementAndGet)).isInstanceOf(CircuitOpenException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(metrics.snapshot())
+                .containsEntry("circuit.opened", 1L)
+                .containsEntry("circuit.rejected", 1L)
+                .containsEntry("circuit.state", CircuitState.OPEN.ordinal());
+    }
+
+    @Test
+    void success_shouldResetFailureCount() {
+        failTimes(2);
+        breaker.run(calls::incrementAndGet);
+        failTimes(2);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    void clientErrors_shouldNotOpenCircuit() {
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> breaker.run(() -> {
+                throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+            })).isInstanceOf(HttpClientErrorException.class);
+        }
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+    }
+
+    @Test
+    void successfulProbe_afterBackoff_shouldCloseCircuit() throws InterruptedException {
+        failTimes(3);
+        Thread.sleep(60);
+
+        breaker.run(calls::incrementAndGet);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.CLOSED);
+        assertThat(metrics.snapshot())
+                .containsEntry("circuit.half-opened", 1L)
+                .containsEntry("circuit.closed", 1L);
+    }
+
+    @Test
+    void failedProbe_shouldReopenCircuit() throws InterruptedException {
+        failTimes(3);
+        Thread.sleep(60);
+
+        failTimes(1);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(metrics.snapshot()).containsEntry("circuit.opened", 2L);
+        assertThatThrownBy(() -> breaker.run(calls::incrementAndGet)).isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    void probeThrowingError_shouldReopenCircuit() throws InterruptedException {
+        failTimes(3);
+        Thread.sleep(60);
+
+        assertThatThrownBy(() -> breaker.run(() -> {
+            throw new StackOverflowError();
+        })).isInstanceOf(StackOverflowError.class);
+
+        assertThat(breaker.getState()).isEqualTo(CircuitState.OPEN);
+        assertThat(metrics.snapshot()).containsEntry("circuit.opened", 2L);
+    }
+
+    private void failTimes(int times) {
+        for (int i = 0; i < times; i++) {
+            RuntimeException failure = i % 2 == 0
+                    ? new ResourceAccessException("Read timed out")
+                    : new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThatThrownBy(() -> breaker.run(() -> {
+                calls.incrementAndGet();
+                throw failure;
+            })).isSameAs(failure);
+        }
+    }
+}
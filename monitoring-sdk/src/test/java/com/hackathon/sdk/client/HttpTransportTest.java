@@ -0,0 +1,107 @@
+package com.hackathon.sdk.client;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sends through each transport to a stub backend on a local port.
+ */
+class HttpTransportTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(1);
+
+    private HttpServer backend;
+    private final AtomicReference<String> receivedApiKey = new AtomicReference<>();
+    private final AtomicReference<String> receivedBody = new AtomicReference<>();
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private MonitoringProperties properties;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        backend = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        backend.createContext("/api/requests/batch", exchange -> {
+            receivedApiKey.set(exchange.getRequestHeaders().getFirst("X-API-Key"));
+            receivedBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        backend.start();
+
+        properties = new MonitoringProperties();
+        properties.setApiKey("test-api-key");
+        properties.setBackendUrl("http://127.0.0.1:" + backend.getAddress().getPort() + "/api");
+        properties.getWire().setFormat(WireFormat.JSON);
+        properties.getWire().setCompression(WireCompression.NONE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backend.stop(0);
+    }
+
+    @Test
+    void sendBatch_overJdkHttpClient_shouldReachBackend() {
+        MonitoringApiClient apiClient = client(JdkHttpTransport.requestFactory(TIMEOUT, TIMEOUT, true));
+
+        apiClient.sendBatch(List.of(payload()));
+
+        assertThat(receivedApiKey.get()).isEqualTo("test-api-key");
+        assertThat(receivedBody.get()).contains("\"path\":\"/api/users\"");
+    }
+
+    @Test
+    void sendBatch_overPooledTransport_shouldReuseOneConnection() {
+        MonitoringMetrics metrics = new MonitoringMetrics();
+        PooledHttpTransport transport = new PooledHttpTransport(properties.getConnection(), TIMEOUT, TIMEOUT, metrics);
+        MonitoringApiClient apiClient = client(transport.requestFactory());
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                apiClient.sendBatch(List.of(payload()));
+            }
+
+            assertThat(receivedApiKey.get()).isEqualTo("test-api-key");
+            assertThat(clientPorts).hasSize(1);
+            assertThat(metrics.snapshot())
+                    .containsEntry("http.pool.leased", 0)
+                    .containsEntry("http.pool.available", 1)
+                    .containsEntry("http.pool.max", 20);
+        } finally {
+            transport.destroy();
+        }
+    }
+
+    private MonitoringApiClient client(ClientHttpRequestFactory requestFactory) {
+        return new MonitoringApiClient(new RestTemplate(requestFactory), properties, new BatchEncoder(properties),
+                new BackendCircuitBreaker(properties, new MonitoringMetrics()));
+    }
+
+    private ApiRequestPayload payload() {
+        return ApiRequestPayload.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path("/api/users")
+                .responseStatus(200)
+                .responseTime(12L)
+                .build();
+    }
+}
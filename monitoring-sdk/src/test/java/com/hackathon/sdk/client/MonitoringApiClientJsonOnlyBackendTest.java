@@ -0,0 +1,79 @@
+package com.hackathon.sdk.client;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockMvcClientHttpRequestFactory;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The client against a backend that predates Smile batches: its batch endpoint only consumes JSON,
+ * so Spring MVC answers Smile with 415.
+ */
+class MonitoringApiClientJsonOnlyBackendTest {
+
+    private final JsonOnlyBatchController backend = new JsonOnlyBatchController();
+    private final MonitoringProperties properties = new MonitoringProperties();
+    private MonitoringApiClient apiClient;
+
+    @BeforeEach
+    void setUp() {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(backend).build();
+        RestTemplate restTemplate = new RestTemplate(new MockMvcClientHttpRequestFactory(mockMvc));
+        properties.setBackendUrl("http://localhost/api");
+        properties.setApiKey("test-api-key");
+        properties.getWire().setCompressionThreshold(Integer.MAX_VALUE);
+        apiClient = new MonitoringApiClient(restTemplate, properties, new BatchEncoder(properties),
+                new BackendCircuitBreaker(properties, new MonitoringMetrics()));
+    }
+
+    @Test
+    void sendBatch_shouldFallBackToJsonAndStayOnIt() {
+        apiClient.sendBatch(List.of(payload("/api/a")));
+        apiClient.sendBatch(List.of(payload("/api/b"), payload("/api/c")));
+
+        assertThat(backend.received).extracting(item -> item.get("path"))
+                .containsExactly("/api/a", "/api/b", "/api/c");
+    }
+
+    private static ApiRequestPayload payload(String path) {
+        return ApiRequestPayload.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path(path)
+                .responseStatus(200)
+                .responseTime(5L)
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    @RestController
+    static class JsonOnlyBatchController {
+
+        private final List<Map<String, Object>> received = new ArrayList<>();
+
+        @PostMapping(value = "/api/requests/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+        ResponseEntity<Void> createRequests(@RequestHeader("X-API-Key") String apiKey,
+                                            @RequestBody List<Map<String, Object>> items) {
+            received.addAll(items);
+            return ResponseEntity.ok().build();
+        }
+    }
+}
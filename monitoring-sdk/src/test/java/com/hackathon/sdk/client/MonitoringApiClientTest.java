@@ -1,23 +1,35 @@
 package com.hackathon.sdk.client;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
 import com.hackathon.sdk.model.ApiRequestPayload;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -30,12 +42,15 @@ class MonitoringApiClientTest {
     @Mock
     private MonitoringProperties properties;
 
-    @InjectMocks
+    private final MonitoringProperties encoderProperties = new MonitoringProperties();
+
     private MonitoringApiClient apiClient;
 
     @Captor
     private ArgumentCaptor<HttpEntity<ApiRequestPayload>> requestCaptor;
 
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.smile().build();
+
     private ApiRequestPayload testPayload;
 
     @BeforeEach
@@ -51,6 +66,9 @@ class MonitoringApiClientTest {
 
         when(properties.getBackendUrl()).thenReturn("http://localhost:8080/api");
         when(properties.getApiKey()).thenReturn("test-api-key");
+
+        apiClient = new MonitoringApiClient(restTemplate, properties, new BatchEncoder(encoderProperties),
+                new BackendCircuitBreaker(encoderProperties, new MonitoringMetrics()));
     }
 
     @Test
@@ -107,4 +125,72 @@ class MonitoringApiClientTest {
         assertThat(capturedRequest.getHeaders().getContentType().toString())
                 .isEqualTo("application/json");
     }
-}
\ No newline at end of file
+
+    @Test
+    void sendBatch_shouldPostAllPayloadsToBatchUrl() throws IOException {
+        when(restTemplate.postForEntity(anyString(), any(), eq(Void.class)))
+                .thenReturn(ResponseEntity.ok().build());
+        List<ApiRequestPayload> batch = List.of(testPayload, testPayload);
+
+        apiClient.sendBatch(batch);
+
+        ArgumentCaptor<HttpEntity<byte[]>> batchCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).postForEntity(
+                eq("http://localhost:8080/api/requests/batch"),
+                batchCaptor.capture(),
+                eq(Void.class)
+        );
+        assertThat(smileMapper.readValue(batchCaptor.getValue().getBody(), ApiRequestPayload[].class)).hasSize(2);
+        assertThat(batchCaptor.getValue().getHeaders().getContentType()).isEqualTo(BatchEncoder.SMILE);
+        assertThat(batchCaptor.getValue().getHeaders().get("X-API-Key"))
+                .containsExactly("test-api-key");
+    }
+
+    @Test
+    void sendBatch_aboveCompressionThreshold_shouldGzipBody() throws IOException {
+        when(restTemplate.postForEntity(anyString(), any(), eq(Void.class)))
+                .thenReturn(ResponseEntity.ok().build());
+        encoderProperties.getWire().setCompressionThreshold(0);
+
+        apiClient.sendBatch(List.of(testPayload));
+
+        ArgumentCaptor<HttpEntity<byte[]>> batchCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate).postForEntity(anyString(), batchCaptor.capture(), eq(Void.class));
+        assertThat(batchCaptor.getValue().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(batchCaptor.getValue().getBody())).readAllBytes();
+        assertThat(smileMapper.readValue(body, ApiRequestPayload[].class))
+                .extracting(ApiRequestPayload::getPath).containsExactly("/api/users");
+    }
+
+    @Test
+    void sendBatch_whenBackendRejectsSmile_shouldFallBackToPlainJson() {
+        when(restTemplate.postForEntity(anyString(), any(), eq(Void.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type",
+                        null, null, null))
+                .thenReturn(ResponseEntity.ok().build());
+
+        apiClient.sendBatch(List.of(testPayload));
+        apiClient.sendBatch(List.of(testPayload));
+
+        ArgumentCaptor<HttpEntity<byte[]>> batchCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(3)).postForEntity(anyString(), batchCaptor.capture(), eq(Void.class));
+        assertThat(batchCaptor.getAllValues()).extracting(entity -> entity.getHeaders().getContentType())
+                .containsExactly(BatchEncoder.SMILE, MediaType.APPLICATION_JSON, MediaType.APPLICATION_JSON);
+    }
+
+    @Test
+    void sendBatch_whenBackendRejectsBatchWith400_shouldKeepSmile() {
+        when(restTemplate.postForEntity(anyString(), any(), eq(Void.class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+                .thenReturn(ResponseEntity.ok().build());
+
+        assertThatThrownBy(() -> apiClient.sendBatch(List.of(testPayload)))
+                .isInstanceOf(HttpClientErrorException.BadRequest.class);
+        apiClient.sendBatch(List.of(testPayload));
+
+        ArgumentCaptor<HttpEntity<byte[]>> batchCaptor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).postForEntity(anyString(), batchCaptor.capture(), eq(Void.class));
+        assertThat(batchCaptor.getAllValues()).extracting(entity -> entity.getHeaders().getContentType())
+                .containsExactly(BatchEncoder.SMILE, BatchEncoder.SMILE);
+    }
+}
@@ -1,10 +1,15 @@
 package com.hackathon.sdk.config;
 
+import com.hackathon.sdk.client.PooledHttpTransport;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.test.context.FilteredClassLoader;
 import org.springframework.boot.test.context.runner.ApplicationContextRunner;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -50,4 +55,45 @@ class MonitoringAutoConfigurationTest {
             assertThat(restTemplate).isNotNull();
         });
     }
-}
\ No newline at end of file
+
+    @Test
+    void whenJdkHttpClientTransportSelected_shouldUseJdkRequestFactory() {
+        contextRunner
+                .withPropertyValues("monitoring.transport=jdk-http-client")
+                .run(context -> {
+                    RestTemplate restTemplate = context.getBean("monitoringRestTemplate", RestTemplate.class);
+                    assertThat(restTemplate.getRequestFactory()).isInstanceOf(JdkClientHttpRequestFactory.class);
+                });
+    }
+
+    @Test
+    void byDefault_shouldUsePooledTransport() {
+        contextRunner.run(context -> {
+            RestTemplate restTemplate = context.getBean("monitoringRestTemplate", RestTemplate.class);
+            assertThat(restTemplate.getRequestFactory()).isInstanceOf(HttpComponentsClientHttpRequestFactory.class);
+            assertThat(context).hasSingleBean(PooledHttpTransport.class);
+        });
+    }
+
+    @Test
+    void withoutHttpClient5_shouldFallBackToJdkTransport() {
+        contextRunner
+                .withClassLoader(new FilteredClassLoader("org.apache.hc.client5"))
+                .run(context -> {
+                    RestTemplate restTemplate = context.getBean("monitoringRestTemplate", RestTemplate.class);
+                    assertThat(restTemplate.getRequestFactory()).isInstanceOf(JdkClientHttpRequestFactory.class);
+                    assertThat(context).doesNotHaveBean(PooledHttpTransport.class);
+                });
+    }
+
+    @Test
+    void whenSimpleTransportSelected_shouldNotCreatePool() {
+        contextRunner
+                .withPropertyValues("monitoring.transport=simple")
+                .run(context -> {
+                    RestTemplate restTemplate = context.getBean("monitoringRestTemplate", RestTemplate.class);
+                    assertThat(restTemplate.getRequestFactory()).isInstanceOf(SimpleClientHttpRequestFactory.class);
+                    assertThat(context).doesNotHaveBean(PooledHttpTransport.class);
+                });
+    }
+}
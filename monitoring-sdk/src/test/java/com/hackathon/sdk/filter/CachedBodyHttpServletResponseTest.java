@@ -0,0 +1,94 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.buffer.ByteArrayPool;
+import jakarta.servlet.ServletOutputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedBodyHttpServletResponseTest {
+
+    private final ByteArrayPool pool = new ByteArrayPool(4);
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void outputStream_shouldPassBulkWritesThroughAndCaptureUpToLimit() throws IOException {
+        CachedBodyHttpServletResponse wrapper = new CachedBodyHttpServletResponse(response, pool, 4);
+        byte[] body = "response body".getBytes(StandardCharsets.UTF_8);
+
+        ServletOutputStream out = wrapper.getOutputStream();
+        out.write(body, 0, 8);
+        out.write(body, 8, body.length - 8);
+        out.flush();
+
+        assertThat(response.getContentAsByteArray()).isEqualTo(body);
+        assertThat(wrapper.getCachedBody()).isEqualTo("resp".getBytes(StandardCharsets.UTF_8));
+        assertThat(wrapper.getCapture().getTotalBytes()).isEqualTo(body.length);
+    }
+
+    @Test
+    void writer_shouldReachClientWithResponseCharset() throws IOException {
+        response.setCharacterEncoding("UTF-8");
+        CachedBodyHttpServletResponse wrapper = new CachedBodyHttpServletResponse(response, pool, 100);
+
+        PrintWriter writer = wrapper.getWriter();
+        writer.print("žličica");
+        wrapper.flushBuffer();
+
+        assertThat(response.getContentAsString(StandardCharsets.UTF_8)).isEqualTo("žličica");
+        assertThat(wrapper.getCapture().toString(StandardCharsets.UTF_8)).isEqualTo("žličica");
+    }
+
+    @Test
+    void getCachedBody_shouldFlushPendingWriterOutput() throws IOException {
+        CachedBodyHttpServletResponse wrapper = new CachedBodyHttpServletResponse(response, pool, 100);
+
+        wrapper.getWriter().write("buffered");
+
+        assertThat(new String(wrapper.getCachedBody(), StandardCharsets.ISO_8859_1)).isEqualTo("buffered");
+        assertThat(response.getContentAsString()).isEqualTo("buffered");
+    }
+
+    @Test
+    void writes_shouldBeTimedFromTheFirstOne() throws IOException {
+        CachedBodyHttpServletResponse wrapper = new CachedBodyHttpServletResponse(response, pool, 100);
+        assertThat(wrapper.getFirstWriteNanos()).isNull();
+
+        long before = System.nanoTime();
+        wrapper.getOutputStream().write("body".getBytes(StandardCharsets.UTF_8));
+        wrapper.flushBuffer();
+
+        assertThat(wrapper.getFirstWriteNanos()).isBetween(before, System.nanoTime());
+        assertThat(wrapper.getWriteNanos()).isPositive();
+    }
+
+    @Test
+    void singleByteWrites_shouldOnlyMarkTheFirstWrite() throws IOException {
+        CachedBodyHttpServletResponse wrapper = new CachedBodyHttpServletResponse(response, pool, 100);
+
+        long before = System.nanoTime();
+        for (byte b : "body".getBytes(StandardCharsets.UTF_8)) {
+            wrapper.getOutputStream().write(b);
+        }
+
+        assertThat(wrapper.getFirstWriteNanos()).isBetween(before, System.nanoTime());
+        assertThat(wrapper.getWriteNanos()).isZero();
+        assertThat(wrapper.getCachedBody()).isEqualTo("body".getBytes(StandardCharsets.UTF_8));
+        assertThat(response.getContentAsString()).isEqualTo("body");
+    }
+
+    @Test
+    void getOutputStream_afterGetWriter_shouldFail() throws IOException {
+        CachedBodyHttpServletResponse wrapper = new CachedBodyHttpServletResponse(response, pool, 100);
+
+        wrapper.getWriter();
+
+        assertThatThrownBy(wrapper::getOutputStream).isInstanceOf(IllegalStateException.class);
+    }
+}
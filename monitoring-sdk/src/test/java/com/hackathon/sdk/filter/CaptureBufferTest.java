@@ -0,0 +1,63 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.buffer.ByteArrayPool;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CaptureBufferTest {
+
+    private final ByteArrayPool pool = new ByteArrayPool(4);
+
+    @Test
+    void write_shouldKeepOnlyUpToLimitButCountEverything() {
+        CaptureBuffer capture = new CaptureBuffer(pool, 5);
+        byte[] body = "hello world".getBytes(StandardCharsets.UTF_8);
+
+        capture.write(body, 0, 3);
+        capture.write(body[3]);
+        capture.write(body, 4, body.length - 4);
+
+        assertThat(capture.toString(StandardCharsets.UTF_8)).isEqualTo("hello");
+        assertThat(capture.getTotalBytes()).isEqualTo(body.length);
+        assertThat(capture.isTruncated()).isTrue();
+    }
+
+    @Test
+    void withoutWrites_shouldNotTakeBufferFromPool() {
+        byte[] pooled = new byte[16];
+        pool.release(pooled);
+        CaptureBuffer capture = new CaptureBuffer(pool, 16);
+
+        assertThat(capture.toByteArray()).isEmpty();
+        assertThat(capture.isTruncated()).isFalse();
+        assertThat(pool.pooled()).isEqualTo(1);
+    }
+
+    @Test
+    void release_shouldRecycleBufferOnlyWhenAsked() {
+        CaptureBuffer recycled = new CaptureBuffer(pool, 8);
+        recycled.write(1);
+        CaptureBuffer dropped = new CaptureBuffer(pool, 8);
+        dropped.write(1);
+
+        recycled.release(true);
+        dropped.release(false);
+
+        assertThat(pool.pooled()).isEqualTo(1);
+    }
+
+    @Test
+    void afterRelease_shouldStopCapturing() {
+        CaptureBuffer capture = new CaptureBuffer(pool, 8);
+        capture.write(1);
+        capture.release(true);
+
+        capture.write(new byte[]{1, 2, 3}, 0, 3);
+
+        assertThat(capture.toByteArray()).isEmpty();
+        assertThat(pool.pooled()).isEqualTo(1);
+    }
+}
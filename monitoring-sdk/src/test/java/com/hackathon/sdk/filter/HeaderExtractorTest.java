@@ -0,0 +1,61 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeaderExtractorTest {
+
+    private final MonitoringProperties.Headers config = new MonitoringProperties.Headers();
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    HeaderExtractorTest() {
+        request.addHeader("Content-Type", "application/json");
+        request.addHeader("User-Agent", "TestAgent");
+        request.addHeader("Cookie", "session=abc");
+        request.addHeader("X-Api-Key", "secret");
+        request.addHeader("X-Request-Id", "42");
+    }
+
+    @Test
+    void defaults_shouldKeepAllHeadersAndRedactCredentials() {
+        Map<String, String> headers = new HeaderExtractor(config).extract(request);
+
+        assertThat(headers)
+                .hasSize(5)
+                .containsEntry("User-Agent", "TestAgent")
+                .containsEntry("Cookie", HeaderExtractor.REDACTED)
+                .containsEntry("X-Api-Key", HeaderExtractor.REDACTED);
+    }
+
+    @Test
+    void denylist_shouldDropMatchingHeadersIgnoringCase() {
+        config.setDeny(List.of("cookie", "USER-AGENT"));
+
+        Map<String, String> headers = new HeaderExtractor(config).extract(request);
+
+        assertThat(headers).containsOnlyKeys("Content-Type", "X-Api-Key", "X-Request-Id");
+    }
+
+    @Test
+    void allowlist_shouldOnlyLookUpListedHeaders() {
+        config.setAllow(List.of("x-request-id", "Cookie", "Accept", "X-REQUEST-ID", "User-Agent"));
+        config.setDeny(List.of("user-agent"));
+
+        Map<String, String> headers = new HeaderExtractor(config).extract(request);
+
+        assertThat(headers).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "x-request-id", "42",
+                "Cookie", HeaderExtractor.REDACTED));
+    }
+
+    @Test
+    void extract_withoutHeaders_shouldReturnEmptyMap() {
+        assertThat(new HeaderExtractor(config).extract(new MockHttpServletRequest())).isEmpty();
+    }
+}
@@ -0,0 +1,87 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.client.MonitoringApiClient;
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.dispatch.DispatchExecutor;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.sampling.RequestSampler;
+import com.hackathon.sdk.service.BatchDispatcher;
+import com.hackathon.sdk.service.MonitoringService;
+import com.hackathon.sdk.spill.SpillManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the filter against the real async pipeline with a backend that never answers,
+ * to show request latency does not depend on the backend.
+ */
+@ExtendWith(MockitoExtension.class)
+class MonitoringFilterLatencyTest {
+
+    private static final int REQUESTS = 50;
+
+    @Mock
+    private MonitoringApiClient apiClient;
+
+    private final CountDownLatch backendReleased = new CountDownLatch(1);
+    private DispatchExecutor dispatchExecutor;
+    private BatchDispatcher batchDispatcher;
+    private MonitoringFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        MonitoringProperties properties = new MonitoringProperties();
+        properties.setProjectId("test-project");
+        properties.getBuffer().setBatchSize(1);
+        properties.getBuffer().setFlushInterval(Duration.ofMillis(1));
+        MonitoringMetrics metrics = new MonitoringMetrics();
+
+        dispatchExecutor = new DispatchExecutor(properties, metrics);
+        batchDispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor,
+                new SpillManager(apiClient, properties, metrics), metrics);
+        batchDispatcher.start();
+        filter = new MonitoringFilter(new MonitoringService(apiClient, properties, batchDispatcher), properties,
+                new PathRules(properties.getPaths(), metrics),
+                new RequestSampler(properties, metrics), new HeaderExtractor(properties.getHeaders()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        backendReleased.countDown();
+        batchDispatcher.stop();
+        dispatchExecutor.shutdown();
+    }
+
+    @Test
+    void doFilterInternal_whenBackendHangs_shouldNotWaitForIt() throws Exception {
+        doAnswer(invocation -> {
+            backendReleased.await();
+            return null;
+        }).when(apiClient).sendBatch(anyList());
+
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/orders/" + i);
+            request.setContent("{\"item\":1}".getBytes());
+            filter.doFilterInternal(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        verify(apiClient, timeout(1000).atLeastOnce()).sendBatch(anyList());
+        assertThat(elapsedMillis).isLessThan(1000);
+    }
+}
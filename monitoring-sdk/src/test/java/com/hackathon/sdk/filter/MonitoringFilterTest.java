@@ -1,10 +1,15 @@
 package com.hackathon.sdk.filter;
 
 import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
 import com.hackathon.sdk.model.ApiRequestPayload;
+import com.hackathon.sdk.sampling.RequestSampler;
 import com.hackathon.sdk.service.MonitoringService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,8 +19,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -42,7 +49,10 @@ class MonitoringFilterTest {
 
     @BeforeEach
     void setUp() {
-        filter = new MonitoringFilter(monitoringService, properties);
+        MonitoringProperties defaults = new MonitoringProperties();
+        MonitoringMetrics metrics = new MonitoringMetrics();
+        filter = new MonitoringFilter(monitoringService, properties, new PathRules(defaults.getPaths(), metrics),
+                new RequestSampler(defaults, metrics), new HeaderExtractor(defaults.getHeaders()));
         request = new MockHttpServletRequest();
         response = new MockHttpServletResponse();
     }
@@ -118,6 +128,7 @@ class MonitoringFilterTest {
         request.setMethod("GET");
         request.addHeader("Content-Type", "application/json");
         request.addHeader("User-Agent", "TestAgent");
+        request.addHeader("Authorization", "Bearer secret-token");
 
         filter.doFilterInternal(request, response, filterChain);
 
@@ -126,6 +137,7 @@ class MonitoringFilterTest {
 
         assertThat(capturedPayload.getRequestHeaders()).containsEntry("Content-Type", "application/json");
         assertThat(capturedPayload.getRequestHeaders()).containsEntry("User-Agent", "TestAgent");
+        assertThat(capturedPayload.getRequestHeaders()).containsEntry("Authorization", HeaderExtractor.REDACTED);
     }
 
     @Test
@@ -150,4 +162,167 @@ class MonitoringFilterTest {
 
         assertThat(capturedPayload.getResponseTime()).isGreaterThanOrEqualTo(50L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void doFilterInternal_shouldBreakResponseTimeIntoPhases() throws ServletException, IOException {
+        when(properties.isEnabled()).thenReturn(true);
+        when(properties.getProjectId()).thenReturn("test-project");
+        when(properties.getMaxBodySize()).thenReturn(10000);
+        when(properties.getMaxResponseSize()).thenReturn(10000);
+
+        request.setRequestURI("/api/users");
+        request.setMethod("GET");
+        doAnswer(invocation -> {
+            Thread.sleep(30);
+            ((HttpServletResponse) invocation.getArgument(1)).getOutputStream()
+                    .write("[]".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(monitoringService).captureRequest(payloadCaptor.capture());
+        ApiRequestPayload payload = payloadCaptor.getValue();
+        assertThat(payload.getHandlerMicros()).isGreaterThanOrEqualTo(30_000L);
+        assertThat(payload.getTimeToFirstByteMicros()).isGreaterThanOrEqualTo(30_000L);
+        assertThat(payload.getResponseWriteMicros()).isNotNull();
+        assertThat(payload.getCaptureOverheadMicros()).isNotNull();
+        assertThat(payload.getDurationMicros())
+                .isGreaterThanOrEqualTo(payload.getTimeToFirstByteMicros())
+                .isGreaterThanOrEqualTo(payload.getHandlerMicros() + payload.getCaptureOverheadMicros());
+        assertThat(payload.getResponseTime()).isEqualTo(payload.getDurationMicros() / 1000);
+    }
+
+    @Test
+    void doFilterInternal_withoutResponseCapture_shouldLeaveWritePhasesUnmeasured() throws ServletException, IOException {
+        when(properties.isEnabled()).thenReturn(true);
+        when(properties.getProjectId()).thenReturn("test-project");
+        when(properties.getMaxBodySize()).thenReturn(0);
+        when(properties.getMaxResponseSize()).thenReturn(0);
+
+        request.setRequestURI("/api/users");
+        request.setMethod("GET");
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(monitoringService).captureRequest(payloadCaptor.capture());
+        ApiRequestPayload payload = payloadCaptor.getValue();
+        assertThat(payload.getDurationMicros()).isNotNull();
+        assertThat(payload.getHandlerMicros()).isNotNull();
+        assertThat(payload.getTimeToFirstByteMicros()).isNull();
+        assertThat(payload.getResponseWriteMicros()).isNull();
+    }
+
+    @Test
+    void doFilterInternal_shouldUseMatchedHandlerPatternAsRouteTemplate() throws ServletException, IOException {
+        when(properties.isEnabled()).thenReturn(true);
+        when(properties.getProjectId()).thenReturn("test-project");
+        lenient().when(properties.getMaxBodySize()).thenReturn(10000);
+        lenient().when(properties.getMaxResponseSize()).thenReturn(10000);
+
+        request.setRequestURI("/api/users/42/orders/7");
+        request.setMethod("GET");
+        doAnswer(invocation -> {
+            // Set by the DispatcherServlet while handling the request
+            ((HttpServletRequest) invocation.getArgument(0)).setAttribute(
+                    HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/{userId}/orders/{orderId}");
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(monitoringService).captureRequest(payloadCaptor.capture());
+        assertThat(payloadCaptor.getValue().getPath()).isEqualTo("/api/users/42/orders/7");
+        assertThat(payloadCaptor.getValue().getRouteTemplate()).isEqualTo("/api/users/{userId}/orders/{orderId}");
+    }
+
+    @Test
+    void doFilterInternal_withoutSpecificHandler_shouldNormalizePath() throws ServletException, IOException {
+        when(properties.isEnabled()).thenReturn(true);
+        when(properties.getProjectId()).thenReturn("test-project");
+        lenient().when(properties.getMaxBodySize()).thenReturn(10000);
+        lenient().when(properties.getMaxResponseSize()).thenReturn(10000);
+
+        request.setRequestURI("/files/3f2b8c1e-9a4d-4e5f-8b6a-1c2d3e4f5a6b");
+        request.setMethod("GET");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/**");
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(monitoringService).captureRequest(payloadCaptor.capture());
+        assertThat(payloadCaptor.getValue().getRouteTemplate()).isEqualTo("/files/{id}");
+    }
+
+    @Test
+    void doFilterInternal_shouldStreamBodiesThroughAndCaptureUpToLimit() throws ServletException, IOException {
+        when(properties.isEnabled()).thenReturn(true);
+        when(properties.getProjectId()).thenReturn("test-project");
+        when(properties.getMaxBodySize()).thenReturn(5);
+        when(properties.getMaxResponseSize()).thenReturn(4);
+
+        request.setRequestURI("/api/upload");
+        request.setMethod("POST");
+        request.setContent("0123456789".getBytes(StandardCharsets.UTF_8));
+        doAnswer(invocation -> {
+            byte[] read = ((HttpServletRequest) invocation.getArgument(0)).getInputStream().readAllBytes();
+            ServletOutputStream out = ((HttpServletResponse) invocation.getArgument(1)).getOutputStream();
+            out.write("response".getBytes(StandardCharsets.UTF_8));
+            assertThat(read).hasSize(10);
+            return null;
+        }).when(filterChain).doFilter(any(), any());
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        assertThat(response.getContentAsString()).isEqualTo("response");
+        verify(monitoringService).captureRequest(payloadCaptor.capture());
+        assertThat(payloadCaptor.getValue().getRequestBody()).isEqualTo("01234... [truncated]");
+        assertThat(payloadCaptor.getValue().getResponseBody()).isEqualTo("resp... [truncated]");
+    }
+
+    @Test
+    void doFilterInternal_whenBodyCaptureDisabled_shouldNotWrap() throws ServletException, IOException {
+        when(properties.isEnabled()).thenReturn(true);
+        when(properties.getProjectId()).thenReturn("test-project");
+        when(properties.getMaxBodySize()).thenReturn(0);
+        when(properties.getMaxResponseSize()).thenReturn(0);
+
+        request.setRequestURI("/api/upload");
+        request.setMethod("POST");
+        request.setContent("payload".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(filterChain).doFilter(request, response);
+        verify(monitoringService).captureRequest(payloadCaptor.capture());
+        assertThat(payloadCaptor.getValue().getRequestBody()).isNull();
+        assertThat(payloadCaptor.getValue().getResponseBody()).isNull();
+    }
+
+    @Test
+    void doFilterInternal_whenSampledAway_shouldDropSuccessAndKeepErrorWithoutBodies() throws ServletException, IOException {
+        when(properties.isEnabled()).thenReturn(true);
+        when(properties.getProjectId()).thenReturn("test-project");
+        MonitoringProperties samplingProperties = new MonitoringProperties();
+        samplingProperties.getSampling().setRate(0.0);
+        filter = new MonitoringFilter(monitoringService, properties,
+                new PathRules(samplingProperties.getPaths(), new MonitoringMetrics()),
+                new RequestSampler(samplingProperties, new MonitoringMetrics()),
+                new HeaderExtractor(samplingProperties.getHeaders()));
+
+        request.setRequestURI("/api/products");
+        request.setMethod("GET");
+        filter.doFilterInternal(request, response, filterChain);
+
+        verify(monitoringService, never()).captureRequest(any());
+
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        failed.setStatus(503);
+        filter.doFilterInternal(request, failed, filterChain);
+
+        verify(filterChain).doFilter(request, failed);
+        verify(monitoringService).captureRequest(payloadCaptor.capture());
+        assertThat(payloadCaptor.getValue().getResponseStatus()).isEqualTo(503);
+        assertThat(payloadCaptor.getValue().getResponseBody()).isNull();
+        assertThat(payloadCaptor.getValue().getSampleRate()).isNull();
+    }
+}
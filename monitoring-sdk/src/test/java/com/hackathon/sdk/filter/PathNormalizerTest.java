@@ -0,0 +1,33 @@
+package com.hackathon.sdk.filter;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathNormalizerTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "/api/users, /api/users",
+            "/api/users/, /api/users/",
+            "/api/users/42, /api/users/{id}",
+            "/api/users/42/orders/7, /api/users/{id}/orders/{id}",
+            "/api/users/3f2b8c1e-9a4d-4e5f-8b6a-1c2d3e4f5a6b, /api/users/{id}",
+            "/api/objects/507f1f77bcf86cd799439011, /api/objects/{id}",
+            "/api/tokens/aB3dE5fG7hJ9kL1mN3pQ5r, /api/tokens/{id}",
+            "/api/v2/items, /api/v2/items",
+            "/api/reports/2024-summary, /api/reports/2024-summary",
+            "/api/cafe, /api/cafe",
+            "/, /"
+    })
+    void normalize_shouldCollapseIdentifierSegments(String path, String expected) {
+        assertThat(PathNormalizer.normalize(path)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"/api/users", "/api/v1/orders/latest"})
+    void normalize_withoutIdentifiers_shouldReturnSameInstance(String path) {
+        assertThat(PathNormalizer.normalize(path)).isSameAs(path);
+    }
+}
@@ -0,0 +1,95 @@
+package com.hackathon.sdk.filter;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathRulesTest {
+
+    private final MonitoringProperties.Paths config = new MonitoringProperties.Paths();
+    private final MonitoringMetrics metrics = new MonitoringMetrics();
+
+    @ParameterizedTest
+    @CsvSource({
+            "/actuator/**,      /actuator,                 true",
+            "/actuator/**,      /actuator/health/liveness, true",
+            "/actuator/**,      /api/actuator,             false",
+            "/monitoring/**,    /api/monitoring-reports,   false",
+            "/monitoring/**,    /monitoring-reports,       false",
+            "/api/*/orders,     /api/users/orders,         true",
+            "/api/*/orders,     /api/users/1/orders,       false",
+            "/api/**/orders,    /api/users/1/orders,       true",
+            "/api/**/orders,    /api/orders,               true",
+            "/**/*.css,         /static/css/site.css,      true",
+            "/**/*.css,         /static/css/site.cssx,     false",
+            "/v?/items,         /v2/items,                 true",
+            "/v?/items,         /v10/items,                false",
+            "/swagger-ui.html,  /swagger-ui.html,          true",
+            "/swagger-ui.html,  //swagger-ui.html/,        true",
+    })
+    void trie_shouldMatchWholeSegments(String pattern, String path, boolean matches) {
+        PathPatternTrie trie = new PathPatternTrie(List.of(pattern));
+
+        assertThat(trie.match(path, 0) >= 0).isEqualTo(matches);
+    }
+
+    @Test
+    void trie_shouldReportWhichPatternMatched() {
+        PathPatternTrie trie = new PathPatternTrie(List.of("/static/**", "/**/*.js", "/health"));
+
+        assertThat(trie.match("/health", 0)).isEqualTo(2);
+        assertThat(trie.match("/app/main.js", 0)).isEqualTo(1);
+        assertThat(trie.match("/static/app/main.js", 0)).isZero();
+        assertThat(trie.match("/api/users", 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void defaults_shouldExcludeMonitoringAndDocsEndpointsOnly() {
+        PathRules rules = new PathRules(config, metrics);
+
+        assertThat(rules.isMonitored(request("/actuator/health"))).isFalse();
+        assertThat(rules.isMonitored(request("/v3/api-docs"))).isFalse();
+        assertThat(rules.isMonitored(request("/swagger-ui/index.html"))).isFalse();
+        assertThat(rules.isMonitored(request("/api/monitoring-reports"))).isTrue();
+        assertThat(metrics.snapshot())
+                .containsEntry("paths.exclude./actuator/**", 1L)
+                .containsEntry("paths.exclude./v3/api-docs/**", 1L);
+    }
+
+    @Test
+    void includes_shouldRestrictMonitoringAndExcludesShouldWin() {
+        config.setInclude(List.of("/api/**"));
+        config.setExclude(List.of("/api/internal/**"));
+        PathRules rules = new PathRules(config, metrics);
+
+        assertThat(rules.isMonitored(request("/api/users"))).isTrue();
+        assertThat(rules.isMonitored(request("/api/internal/cache"))).isFalse();
+        assertThat(rules.isMonitored(request("/favicon.ico"))).isFalse();
+        assertThat(metrics.snapshot())
+                .containsEntry("paths.include./api/**", 1L)
+                .containsEntry("paths.exclude./api/internal/**", 1L)
+                .containsEntry("paths.not-included", 1L);
+    }
+
+    @Test
+    void isMonitored_shouldIgnoreContextPath() {
+        PathRules rules = new PathRules(config, metrics);
+        MockHttpServletRequest request = request("/shop/actuator/health");
+        request.setContextPath("/shop");
+
+        assertThat(rules.isMonitored(request)).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRequestURI(uri);
+        return request;
+    }
+}
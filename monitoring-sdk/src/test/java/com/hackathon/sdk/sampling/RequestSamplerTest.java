@@ -0,0 +1,98 @@
+package com.hackathon.sdk.sampling;
+
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.config.MonitoringProperties.SamplingRule;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestSamplerTest {
+
+    private final MonitoringProperties properties = new MonitoringProperties();
+    private final MonitoringMetrics metrics = new MonitoringMetrics();
+
+    @Test
+    void withoutSampling_shouldKeepEverythingWithWeightOne() {
+        RequestSampler sampler = new RequestSampler(properties, metrics);
+
+        SamplingDecision decision = sampler.decide(request("/api/users/1"));
+
+        assertThat(decision.sampled()).isTrue();
+        assertThat(sampler.complete(decision, 200, 5)).isEqualTo(1);
+    }
+
+    @Test
+    void fixedRate_shouldKeepTotalWeightEqualToRequestCount() {
+        properties.getSampling().setRate(0.1);
+        RequestSampler sampler = new RequestSampler(properties, metrics);
+
+        long totalWeight = 0;
+        long kept = 0;
+        for (int i = 0; i < 10_000; i++) {
+            long weight = sampler.complete(sampler.decide(request("/api/products/" + i)), 200, 5);
+            totalWeight += weight;
+            kept += weight > 0 ? 1 : 0;
+        }
+
+        assertThat(kept).isBetween(800L, 1200L);
+        // Only the requests skipped after the last kept one are not represented yet
+        assertThat(totalWeight).isBetween(9_900L, 10_000L);
+        assertThat(metrics.snapshot().get("sampling.routes")).isEqualTo(1);
+    }
+
+    @Test
+    void rateLimit_shouldCapKeptRequestsPerRoute() {
+        SamplingRule rule = new SamplingRule();
+        rule.setPattern("/api/products/**");
+        rule.setMaxPerSecond(5);
+        properties.getSampling().getRules().add(rule);
+        RequestSampler sampler = new RequestSampler(properties, metrics);
+
+        long kept = 0;
+        long totalWeight = 0;
+        for (int i = 0; i < 100; i++) {
+            long weight = sampler.complete(sampler.decide(request("/api/products/" + i)), 200, 5);
+            kept += weight > 0 ? 1 : 0;
+            totalWeight += weight;
+        }
+        long otherRoute = sampler.complete(sampler.decide(request("/api/users")), 200, 5);
+
+        assertThat(kept).isBetween(5L, 6L);
+        assertThat(totalWeight).isEqualTo(kept);
+        assertThat(otherRoute).isEqualTo(1);
+    }
+
+    @Test
+    void errorsAndSlowRequests_shouldBeKeptWithWeightOne() {
+        properties.getSampling().setRate(0.0);
+        properties.getSampling().setSlowThreshold(Duration.ofMillis(500));
+        RequestSampler sampler = new RequestSampler(properties, metrics);
+
+        assertThat(sampler.complete(sampler.decide(request("/api/orders")), 200, 5)).isZero();
+        assertThat(sampler.complete(sampler.decide(request("/api/orders")), 404, 5)).isEqualTo(1);
+        assertThat(sampler.complete(sampler.decide(request("/api/orders")), 200, 800)).isEqualTo(1);
+        assertThat(metrics.snapshot())
+                .containsEntry("sampling.kept.tail", 2L)
+                .containsEntry("sampling.dropped", 1L);
+    }
+
+    @Test
+    void tokenBucket_shouldAllowOneSecondBurstThenRefuse() {
+        TokenBucket bucket = new TokenBucket(3);
+
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isTrue();
+        assertThat(bucket.tryAcquire()).isFalse();
+    }
+
+    private static MockHttpServletRequest request(String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setRequestURI(uri);
+        return request;
+    }
+}
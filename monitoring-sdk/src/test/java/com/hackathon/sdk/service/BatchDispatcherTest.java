@@ -0,0 +1,224 @@
+package com.hackathon.sdk.service;
+
+import com.hackathon.sdk.buffer.OverflowPolicy;
+import com.hackathon.sdk.client.CircuitOpenException;
+import com.hackathon.sdk.client.CircuitState;
+import com.hackathon.sdk.client.MonitoringApiClient;
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.dispatch.DispatchExecutor;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import com.hackathon.sdk.spill.SpillManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDispatcherTest {
+
+    @Mock
+    private MonitoringApiClient apiClient;
+
+    private MonitoringProperties properties;
+    private MonitoringMetrics metrics;
+    private DispatchExecutor dispatchExecutor;
+    private SpillManager spillManager;
+    private BatchDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new MonitoringProperties();
+        properties.getBuffer().setCapacity(4);
+        properties.getBuffer().setBatchSize(3);
+        properties.getBuffer().setFlushInterval(Duration.ofMillis(50));
+        metrics = new MonitoringMetrics();
+        dispatchExecutor = new DispatchExecutor(properties, metrics);
+        spillManager = new SpillManager(apiClient, properties, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.stop();
+        }
+        spillManager.stop();
+        dispatchExecutor.shutdown();
+    }
+
+    @Test
+    void enqueue_whenBatchSizeReached_shouldSendSingleBatch() {
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+        dispatcher.start();
+
+        dispatcher.enqueue(payload("/a"));
+        dispatcher.enqueue(payload("/b"));
+        dispatcher.enqueue(payload("/c"));
+
+        ArgumentCaptor<List<ApiRequestPayload>> captor = ArgumentCaptor.forClass(List.class);
+        verify(apiClient, timeout(1000)).sendBatch(captor.capture());
+        assertThat(captor.getValue()).extracting(ApiRequestPayload::getPath)
+                .containsExactly("/a", "/b", "/c");
+    }
+
+    @Test
+    void sendBatch_whenCircuitIsOpen_shouldNotCountFailure() {
+        doThrow(new CircuitOpenException(CircuitState.OPEN)).when(apiClient).sendBatch(anyList());
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+        dispatcher.start();
+
+        dispatcher.enqueue(payload("/a"));
+        dispatcher.enqueue(payload("/b"));
+        dispatcher.enqueue(payload("/c"));
+
+        verify(apiClient, timeout(1000)).sendBatch(anyList());
+        assertThat(metrics.snapshot()).containsEntry("buffer.batches.failed", 0L);
+    }
+
+    @Test
+    void sendBatch_whenBackendFails_shouldSpillBatch(@TempDir Path spillDirectory) throws InterruptedException {
+        doThrow(new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE)).when(apiClient).sendBatch(anyList());
+        startSpilling(spillDirectory);
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+        dispatcher.start();
+
+        dispatcher.enqueue(payload("/a"));
+
+        await(() -> metrics.snapshot().get("spill.written").longValue() == 1);
+    }
+
+    @Test
+    void sendBatch_whenBackendRejectsBatch_shouldNotSpill(@TempDir Path spillDirectory) throws InterruptedException {
+        doThrow(new HttpClientErrorException(HttpStatus.BAD_REQUEST)).when(apiClient).sendBatch(anyList());
+        startSpilling(spillDirectory);
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+        dispatcher.start();
+
+        dispatcher.enqueue(payload("/a"));
+
+        await(() -> metrics.snapshot().get("buffer.batches.failed").longValue() == 1);
+        assertThat(metrics.snapshot()).containsEntry("spill.written", 0L);
+    }
+
+    @Test
+    void enqueue_whenFlushIntervalElapses_shouldSendPartialBatch() {
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+        dispatcher.start();
+
+        dispatcher.enqueue(payload("/a"));
+
+        verify(apiClient, timeout(1000)).sendBatch(List.of(payload("/a")));
+    }
+
+    @Test
+    void enqueue_withDropNewestPolicy_shouldDiscardIncomingPayload() {
+        properties.getBuffer().setOverflowPolicy(OverflowPolicy.DROP_NEWEST);
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+
+        for (int i = 0; i < 6; i++) {
+            dispatcher.enqueue(payload("/" + i));
+        }
+
+        assertThat(dispatcher.getBufferedCount()).isEqualTo(4);
+        assertThat(metrics.snapshot()).containsEntry("buffer.dropped.newest", 2L);
+    }
+
+    @Test
+    void enqueue_withDropOldestPolicy_shouldKeepMostRecentPayloads() {
+        properties.getBuffer().setOverflowPolicy(OverflowPolicy.DROP_OLDEST);
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+
+        for (int i = 0; i < 6; i++) {
+            dispatcher.enqueue(payload("/" + i));
+        }
+        dispatcher.start();
+
+        ArgumentCaptor<List<ApiRequestPayload>> captor = ArgumentCaptor.forClass(List.class);
+        verify(apiClient, timeout(1000).times(2)).sendBatch(captor.capture());
+        assertThat(captor.getAllValues()).flatExtracting(batch -> batch)
+                .extracting(ApiRequestPayload::getPath)
+                .containsExactly("/2", "/3", "/4", "/5");
+        assertThat(metrics.snapshot()).containsEntry("buffer.dropped.oldest", 2L);
+    }
+
+    @Test
+    void stop_shouldFlushRemainingPayloads() {
+        properties.getBuffer().setFlushInterval(Duration.ofMinutes(1));
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+        dispatcher.start();
+
+        dispatcher.enqueue(payload("/a"));
+        dispatcher.stop();
+
+        verify(apiClient).sendBatch(anyList());
+    }
+
+    @Test
+    void enqueue_whenBackendHangs_shouldKeepDrainingAndRejectExcessBatches() throws InterruptedException {
+        properties.getBuffer().setBatchSize(1);
+        properties.getDispatch().setThreads(1);
+        properties.getDispatch().setQueueCapacity(1);
+        dispatchExecutor = new DispatchExecutor(properties, metrics);
+        CountDownLatch backendReleased = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            backendReleased.await();
+            return null;
+        }).when(apiClient).sendBatch(anyList());
+        dispatcher = new BatchDispatcher(apiClient, properties, dispatchExecutor, spillManager, metrics);
+        dispatcher.start();
+
+        for (int i = 0; i < 4; i++) {
+            dispatcher.enqueue(payload("/" + i));
+            Thread.sleep(20);
+        }
+
+        try {
+            await(() -> dispatcher.getBufferedCount() == 0
+                    && metrics.snapshot().get("dispatch.rejected").longValue() == 2L);
+        } finally {
+            backendReleased.countDown();
+        }
+        verify(apiClient, timeout(1000).times(2)).sendBatch(anyList());
+    }
+
+    private void startSpilling(Path directory) {
+        properties.getSpill().setEnabled(true);
+        properties.getSpill().setDirectory(directory.toString());
+        spillManager.start();
+    }
+
+    private void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition met within 1s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private ApiRequestPayload payload(String path) {
+        return ApiRequestPayload.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path(path)
+                .responseStatus(200)
+                .responseTime(10L)
+                .build();
+    }
+}
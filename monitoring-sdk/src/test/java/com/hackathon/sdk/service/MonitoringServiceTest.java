@@ -22,6 +22,9 @@ class MonitoringServiceTest {
     @Mock
     private MonitoringProperties properties;
 
+    @Mock
+    private BatchDispatcher batchDispatcher;
+
     @InjectMocks
     private MonitoringService monitoringService;
 
@@ -39,12 +42,14 @@ class MonitoringServiceTest {
     }
 
     @Test
-    void captureRequest_whenAsyncEnabled_shouldCallAsyncMethod() {
+    void captureRequest_whenAsyncEnabled_shouldEnqueueForBatching() {
         when(properties.isAsync()).thenReturn(true);
 
         monitoringService.captureRequest(testPayload);
 
         verify(properties).isAsync();
+        verify(batchDispatcher).enqueue(testPayload);
+        verify(apiClient, never()).sendRequest(any());
     }
 
     @Test
@@ -55,6 +60,7 @@ class MonitoringServiceTest {
         monitoringService.captureRequest(testPayload);
         verify(properties).isAsync();
         verify(apiClient).sendRequest(testPayload);
+        verify(batchDispatcher, never()).enqueue(any());
     }
 
     @Test
@@ -0,0 +1,156 @@
+package com.hackathon.sdk.spill;
+
+import com.hackathon.sdk.client.BackendCircuitBreaker;
+import com.hackathon.sdk.client.BatchEncoder;
+import com.hackathon.sdk.client.MonitoringApiClient;
+import com.hackathon.sdk.client.WireCompression;
+import com.hackathon.sdk.client.WireFormat;
+import com.hackathon.sdk.config.MonitoringProperties;
+import com.hackathon.sdk.metrics.MonitoringMetrics;
+import com.hackathon.sdk.model.ApiRequestPayload;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spills to a temporary directory while a stub backend is down, then checks the replay once it is up.
+ */
+class SpillManagerTest {
+
+    @TempDir
+    Path directory;
+
+    private HttpServer backend;
+    private volatile boolean backendUp;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private MonitoringProperties properties;
+    private MonitoringMetrics metrics;
+    private SpillManager spillManager;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        backend = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        backend.createContext("/api/requests/batch", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            if (body.contains("/rejected")) {
+                exchange.sendResponseHeaders(400, -1);
+                exchange.close();
+                return;
+            }
+            if (backendUp) {
+                received.add(body);
+            }
+            exchange.sendResponseHeaders(backendUp ? 202 : 503, -1);
+            exchange.close();
+        });
+        backend.start();
+
+        properties = new MonitoringProperties();
+        properties.setBackendUrl("http://127.0.0.1:" + backend.getAddress().getPort() + "/api");
+        properties.getWire().setFormat(WireFormat.JSON);
+        properties.getWire().setCompression(WireCompression.NONE);
+        properties.getSpill().setEnabled(true);
+        properties.getSpill().setDirectory(directory.toString());
+        properties.getSpill().setInitialBackoff(Duration.ofMillis(20));
+        properties.getSpill().setMaxBackoff(Duration.ofMillis(100));
+        metrics = new MonitoringMetrics();
+
+        properties.getCircuitBreaker().setInitialBackoff(Duration.ofMillis(20));
+        MonitoringApiClient apiClient = new MonitoringApiClient(new RestTemplate(), properties,
+                new BatchEncoder(properties), new BackendCircuitBreaker(properties, metrics));
+        spillManager = new SpillManager(apiClient, properties, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        spillManager.stop();
+        backend.stop(0);
+    }
+
+    @Test
+    void spilledBatches_shouldBeReplayedInOrderOnceBackendRecovers() throws InterruptedException {
+        spillManager.start();
+
+        assertThat(spillManager.spill(List.of(payload("/first")))).isTrue();
+        assertThat(spillManager.spill(List.of(payload("/second")))).isTrue();
+        awaitCounter("spill.replay.failed", 1);
+        assertThat(received).isEmpty();
+
+        backendUp = true;
+
+        awaitCounter("spill.replayed", 2);
+        assertThat(received).hasSize(2);
+        assertThat(received.get(0)).contains("/first");
+        assertThat(received.get(1)).contains("/second");
+        assertThat(metrics.snapshot()).containsEntry("spill.pending", 0L);
+    }
+
+    @Test
+    void spilledBatches_shouldSurviveRestart() throws InterruptedException {
+        spillManager.start();
+        spillManager.spill(List.of(payload("/before-restart")));
+        spillManager.stop();
+
+        backendUp = true;
+        spillManager.start();
+
+        awaitCounter("spill.replayed", 1);
+        assertThat(received).singleElement().asString().contains("/before-restart");
+    }
+
+    @Test
+    void spilledBatch_rejectedByBackend_shouldBeDroppedWithoutBlockingTheQueue() throws InterruptedException {
+        backendUp = true;
+        spillManager.start();
+
+        spillManager.spill(List.of(payload("/rejected")));
+        spillManager.spill(List.of(payload("/after")));
+
+        awaitCounter("spill.replayed", 1);
+        assertThat(received).singleElement().asString().contains("/after");
+        assertThat(metrics.snapshot())
+                .containsEntry("spill.dropped", 1L)
+                .containsEntry("spill.replay.failed", 0L)
+                .containsEntry("spill.pending", 0L);
+    }
+
+    @Test
+    void spill_whenDisabled_shouldRefuse() {
+        properties.getSpill().setEnabled(false);
+        spillManager.start();
+
+        assertThat(spillManager.spill(List.of(payload("/ignored")))).isFalse();
+    }
+
+    private void awaitCounter(String name, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (metrics.snapshot().get(name).longValue() < expected) {
+            assertThat(System.nanoTime()).as(name + " reached within 5s").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private ApiRequestPayload payload(String path) {
+        return ApiRequestPayload.builder()
+                .projectId("test-project")
+                .method("GET")
+                .path(path)
+                .responseStatus(200)
+                .responseTime(10L)
+                .build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hackathon.sdk.spill;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpillStoreTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void records_shouldComeBackInOrderAcrossSegments() throws IOException {
+        try (SpillStore store = new SpillStore(directory, SEGMENT_SIZE, 1024)) {
+            for (int i = 0; i < 5; i++) {
+                assertThat(store.append(record("batch-" + i))).isTrue();
+            }
+
+            assertThat(segmentFiles()).isGreaterThan(1);
+            for (int i = 0; i < 5; i++) {
+                assertThat(text(store.peek())).isEqualTo("batch-" + i);
+                store.ack();
+            }
+            assertThat(store.peek()).isNull();
+            assertThat(segmentFiles()).isZero();
+        }
+    }
+
+    @Test
+    void reopen_shouldResumeAfterLastAcknowledgedRecord() throws IOException {
+        try (SpillStore store = new SpillStore(directory, 1024, 4096)) {
+            store.append(record("first"));
+            store.append(record("second"));
+            store.append(record("third"));
+            store.peek();
+            store.ack();
+        }
+
+        try (SpillStore reopened = new SpillStore(directory, 1024, 4096)) {
+            assertThat(reopened.pendingRecords()).isEqualTo(2);
+            assertThat(text(reopened.peek())).isEqualTo("second");
+            reopened.ack();
+            assertThat(text(reopened.peek())).isEqualTo("third");
+        }
+    }
+
+    @Test
+    void append_whenBudgetUsedUp_shouldRefuse() throws IOException {
+        try (SpillStore store = new SpillStore(directory, SEGMENT_SIZE, 2 * SEGMENT_SIZE)) {
+            int accepted = 0;
+            while (store.append(record("batch-" + accepted))) {
+                accepted++;
+            }
+
+            assertThat(accepted).isPositive();
+            assertThat(store.sizeBytes()).isLessThanOrEqualTo(2 * SEGMENT_SIZE);
+            assertThat(store.append(new byte[SEGMENT_SIZE])).isFalse();
+        }
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private static byte[] record(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] record) {
+        return new String(record, StandardCharsets.UTF_8);
+    }
+}